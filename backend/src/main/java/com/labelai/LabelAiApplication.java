@@ -2,12 +2,14 @@ package com.labelai;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Label AI 애플리케이션 메인 클래스
  * Spring Boot 애플리케이션의 진입점
  */
 @SpringBootApplication
+@EnableScheduling
 public class LabelAiApplication {
     public static void main(String[] args) {
         SpringApplication.run(LabelAiApplication.class, args);
@@ -0,0 +1,246 @@
+package com.labelai.api;
+
+import com.labelai.exception.CustomException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 적응형 동시성 제한기 (AIMD + 지연 기울기)
+ * 업스트림 엔드포인트 하나의 동시 요청 수를 관측된 지연/에러로 조정한다.
+ * - 성공 + 지연이 최소 지연 × tolerance 이하: limit += 1/limit (RTT 당 +1 근사)
+ * - 지연 초과 또는 에러: limit *= backoffRatio
+ * limit 을 넘는 요청은 FIFO 대기열에서 기다리고, 대기열이 가득 차면 즉시 거절한다.
+ * (FoodLabelApiClient 에서는 FairRequestScheduler 가 허용량까지만 호출을 내보내므로 대기는 스케줄러 레인에서 하고, 이 대기열은 비어 있다)
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+    
+    /**
+     * 최소 지연(no-load RTT)을 다시 측정하는 샘플 간격
+     */
+    private static final int MIN_RTT_RESET_SAMPLES = 500;
+    
+    @Getter
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final int maxQueue;
+    
+    private final Object lock = new Object();
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samplesSinceReset;
+    
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double backoffRatio, int maxQueue) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.maxQueue = maxQueue;
+        this.limit = initialLimit;
+    }
+    
+    /**
+     * 허용량 안에서 call 실행 (허용량이 없으면 대기)
+     */
+    public <T> Mono<T> limit(Mono<T> call) {
+        return acquire().flatMap(permit -> call
+            .doOnSuccess(value -> permit.success())
+            .doOnError(permit::dropped)
+            .doOnCancel(permit::ignore));
+    }
+    
+    // ==================== METRICS ====================
+    
+    public int getLimit() {
+        synchronized (lock) {
+            return (int) limit;
+        }
+    }
+    
+    public int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+    
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+    
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+    
+    // ==================== ACQUIRE / RELEASE ====================
+    
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            boolean rejected = false;
+            
+            synchronized (lock) {
+                if (inFlight < (int) limit && queue.isEmpty()) {
+                    inFlight++;
+                    waiter.permit = new Permit();
+                } else if (queue.size() >= maxQueue) {
+                    rejected = true;
+                } else {
+                    queue.addLast(waiter);
+                }
+            }
+            
+            if (rejected) {
+                sink.error(new CustomException(
+                    "Food Label API 요청이 많습니다. 잠시 후 다시 시도해주세요. (" + name + ")",
+                    "UPSTREAM_OVERLOADED", 503));
+                return;
+            }
+            
+            sink.onCancel(() -> cancel(waiter));
+            if (waiter.permit != null && !waiter.grant()) {
+                // 허용 전에 취소됨 - 허용량 반납
+                synchronized (lock) {
+                    inFlight--;
+                }
+                drain();
+            }
+        });
+    }
+    
+    private void cancel(Waiter waiter) {
+        if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+            // 아직 허용 전 - 대기열에서 제거 (허용 도중이었다면 grant 실패 측에서 반납)
+            synchronized (lock) {
+                queue.remove(waiter);
+            }
+        } else if (waiter.state.get() == Waiter.GRANTED) {
+            // 허용 직후 취소 - 결과가 전달되지 않았을 수 있으므로 반납 (중복 반납은 Permit 에서 무시)
+            waiter.permit.ignore();
+        }
+    }
+    
+    private void release(long rttNanos, boolean dropped, boolean sample) {
+        synchronized (lock) {
+            inFlight--;
+            if (sample) {
+                adjust(rttNanos, dropped);
+            }
+        }
+        drain();
+    }
+    
+    /**
+     * 지연/에러 샘플로 limit 조정 (lock 보유 상태에서 호출)
+     */
+    private void adjust(long rttNanos, boolean dropped) {
+        if (++samplesSinceReset >= MIN_RTT_RESET_SAMPLES) {
+            samplesSinceReset = 0;
+            minRttNanos = Long.MAX_VALUE;
+        }
+        
+        double previous = limit;
+        if (dropped) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else {
+            minRttNanos = Math.min(minRttNanos, rttNanos);
+            if (rttNanos > minRttNanos * tolerance) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlight * 2 >= (int) limit) {
+                // 허용량을 실제로 쓰고 있을 때만 증가 (유휴 상태에서 무한 증가 방지)
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+        
+        if ((int) previous != (int) limit) {
+            log.info("Food Label API concurrency limit [{}]: {} -> {}", name, (int) previous, (int) limit);
+        }
+    }
+    
+    private void drain() {
+        while (true) {
+            Waiter next;
+            synchronized (lock) {
+                if (inFlight >= (int) limit || queue.isEmpty()) {
+                    return;
+                }
+                next = queue.pollFirst();
+                inFlight++;
+                next.permit = new Permit();
+            }
+            if (!next.grant()) {
+                // 이미 취소된 대기자 - 허용량 즉시 반납
+                synchronized (lock) {
+                    inFlight--;
+                }
+            }
+        }
+    }
+    
+    /**
+     * 대기 중인 요청
+     */
+    private static final class Waiter {
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int CANCELLED = 2;
+        
+        final MonoSink<Permit> sink;
+        final AtomicInteger state = new AtomicInteger(WAITING);
+        volatile Permit permit;
+        
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+        
+        boolean grant() {
+            if (state.compareAndSet(WAITING, GRANTED)) {
+                sink.success(permit);
+                return true;
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * 획득한 허용량 1개 - 정확히 한 번만 반납
+     */
+    private final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        void success() {
+            if (released.compareAndSet(false, true)) {
+                release(System.nanoTime() - startNanos, false, true);
+            }
+        }
+        
+        void dropped(Throwable error) {
+            if (released.compareAndSet(false, true)) {
+                // 4xx(요청 오류)는 업스트림 과부하 신호가 아니므로 limit 조정에서 제외
+                release(System.nanoTime() - startNanos, true, !(error instanceof IllegalArgumentException));
+            }
+        }
+        
+        void ignore() {
+            if (released.compareAndSet(false, true)) {
+                release(0, false, false);
+            }
+        }
+    }
+}
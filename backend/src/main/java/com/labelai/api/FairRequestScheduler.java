@@ -0,0 +1,389 @@
+package com.labelai.api;
+
+import com.labelai.exception.CustomException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Food Label API 호출 공정 스케줄러
+ * 엔드포인트마다 동시 호출 수(label.scheduler.endpoints.{endpoint}, 없으면 label.scheduler.capacity)를 따로 두어
+ * 느린 /translate 호출이 /ocr 의 실행 자리를 차지하지 않는다. 자리를 넘는 요청은 엔드포인트 대기열에서 기다리며, 빈 자리가 나면
+ * 1) 레인 선택: interactive / bulk 를 가중치(기본 4:1) 기반 smooth weighted round robin 으로 선택
+ * 2) 사용자 선택: 레인 안에서 사용자별 가중 공정 큐 (self-clocked WFQ)
+ *    요청마다 가상 완료 시각 = max(레인 가상 시각, 그 사용자의 직전 완료 시각) + 1 / 사용자 가중치 을 매기고
+ *    가장 이른 요청부터 실행한다. 레인 가상 시각은 마지막으로 실행한 요청의 완료 시각.
+ *    한 사용자의 대량 요청이 다른 사용자를 막지 않고, 쉬다 온 사용자는 쉰 동안의 몫을 몰아 받지 않는다.
+ *    사용자 가중치는 label.scheduler.user-weights.{user} (기본 1)
+ * 우선순위/사용자는 Reactor Context 의 {@link RequestPriority} 에서 읽는다 (없으면 interactive/anonymous).
+ * 엔드포인트 적응형 제한기의 대기열 역할도 한다: 실행 자리는 min(설정 자리 수, 제한기의 현재 허용량) 까지만 내주므로
+ * 과부하로 허용량이 줄어도 대기는 제한기의 FIFO 가 아니라 여기서 레인/사용자 순서로 하고,
+ * 대기 요청이 제한기 max-queue 에 이르면 503 UPSTREAM_OVERLOADED 로 거절한다.
+ */
+@Component
+@Slf4j
+public class FairRequestScheduler {
+    
+    private static final String ENDPOINT_PREFIX = "label.scheduler.endpoints.";
+    private static final String USER_WEIGHT_PREFIX = "label.scheduler.user-weights.";
+    
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+    private final Map<String, Double> userWeights = new ConcurrentHashMap<>();
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final int defaultCapacity;
+    private final int interactiveWeight;
+    private final int bulkWeight;
+    
+    public FairRequestScheduler(
+            Environment environment,
+            @Value("${label.scheduler.capacity:16}") int defaultCapacity,
+            @Value("${label.scheduler.interactive-weight:4}") int interactiveWeight,
+            @Value("${label.scheduler.bulk-weight:1}") int bulkWeight,
+            MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.defaultCapacity = defaultCapacity;
+        this.interactiveWeight = interactiveWeight;
+        this.bulkWeight = bulkWeight;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * 엔드포인트 대기열에서 공정 스케줄링 후 제한기 허용량 안에서 call 실행
+     * (엔드포인트마다 항상 같은 제한기를 넘긴다 - 처음 넘긴 제한기로 실행 자리를 정함)
+     */
+    public <T> Mono<T> schedule(String endpoint, AdaptiveConcurrencyLimiter limiter, Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            RequestPriority priority = context.getOrDefault(RequestPriority.class, RequestPriority.interactive(null));
+            return pool(endpoint, limiter).acquire(priority)
+                .flatMap(ticket -> limiter.limit(call).doFinally(signal -> ticket.release()));
+        });
+    }
+    
+    public int getInFlight(String endpoint) {
+        Pool pool = pools.get(endpoint);
+        return pool == null ? 0 : pool.getInFlight();
+    }
+    
+    private Pool pool(String endpoint, AdaptiveConcurrencyLimiter limiter) {
+        return pools.computeIfAbsent(endpoint, name -> new Pool(name,
+            environment.getProperty(ENDPOINT_PREFIX + name, Integer.class, defaultCapacity), limiter));
+    }
+    
+    private double userWeight(String user) {
+        return userWeights.computeIfAbsent(user, name ->
+            Math.max(0.01, environment.getProperty(USER_WEIGHT_PREFIX + name, Double.class, 1.0)));
+    }
+    
+    /**
+     * 엔드포인트 하나의 실행 자리와 레인별 대기열
+     */
+    private final class Pool {
+        final String endpoint;
+        final int capacity;
+        final AdaptiveConcurrencyLimiter limiter;
+        final Object lock = new Object();
+        final Map<String, Lane> lanes = new LinkedHashMap<>();
+        int inFlight;
+        
+        Pool(String endpoint, int capacity, AdaptiveConcurrencyLimiter limiter) {
+            this.endpoint = endpoint;
+            this.capacity = capacity;
+            this.limiter = limiter;
+            lanes.put(RequestPriority.INTERACTIVE, new Lane(endpoint, RequestPriority.INTERACTIVE, interactiveWeight,
+                FairRequestScheduler.this::userWeight, meterRegistry));
+            lanes.put(RequestPriority.BULK, new Lane(endpoint, RequestPriority.BULK, bulkWeight,
+                FairRequestScheduler.this::userWeight, meterRegistry));
+            
+            Gauge.builder("label.scheduler.in_flight", this, Pool::getInFlight)
+                .description("스케줄러를 통과해 진행 중인 업스트림 호출 수")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+            log.info("Scheduler pool {}: capacity={}", endpoint, capacity);
+        }
+        
+        int getInFlight() {
+            synchronized (lock) {
+                return inFlight;
+            }
+        }
+        
+        // ==================== ACQUIRE / RELEASE ====================
+        
+        private Mono<Ticket> acquire(RequestPriority priority) {
+            Lane lane = lanes.getOrDefault(priority.lane(), lanes.get(RequestPriority.INTERACTIVE));
+            
+            return Mono.create(sink -> {
+                Waiter waiter = new Waiter(sink, this, lane, priority.user());
+                boolean immediate;
+                boolean rejected = false;
+                
+                synchronized (lock) {
+                    immediate = inFlight < admissionLimit() && isEmpty();
+                    if (immediate) {
+                        inFlight++;
+                    } else if (queued() >= limiter.getMaxQueue()) {
+                        rejected = true;
+                    } else {
+                        lane.enqueue(waiter);
+                    }
+                }
+                
+                if (rejected) {
+                    sink.error(new CustomException(
+                        "Food Label API 요청이 많습니다. 잠시 후 다시 시도해주세요. (" + endpoint + ")",
+                        "UPSTREAM_OVERLOADED", 503));
+                    return;
+                }
+                
+                sink.onCancel(() -> cancel(waiter));
+                if (immediate && !waiter.grant()) {
+                    waiter.ticket.release();
+                }
+            });
+        }
+        
+        private void cancel(Waiter waiter) {
+            if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+                synchronized (lock) {
+                    waiter.lane.remove(waiter);
+                }
+            } else if (waiter.state.get() == Waiter.GRANTED) {
+                // 허용 직후 취소 - 결과가 전달되지 않았을 수 있으므로 반납 (중복 반납은 Ticket 에서 무시)
+                waiter.ticket.release();
+            }
+        }
+        
+        private void release() {
+            synchronized (lock) {
+                inFlight--;
+            }
+            drain();
+        }
+        
+        private void drain() {
+            while (true) {
+                Waiter next;
+                synchronized (lock) {
+                    if (inFlight >= admissionLimit()) {
+                        return;
+                    }
+                    next = pickNext();
+                    if (next == null) {
+                        return;
+                    }
+                    inFlight++;
+                }
+                if (!next.grant()) {
+                    synchronized (lock) {
+                        inFlight--;
+                    }
+                }
+            }
+        }
+        
+        /**
+         * 다음 대기자 선택 (lock 보유 상태에서 호출)
+         * smooth weighted round robin: 각 레인의 current += weight, 최대값 선택 후 current -= 총 가중치
+         */
+        private Waiter pickNext() {
+            Lane selected = null;
+            int totalWeight = 0;
+            for (Lane lane : lanes.values()) {
+                if (lane.isEmpty()) {
+                    continue;
+                }
+                lane.current += lane.weight;
+                totalWeight += lane.weight;
+                if (selected == null || lane.current > selected.current) {
+                    selected = lane;
+                }
+            }
+            if (selected == null) {
+                return null;
+            }
+            selected.current -= totalWeight;
+            return selected.poll();
+        }
+        
+        /**
+         * 지금 내줄 수 있는 실행 자리 수 - 제한기 허용량이 줄면 그만큼 덜 내준다 (lock 보유 상태에서 호출)
+         * 허용량은 호출이 끝날 때만 바뀌고 그때마다 release → drain 이 다시 확인한다.
+         */
+        private int admissionLimit() {
+            return Math.min(capacity, limiter.getLimit());
+        }
+        
+        private int queued() {
+            return lanes.values().stream().mapToInt(lane -> lane.size.get()).sum();
+        }
+        
+        private boolean isEmpty() {
+            return lanes.values().stream().allMatch(Lane::isEmpty);
+        }
+    }
+    
+    /**
+     * 우선순위 레인 - 사용자별 가중 공정 큐 (가상 완료 시각이 가장 이른 요청부터)
+     */
+    private static final class Lane {
+        final String name;
+        final int weight;
+        final ToDoubleFunction<String> userWeight;
+        final PriorityQueue<Waiter> queue = new PriorityQueue<>(
+            Comparator.comparingDouble((Waiter waiter) -> waiter.finish).thenComparingLong(waiter -> waiter.sequence));
+        final Map<String, Flow> flows = new HashMap<>();
+        final AtomicInteger size = new AtomicInteger();
+        final Timer waitTimer;
+        int current;
+        double virtualTime;
+        long sequence;
+        
+        Lane(String endpoint, String name, int weight, ToDoubleFunction<String> userWeight, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.weight = weight;
+            this.userWeight = userWeight;
+            this.waitTimer = Timer.builder("label.scheduler.queue_wait")
+                .description("업스트림 호출 전 대기 시간")
+                .tag("endpoint", endpoint)
+                .tag("lane", name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+            Gauge.builder("label.scheduler.queue_depth", size, AtomicInteger::get)
+                .description("대기 중인 업스트림 호출 수")
+                .tag("endpoint", endpoint)
+                .tag("lane", name)
+                .register(meterRegistry);
+        }
+        
+        boolean isEmpty() {
+            return queue.isEmpty();
+        }
+        
+        /**
+         * 가상 시작/완료 시각을 매겨 대기열에 추가
+         */
+        void enqueue(Waiter waiter) {
+            Flow flow = flows.computeIfAbsent(waiter.user, user -> new Flow(userWeight.applyAsDouble(user)));
+            waiter.start = Math.max(virtualTime, flow.lastFinish);
+            waiter.finish = waiter.start + 1.0 / flow.weight;
+            waiter.sequence = sequence++;
+            flow.lastFinish = waiter.finish;
+            flow.queued++;
+            queue.add(waiter);
+            size.incrementAndGet();
+        }
+        
+        Waiter poll() {
+            Waiter waiter = queue.poll();
+            virtualTime = Math.max(virtualTime, waiter.finish);
+            dequeued(waiter);
+            return waiter;
+        }
+        
+        void remove(Waiter waiter) {
+            if (queue.remove(waiter)) {
+                Flow flow = flows.get(waiter.user);
+                // 사용자의 마지막 요청이 취소되면 그 몫도 돌려준다
+                if (flow != null && flow.lastFinish == waiter.finish) {
+                    flow.lastFinish = waiter.start;
+                }
+                dequeued(waiter);
+            }
+        }
+        
+        /**
+         * 대기 요청이 없는 사용자는 잊는다 (실행한 요청의 완료 시각은 모두 가상 시각 이하이므로 남길 몫이 없다)
+         */
+        private void dequeued(Waiter waiter) {
+            size.decrementAndGet();
+            Flow flow = flows.get(waiter.user);
+            if (flow != null && --flow.queued == 0) {
+                flows.remove(waiter.user);
+            }
+        }
+    }
+    
+    /**
+     * 레인 안의 사용자 하나 - 가중치와 마지막으로 매긴 가상 완료 시각
+     */
+    private static final class Flow {
+        final double weight;
+        double lastFinish;
+        int queued;
+        
+        Flow(double weight) {
+            this.weight = weight;
+        }
+    }
+    
+    /**
+     * 대기 중인 호출
+     */
+    private static final class Waiter {
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int CANCELLED = 2;
+        
+        final MonoSink<Ticket> sink;
+        final Lane lane;
+        final String user;
+        final long enqueuedNanos = System.nanoTime();
+        final AtomicInteger state = new AtomicInteger(WAITING);
+        final Ticket ticket;
+        double start;
+        double finish;
+        long sequence;
+        
+        Waiter(MonoSink<Ticket> sink, Pool pool, Lane lane, String user) {
+            this.sink = sink;
+            this.ticket = new Ticket(pool);
+            this.lane = lane;
+            this.user = user;
+        }
+        
+        boolean grant() {
+            if (state.compareAndSet(WAITING, GRANTED)) {
+                lane.waitTimer.record(Duration.ofNanos(System.nanoTime() - enqueuedNanos));
+                sink.success(ticket);
+                return true;
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * 획득한 실행 자리 1개 - 정확히 한 번만 반납
+     */
+    private static final class Ticket {
+        private final Pool pool;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        Ticket(Pool pool) {
+            this.pool = pool;
+        }
+        
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                pool.release();
+            }
+        }
+    }
+}
@@ -2,13 +2,13 @@ package com.labelai.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.labelai.dto.*;
-import io.github.resilience4j.bulkhead.Bulkhead;
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.retry.Retry;
-import io.github.resilience4j.decorators.Decorators;
+import com.labelai.exception.CustomException;
+import com.labelai.util.FileSystemMultipartFile;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
@@ -18,56 +18,57 @@ import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
-import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class FoodLabelApiClient {
     
     private final WebClient webClient;
-    private final CircuitBreaker circuitBreaker;
-    private final Retry retry;
-    private final Bulkhead bulkhead;
+    private final UpstreamResilienceProfiles resilienceProfiles;
     private final ObjectMapper objectMapper;
+    private final UpstreamConcurrencyLimiters limiters;
+    private final FairRequestScheduler fairRequestScheduler;
+    private final ImagePreprocessor imagePreprocessor;
+    private final RequestHedger requestHedger;
+    private final RequestDeadlines requestDeadlines;
+    private final UpstreamLoadBalancer loadBalancer;
     
     @Autowired
     public FoodLabelApiClient(
             WebClient foodLabelWebClient,
-            CircuitBreaker foodLabelCircuitBreaker,
-            Retry foodLabelRetry,
-            Bulkhead foodLabelBulkhead,
-            ObjectMapper objectMapper) {
+            UpstreamResilienceProfiles upstreamResilienceProfiles,
+            ObjectMapper objectMapper,
+            UpstreamConcurrencyLimiters upstreamConcurrencyLimiters,
+            FairRequestScheduler fairRequestScheduler,
+            ImagePreprocessor imagePreprocessor,
+            RequestHedger requestHedger,
+            RequestDeadlines requestDeadlines,
+            UpstreamLoadBalancer upstreamLoadBalancer) {
         this.webClient = foodLabelWebClient;
-        this.circuitBreaker = foodLabelCircuitBreaker;
-        this.retry = foodLabelRetry;
-        this.bulkhead = foodLabelBulkhead;
+        this.resilienceProfiles = upstreamResilienceProfiles;
         this.objectMapper = objectMapper;
-        
-        setupEventListeners();
+        this.limiters = upstreamConcurrencyLimiters;
+        this.fairRequestScheduler = fairRequestScheduler;
+        this.imagePreprocessor = imagePreprocessor;
+        this.requestHedger = requestHedger;
+        this.requestDeadlines = requestDeadlines;
+        this.loadBalancer = upstreamLoadBalancer;
     }
     
     // ==================== OCR ====================
     
     /**
      * OCR: 이미지에서 텍스트 추출
+     * 꼬리 지연이 길면 헤지 요청을 보낼 수 있다 (label.hedge)
      */
-    public OcrResponse extractText(MultipartFile image) throws IOException {
-        Callable<OcrResponse> callable = () -> {
+    public Mono<OcrResponse> extractText(MultipartFile image) {
+        // 전처리는 재시도/헤지마다 반복하지 않도록 Resilience 바깥에서 1회 실행
+        return toResource(image).flatMap(resource -> withResilience("ocr", requestHedger.hedge("ocr", () -> {
             MultipartBodyBuilder builder = new MultipartBodyBuilder();
-            builder.part("file", new ByteArrayResource(image.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return image.getOriginalFilename();
-                }
-            });
+            builder.part("file", resource);
             
             return webClient.post()
                 .uri("/ocr")
@@ -78,36 +79,20 @@ public class FoodLabelApiClient {
                     response -> Mono.error(new IllegalArgumentException("Invalid image format")))
                 .onStatus(HttpStatusCode::is5xxServerError,
                     response -> Mono.error(new RuntimeException("OCR service error")))
-                .bodyToMono(OcrResponse.class)
-                .block();
-        };
-        
-        return executeWithResilienceCallable(callable);
-    }
-    
-    /**
-     * OCR 비동기
-     */
-    public Mono<OcrResponse> extractTextAsync(MultipartFile image) {
-        return Mono.fromCallable(() -> extractText(image))
-            .subscribeOn(Schedulers.boundedElastic());
+                .bodyToMono(OcrResponse.class);
+        })));
     }
     
     /**
      * OCR 배치 처리
      */
-    public List<OcrResponse> extractTextBatch(List<MultipartFile> images) {
-        return images.parallelStream()
-            .map(image -> {
-                try {
-                    return extractText(image);
-                } catch (IOException e) {
+    public Flux<OcrResponse> extractTextBatch(List<MultipartFile> images) {
+        return Flux.fromIterable(images)
+            .flatMap(image -> extractText(image)
+                .onErrorResume(e -> {
                     log.error("Failed to process image: {}", image.getOriginalFilename(), e);
-                    return null;
-                }
-            })
-            .filter(result -> result != null)
-            .collect(Collectors.toList());
+                    return Mono.empty();
+                }));
     }
     
     // ==================== STRUCTURE ====================
@@ -115,8 +100,8 @@ public class FoodLabelApiClient {
     /**
      * Structure: OCR 텍스트를 구조화된 JSON으로 변환
      */
-    public StructureResponse structureData(StructureRequest request) {
-        return executeWithResilience(() -> 
+    public Mono<StructureResponse> structureData(StructureRequest request) {
+        return withResilience("structure",
             webClient.post()
                 .uri("/structure")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -127,22 +112,16 @@ public class FoodLabelApiClient {
                 .onStatus(HttpStatusCode::is5xxServerError,
                     response -> Mono.error(new RuntimeException("Structure service error")))
                 .bodyToMono(StructureResponse.class)
-                .block()
         );
     }
     
-    public Mono<StructureResponse> structureDataAsync(StructureRequest request) {
-        return Mono.fromSupplier(() -> structureData(request))
-            .subscribeOn(Schedulers.boundedElastic());
-    }
-    
     // ==================== TRANSLATE ====================
     
     /**
      * Translate: 한국 라벨을 다른 국가 형식으로 번역
      */
-    public TranslateResponse translate(TranslateRequest request) {
-        return executeWithResilience(() -> 
+    public Mono<TranslateResponse> translate(TranslateRequest request) {
+        return withResilience("translate",
             webClient.post()
                 .uri("/translate")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -153,35 +132,28 @@ public class FoodLabelApiClient {
                 .onStatus(HttpStatusCode::is5xxServerError,
                     response -> Mono.error(new RuntimeException("Translate service error")))
                 .bodyToMono(TranslateResponse.class)
-                .block()
         );
     }
     
-    public Mono<TranslateResponse> translateAsync(TranslateRequest request) {
-        return Mono.fromSupplier(() -> translate(request))
-            .subscribeOn(Schedulers.boundedElastic());
-    }
-    
     /**
      * 다중 국가 번역
      */
-    public Map<String, TranslateResponse> translateMultipleCountries(
+    public Mono<Map<String, TranslateResponse>> translateMultipleCountries(
             String language, 
             Object data, 
             List<String> targetCountries) {
         
-        return targetCountries.parallelStream()
-            .collect(Collectors.toMap(
-                country -> country,
-                country -> {
-                    TranslateRequest request = TranslateRequest.builder()
-                        .language(language)
-                        .data(data)
-                        .targetCountry(country)
-                        .build();
-                    return translate(request);
-                }
-            ));
+        return Flux.fromIterable(targetCountries)
+            .flatMap(country -> {
+                TranslateRequest request = TranslateRequest.builder()
+                    .language(language)
+                    .data(data)
+                    .targetCountry(country)
+                    .build();
+                return translate(request)
+                    .map(response -> Map.entry(country, response));
+            })
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue);
     }
     
     // ==================== HTML GENERATION ====================
@@ -189,8 +161,8 @@ public class FoodLabelApiClient {
     /**
      * Generate HTML: 영양 라벨 HTML 생성
      */
-    public String generateHtml(HtmlGenerateRequest request) {
-        return executeWithResilience(() -> 
+    public Mono<String> generateHtml(HtmlGenerateRequest request) {
+        return withResilience("generate-html",
             webClient.post()
                 .uri("/generate-html")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -201,30 +173,20 @@ public class FoodLabelApiClient {
                 .onStatus(HttpStatusCode::is5xxServerError,
                     response -> Mono.error(new RuntimeException("HTML generation service error")))
                 .bodyToMono(String.class)
-                .block()
         );
     }
     
-    public Mono<String> generateHtmlAsync(HtmlGenerateRequest request) {
-        return Mono.fromSupplier(() -> generateHtml(request))
-            .subscribeOn(Schedulers.boundedElastic());
-    }
-    
     // ==================== FULL PIPELINE ====================
     
     /**
      * Full Pipeline: OCR → Structure → Translate → HTML
+     * 꼬리 지연이 길면 헤지 요청을 보낼 수 있다 (label.hedge)
      */
-    public PipelineResponse processFullPipeline(PipelineRequest request) throws IOException {
-        Callable<PipelineResponse> callable = () -> {
+    public Mono<PipelineResponse> processFullPipeline(PipelineRequest request) {
+        return toResource(request.getImage()).flatMap(resource -> withResilience("process", requestHedger.hedge("process", () -> {
             MultipartBodyBuilder builder = new MultipartBodyBuilder();
             
-            builder.part("file", new ByteArrayResource(request.getImage().getBytes()) {
-                @Override
-                public String getFilename() {
-                    return request.getImage().getOriginalFilename();
-                }
-            });
+            builder.part("file", resource);
             
             if (request.getTargetCountry() != null) {
                 builder.part("target_country", request.getTargetCountry());
@@ -242,109 +204,131 @@ public class FoodLabelApiClient {
                     response -> Mono.error(new IllegalArgumentException("Invalid pipeline request")))
                 .onStatus(HttpStatusCode::is5xxServerError,
                     response -> Mono.error(new RuntimeException("Pipeline service error")))
-                .bodyToMono(PipelineResponse.class)
-                .block();
-        };
-        
-        return executeWithResilienceCallable(callable);
-    }
-    
-    public Mono<PipelineResponse> processFullPipelineAsync(PipelineRequest request) {
-        return Mono.fromCallable(() -> processFullPipeline(request))
-            .subscribeOn(Schedulers.boundedElastic());
+                .bodyToMono(PipelineResponse.class);
+        })));
     }
     
     /**
      * 배치 파이프라인
+     * 동시 실행 수는 /process 엔드포인트의 적응형 제한기가 조절
      */
     public Flux<PipelineResponse> processBatchPipeline(List<PipelineRequest> requests) {
         return Flux.fromIterable(requests)
-            .parallel(5)
-            .runOn(Schedulers.parallel())
-            .flatMap(this::processFullPipelineAsync)
-            .sequential()
+            .flatMap(this::processFullPipeline)
             .doOnError(error -> log.error("Batch pipeline error", error));
     }
     
     // ==================== RESILIENCE ====================
     
     /**
-     * Resilience 패턴 적용 (Supplier - unchecked exception용)
+     * Resilience 패턴 적용 (Reactor 연산자)
+     * 시도마다 엔드포인트 공정 스케줄러(레인/사용자별 순서, 제한기 허용량까지만 실행) → 적응형 동시성 제한 → Bulkhead → 제한 시간 순서로 실행하고,
+     * 그 바깥을 Circuit Breaker → Retry 로 감싼다.
+     * (재시도마다 실행 자리/허용량을 다시 획득하고 지연을 측정, 엔드포인트끼리 스케줄러 자리/Bulkhead/Circuit Breaker 를 공유하지 않음)
+     * 요청 마감이 있으면 대기/재시도를 포함한 전체가 남은 시간 안에 끝나야 한다.
+     * 헤지(ocr/process)는 call 안쪽에 있어 원 요청과 헤지 요청이 한 번 얻은 실행 자리/허용량/Bulkhead 를 함께 쓴다.
      */
-    private <T> T executeWithResilience(Supplier<T> supplier) {
-        return Decorators.ofSupplier(supplier)
-            .withCircuitBreaker(circuitBreaker)
-            .withRetry(retry)
-            .withBulkhead(bulkhead)
-            .withFallback(Arrays.asList(Exception.class), 
-                throwable -> handleFallback(throwable))
-            .decorate()
-            .get();
+    private <T> Mono<T> withResilience(String endpoint, Mono<T> call) {
+        UpstreamResilienceProfiles.Profile profile = resilienceProfiles.get(endpoint);
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpoint);
+        return requestDeadlines.stage(endpoint,
+            profile.protect(fairRequestScheduler.schedule(endpoint, limiter, profile.attempt(call)))
+                .onErrorMap(this::handleFallback));
     }
     
     /**
-     * Resilience 패턴 적용 (Callable - checked exception용)
+     * 업스트림 장애만 일반 오류로 감싼다
+     * 로컬 거절(허용량 대기열 초과 503, 마감 초과 504 등 CustomException)과 4xx 요청 오류(IllegalArgumentException)는
+     * 상태 코드가 유지되도록 그대로 전달
      */
-    private <T> T executeWithResilienceCallable(Callable<T> callable) throws IOException {
-        try {
-            return Decorators.ofCallable(callable)
-                .withCircuitBreaker(circuitBreaker)
-                .withRetry(retry)
-                .withBulkhead(bulkhead)
-                .withFallback(Arrays.asList(Exception.class), 
-                    throwable -> handleFallback(throwable))
-                .decorate()
-                .call();
-        } catch (IOException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RuntimeException("Unexpected error during API call", e);
+    private Throwable handleFallback(Throwable throwable) {
+        if (throwable instanceof CustomException || throwable instanceof IllegalArgumentException) {
+            return throwable;
         }
+        log.error("Food Label API call failed: {}", throwable.getMessage());
+        return new RuntimeException("Food Label API is temporarily unavailable", throwable);
     }
     
-    private <T> T handleFallback(Throwable throwable) {
-        log.error("Food Label API call failed: {}", throwable.getMessage());
-        throw new RuntimeException("Food Label API is temporarily unavailable", throwable);
+    /**
+     * MultipartFile → 업로드용 Resource (파일명 유지)
+     * 전처리(방향 보정/축소/그레이스케일 JPEG)가 적용되면 전처리 결과를 보내고 원본 파일은 그대로 둔다.
+     * 원본은 디스크 파일이면 FileSystemResource 로 전달해 WebClient 가 파일에서 DataBuffer 단위로 읽어 전송하고,
+     * 그 외에는 MultipartFile 스트림 기반 Resource 를 사용 (전체 바이트를 힙에 복사하지 않음)
+     */
+    private Mono<Resource> toResource(MultipartFile image) {
+        return imagePreprocessor.preprocess(image)
+            .map(bytes -> (Resource) new ByteArrayResource(bytes) {
+                @Override
+                public String getFilename() {
+                    return ImagePreprocessor.processedFilename(image.getOriginalFilename());
+                }
+            })
+            .switchIfEmpty(Mono.fromSupplier(() -> originalResource(image)));
     }
     
-    private void setupEventListeners() {
-        circuitBreaker.getEventPublisher()
-            .onStateTransition(event -> 
-                log.warn("Food Label API Circuit Breaker: {}", event))
-            .onError(event -> 
-                log.error("Food Label API error: {}", event));
-        
-        retry.getEventPublisher()
-            .onRetry(event -> 
-                log.info("Food Label API retry attempt #{}", event.getNumberOfRetryAttempts()));
+    private Resource originalResource(MultipartFile image) {
+        if (image instanceof FileSystemMultipartFile file) {
+            return new FileSystemResource(file.getPath()) {
+                @Override
+                public String getFilename() {
+                    return image.getOriginalFilename();
+                }
+            };
+        }
+        return image.getResource();
     }
     
     // ==================== UTILITY ====================
     
-    public String getCircuitBreakerState() {
-        return circuitBreaker.getState().toString();
+    /**
+     * 엔드포인트별 Circuit Breaker 상태
+     */
+    public Map<String, String> getCircuitBreakerStates() {
+        return resilienceProfiles.circuitBreakerStates();
+    }
+    
+    /**
+     * 인스턴스별 부하 분산 상태
+     */
+    public Map<String, String> getInstanceStates() {
+        return loadBalancer.states();
     }
     
-    public void resetCircuitBreaker() {
-        circuitBreaker.reset();
-        log.info("Food Label API Circuit Breaker reset");
+    public void resetCircuitBreakers() {
+        resilienceProfiles.resetCircuitBreakers();
+        loadBalancer.reset();
+        log.info("Food Label API Circuit Breakers reset");
     }
     
-    public boolean isHealthy() {
-        try {
-            webClient.get()
-                .uri("/")
-                .retrieve()
-                .onStatus(HttpStatusCode::is4xxClientError,
-                    response -> Mono.error(new RuntimeException("Health check failed: 4xx error")))
-                .onStatus(HttpStatusCode::is5xxServerError,
-                    response -> Mono.error(new RuntimeException("Health check failed: 5xx error")))
-                .bodyToMono(String.class)
-                .block();
-            return true;
-        } catch (Exception e) {
-            log.error("Food Label API health check failed", e);
-            return false;
-        }
+    public Mono<Boolean> isHealthy() {
+        return checkHealth(webClient.get().uri("/"))
+            .onErrorResume(e -> {
+                log.error("Food Label API health check failed", e);
+                return Mono.just(false);
+            });
+    }
+    
+    /**
+     * 특정 인스턴스 상태 확인 (부하 분산을 거치지 않음, 능동 검사용 - 상태 변화는 UpstreamLoadBalancer 가 기록)
+     */
+    public Mono<Boolean> isHealthy(String instance) {
+        return checkHealth(webClient.get()
+                .uri(instance + "/")
+                .attribute(UpstreamLoadBalancer.INSTANCE_ATTRIBUTE, instance))
+            .onErrorResume(e -> {
+                log.debug("Food Label API instance {} health check failed: {}", instance, e.toString());
+                return Mono.just(false);
+            });
+    }
+    
+    private Mono<Boolean> checkHealth(WebClient.RequestHeadersSpec<?> request) {
+        return request
+            .retrieve()
+            .onStatus(HttpStatusCode::is4xxClientError,
+                response -> Mono.error(new RuntimeException("Health check failed: 4xx error")))
+            .onStatus(HttpStatusCode::is5xxServerError,
+                response -> Mono.error(new RuntimeException("Health check failed: 5xx error")))
+            .bodyToMono(String.class)
+            .thenReturn(true);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.labelai.api;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Food Label API 인스턴스 능동 검사
+ * 주기적으로 인스턴스마다 isHealthy 를 호출해 UpstreamLoadBalancer 에 반영한다.
+ * 응답이 없는 인스턴스는 Circuit Breaker 가 열릴 만큼 실패가 쌓이기 전에 선택 대상에서 빠진다.
+ */
+@Component
+@Slf4j
+public class FoodLabelHealthProber {
+    
+    private final FoodLabelApiClient foodLabelApiClient;
+    private final UpstreamLoadBalancer loadBalancer;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    @Value("${external.food-label-api.probe.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${external.food-label-api.probe.timeout:PT2S}")
+    private Duration timeout;
+    
+    public FoodLabelHealthProber(FoodLabelApiClient foodLabelApiClient, UpstreamLoadBalancer upstreamLoadBalancer) {
+        this.foodLabelApiClient = foodLabelApiClient;
+        this.loadBalancer = upstreamLoadBalancer;
+    }
+    
+    /**
+     * 모든 인스턴스 검사 1회 (인스턴스별 병렬, 검사 시간 제한)
+     * 스케줄러 스레드를 막지 않도록 구독만 하고, 이전 검사가 끝나지 않았으면 건너뛴다.
+     */
+    @Scheduled(fixedDelayString = "${external.food-label-api.probe.interval:PT10S}",
+               initialDelayString = "${external.food-label-api.probe.initial-delay:PT5S}")
+    public void probe() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        Flux.fromIterable(loadBalancer.instances())
+            .flatMap(instance -> foodLabelApiClient.isHealthy(instance)
+                .timeout(timeout, Mono.just(false))
+                .doOnNext(healthy -> loadBalancer.reportProbe(instance, healthy)))
+            .then()
+            .doFinally(signal -> running.set(false))
+            .subscribe(null, e -> log.error("Food Label API probe failed", e));
+    }
+}
@@ -0,0 +1,279 @@
+package com.labelai.api;
+
+import com.labelai.util.ExifOrientation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * OCR 전송 전 이미지 전처리
+ * EXIF 방향 보정 → 긴 변 기준 축소 → 그레이스케일 → JPEG 재인코딩 순으로 처리하여
+ * 업로드 용량과 OCR 처리 시간을 줄인다. 원본 파일은 디스크에 그대로 둔다.
+ * - JDK ImageIO/Java2D 만 사용, 스레드 수와 대기열이 제한된 전용 CPU 풀에서 실행
+ * - 전처리할 수 없거나(지원하지 않는 형식, 풀 포화) 결과가 원본보다 크면 원본을 그대로 전송
+ * - 품질 검사와 별도로 한 번 더 디코딩하고 그레이스케일 OCR 정확도도 아직 표본으로 측정하지 않았으므로
+ *   기본값은 꺼 둔다 (label.image.preprocess.enabled)
+ */
+@Component
+@Slf4j
+public class ImagePreprocessor {
+    
+    @Value("${label.image.preprocess.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${label.image.preprocess.max-long-edge:2000}")
+    private int maxLongEdge;
+    
+    @Value("${label.image.preprocess.grayscale:true}")
+    private boolean grayscale;
+    
+    @Value("${label.image.preprocess.jpeg-quality:0.85}")
+    private float jpegQuality;
+    
+    private final Scheduler imageScheduler;
+    private final DistributionSummary originalBytes;
+    private final DistributionSummary processedBytes;
+    private final Timer duration;
+    private final MeterRegistry meterRegistry;
+    
+    public ImagePreprocessor(
+            MeterRegistry meterRegistry,
+            @Value("${label.image.preprocess.threads:0}") int threads,
+            @Value("${label.image.preprocess.max-queue:100}") int maxQueue) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.imageScheduler = Schedulers.newBoundedElastic(poolSize, maxQueue, "label-image");
+        this.meterRegistry = meterRegistry;
+        this.originalBytes = DistributionSummary.builder("label.image.preprocess.bytes")
+            .description("OCR 전송 이미지 크기")
+            .baseUnit("bytes")
+            .tag("image", "original")
+            .register(meterRegistry);
+        this.processedBytes = DistributionSummary.builder("label.image.preprocess.bytes")
+            .description("OCR 전송 이미지 크기")
+            .baseUnit("bytes")
+            .tag("image", "processed")
+            .register(meterRegistry);
+        this.duration = Timer.builder("label.image.preprocess.duration")
+            .description("이미지 전처리 시간")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        imageScheduler.dispose();
+    }
+    
+    /**
+     * 전처리된 JPEG 바이트, 원본을 그대로 보내야 하면 empty
+     */
+    public Mono<byte[]> preprocess(MultipartFile image) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> {
+                Timer.Sample sample = Timer.start();
+                byte[] processed = process(image);
+                sample.stop(duration);
+                return processed;
+            })
+            .subscribeOn(imageScheduler)
+            .onErrorResume(e -> {
+                log.warn("Image preprocessing skipped for {}: {}", image.getOriginalFilename(), e.toString());
+                skipped("error");
+                return Mono.empty();
+            });
+    }
+    
+    /**
+     * 전처리 결과 파일명 (확장자를 .jpg 로 변경)
+     */
+    public static String processedFilename(String originalFilename) {
+        if (originalFilename == null) {
+            return "image.jpg";
+        }
+        int dot = originalFilename.lastIndexOf('.');
+        return (dot > 0 ? originalFilename.substring(0, dot) : originalFilename) + ".jpg";
+    }
+    
+    private byte[] process(MultipartFile image) throws IOException {
+        int orientation;
+        try (InputStream in = image.getInputStream()) {
+            orientation = ExifOrientation.read(in);
+        }
+        
+        BufferedImage source = decode(image);
+        if (source == null) {
+            skipped("unsupported");
+            return null;
+        }
+        
+        BufferedImage target = transform(source, orientation);
+        byte[] encoded = encodeJpeg(target);
+        
+        long originalSize = image.getSize();
+        originalBytes.record(originalSize);
+        if (encoded.length >= originalSize && orientation == ExifOrientation.NORMAL) {
+            skipped("larger");
+            return null;
+        }
+        processedBytes.record(encoded.length);
+        log.debug("Preprocessed {}: {} -> {} bytes ({}x{})", image.getOriginalFilename(),
+            originalSize, encoded.length, target.getWidth(), target.getHeight());
+        return encoded;
+    }
+    
+    /**
+     * 디코딩 - 목표 크기보다 2배 이상 크면 서브샘플링으로 읽어 메모리/CPU 사용을 줄인다.
+     */
+    private BufferedImage decode(MultipartFile image) throws IOException {
+        try (InputStream in = image.getInputStream();
+             ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            if (iis == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int longEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, longEdge / maxLongEdge);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+    
+    /**
+     * EXIF 방향 보정 + 축소 + (선택) 그레이스케일 변환을 한 번의 그리기로 처리
+     */
+    private BufferedImage transform(BufferedImage source, int orientation) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        boolean swap = orientation >= 5;
+        int orientedWidth = swap ? height : width;
+        int orientedHeight = swap ? width : height;
+        
+        double scale = Math.min(1.0, (double) maxLongEdge / Math.max(orientedWidth, orientedHeight));
+        int targetWidth = Math.max(1, (int) Math.round(orientedWidth * scale));
+        int targetHeight = Math.max(1, (int) Math.round(orientedHeight * scale));
+        
+        AffineTransform transform = AffineTransform.getScaleInstance(scale, scale);
+        transform.concatenate(orientationTransform(orientation, width, height));
+        
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight,
+            grayscale ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // 투명 배경(PNG)은 흰색으로
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, targetWidth, targetHeight);
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+    
+    /**
+     * EXIF Orientation (1~8) → 정방향으로 그리기 위한 변환
+     */
+    private static AffineTransform orientationTransform(int orientation, int width, int height) {
+        AffineTransform t = new AffineTransform();
+        switch (orientation) {
+            case 2 -> {
+                t.scale(-1.0, 1.0);
+                t.translate(-width, 0);
+            }
+            case 3 -> {
+                t.translate(width, height);
+                t.rotate(Math.PI);
+            }
+            case 4 -> {
+                t.scale(1.0, -1.0);
+                t.translate(0, -height);
+            }
+            case 5 -> {
+                t.rotate(-Math.PI / 2);
+                t.scale(-1.0, 1.0);
+            }
+            case 6 -> {
+                t.translate(height, 0);
+                t.rotate(Math.PI / 2);
+            }
+            case 7 -> {
+                t.scale(-1.0, 1.0);
+                t.translate(-height, 0);
+                t.translate(0, width);
+                t.rotate(3 * Math.PI / 2);
+            }
+            case 8 -> {
+                t.translate(0, width);
+                t.rotate(3 * Math.PI / 2);
+            }
+            default -> {
+            }
+        }
+        return t;
+    }
+    
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+    
+    private void skipped(String reason) {
+        Counter.builder("label.image.preprocess.skipped")
+            .description("원본 그대로 전송한 이미지 수")
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -3,86 +3,49 @@ package com.labelai.api;
 import com.labelai.api.dto.RagRequest;
 import com.labelai.api.dto.RagResponse;
 import com.labelai.dto.response.ValidationResponse;
-import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
-import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
 import java.io.File;
 
 /**
  * RAG API 클라이언트
  * FastAPI RAG 서버와 통신하여 텍스트 추출 및 FDA 규제 검증
+ * 공용 업스트림 클라이언트(external.rag-api, 연결 풀 + 제한 시간 + 지표)를 사용하고,
+ * 요청 마감이 있으면 남은 시간이 더 짧을 때 그만큼만 기다린다.
  */
 @Component
-@RequiredArgsConstructor
 public class RagApiClient {
     
-    @Value("${external.rag-api.url}")
-    private String ragApiUrl;
+    private final UpstreamHttpClient http;
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    public RagApiClient(UpstreamHttpClients upstreamHttpClients) {
+        this.http = upstreamHttpClients.client("rag-api");
+    }
     
     /**
      * 라벨 이미지에서 텍스트 추출
      */
-    public Object extractTextFromLabel(String filePath) {
-        try {
-            String url = ragApiUrl + "/extract";
-            
-            // Multipart 요청 준비
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-            
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("file", new FileSystemResource(new File("./uploads/" + filePath)));
-            
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = 
-                new HttpEntity<>(body, headers);
-            
-            ResponseEntity<RagResponse> response = restTemplate.exchange(
-                url,
-                HttpMethod.POST,
-                requestEntity,
-                RagResponse.class
-            );
-            
-            return response.getBody();
-            
-        } catch (Exception e) {
-            throw new RuntimeException("RAG API 텍스트 추출 실패: " + e.getMessage());
-        }
+    public Mono<Object> extractTextFromLabel(String filePath) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", new FileSystemResource(new File("./uploads/" + filePath)));
+        
+        return http.postMultipart("/extract", body, RagResponse.class)
+            .cast(Object.class)
+            .onErrorMap(e -> new RuntimeException("RAG API 텍스트 추출 실패: " + e.getMessage(), e));
     }
     
     /**
      * FDA 규제 기반 검증
      */
-    public ValidationResponse validateWithFDA(Object extractedData) {
-        try {
-            String url = ragApiUrl + "/validate";
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            RagRequest request = new RagRequest();
-            request.setExtractedData(extractedData);
-            
-            HttpEntity<RagRequest> requestEntity = new HttpEntity<>(request, headers);
-            
-            ResponseEntity<ValidationResponse> response = restTemplate.exchange(
-                url,
-                HttpMethod.POST,
-                requestEntity,
-                ValidationResponse.class
-            );
-            
-            return response.getBody();
-            
-        } catch (Exception e) {
-            throw new RuntimeException("RAG API FDA 검증 실패: " + e.getMessage());
-        }
+    public Mono<ValidationResponse> validateWithFDA(Object extractedData) {
+        RagRequest request = new RagRequest();
+        request.setExtractedData(extractedData);
+        
+        return http.postJson("/validate", request, ValidationResponse.class)
+            .onErrorMap(e -> new RuntimeException("RAG API FDA 검증 실패: " + e.getMessage(), e));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.labelai.api;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 요청 마감 시각 (Reactor Context 로 전달)
+ * - endpoint: 마감을 정한 진입점 (LabelController 엔드포인트)
+ * - deadlineNanos: System.nanoTime 기준 마감 시각
+ */
+public record RequestDeadline(String endpoint, long deadlineNanos) {
+    
+    public static RequestDeadline after(String endpoint, Duration budget) {
+        return new RequestDeadline(endpoint, System.nanoTime() + budget.toNanos());
+    }
+    
+    /**
+     * Context 에서 마감 읽기 (없으면 empty - 비동기 작업 등 마감 없는 호출)
+     */
+    public static Optional<RequestDeadline> from(ContextView context) {
+        return context.getOrEmpty(RequestDeadline.class);
+    }
+    
+    /**
+     * 남은 시간 (지났으면 0 이하)
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(deadlineNanos - System.nanoTime());
+    }
+    
+    /**
+     * Context 에 마감 기록 (contextWrite 용)
+     */
+    public Context writeTo(Context context) {
+        return context.put(RequestDeadline.class, this);
+    }
+    
+    /**
+     * Context 에서 마감 제거 (여러 요청이 공유하는 호출은 한 요청의 마감에 묶이지 않게)
+     */
+    public static Context clear(Context context) {
+        return context.delete(RequestDeadline.class);
+    }
+}
@@ -0,0 +1,123 @@
+package com.labelai.api;
+
+import com.labelai.exception.CustomException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 요청 마감(deadline) 전파
+ * - LabelController 진입점에서 엔드포인트별 예산(label.deadline.endpoints.{endpoint})으로 마감을 정해 Context 에 기록
+ * - 각 단계(OCR, 구조화, 번역, HTML, 전체 파이프라인, RAG 검증)는 남은 시간만큼만 기다리고,
+ *   남은 시간이 min-stage-budget 보다 적으면 업스트림을 호출하지 않고 바로 504 DEADLINE_EXCEEDED
+ * - 단계별 소요 시간은 label.stage.duration{stage, outcome} 와 디버그 로그로 남긴다
+ * 마감이 없는 호출(비동기 작업, 배치)은 단계 시간만 기록한다.
+ */
+@Component
+@Slf4j
+public class RequestDeadlines {
+    
+    private static final String ENDPOINT_PREFIX = "label.deadline.endpoints.";
+    
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${label.deadline.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${label.deadline.min-stage-budget:PT0.5S}")
+    private Duration minStageBudget;
+    
+    public RequestDeadlines(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * 진입점 마감 설정 - 엔드포인트 예산이 설정되어 있으면 Context 에 마감을 기록하고 전체 처리에도 제한 시간 적용
+     * (여러 요청이 공유하는 업스트림 호출을 기다리는 경우에도 자기 마감에 끝나도록)
+     */
+    public <T> Mono<T> within(String endpoint, Mono<T> work) {
+        Duration budget = enabled ? environment.getProperty(ENDPOINT_PREFIX + endpoint, Duration.class) : null;
+        if (budget == null) {
+            return work;
+        }
+        return Mono.defer(() -> {
+            RequestDeadline deadline = RequestDeadline.after(endpoint, budget);
+            return work
+                .timeout(budget)
+                .onErrorMap(TimeoutException.class, e -> exceeded(deadline, "request"))
+                .contextWrite(deadline::writeTo);
+        });
+    }
+    
+    /**
+     * 단계 실행 - 남은 시간으로 제한하고 소요 시간 기록
+     */
+    public <T> Mono<T> stage(String stage, Mono<T> work) {
+        return Mono.deferContextual(context -> {
+            Optional<RequestDeadline> deadline = enabled ? RequestDeadline.from(context) : Optional.empty();
+            Mono<T> bounded = work;
+            if (deadline.isPresent()) {
+                Duration remaining = deadline.get().remaining();
+                if (remaining.compareTo(minStageBudget) < 0) {
+                    record(stage, "skipped", 0);
+                    log.warn("Stage {} skipped: {} ms left of {} deadline",
+                        stage, remaining.toMillis(), deadline.get().endpoint());
+                    return Mono.error(exceeded(deadline.get(), stage));
+                }
+                bounded = work
+                    .timeout(remaining)
+                    .onErrorMap(TimeoutException.class, e -> exceeded(deadline.get(), stage));
+            }
+            
+            long startNanos = System.nanoTime();
+            return bounded
+                .doOnSuccess(value -> finished(stage, "success", startNanos, deadline))
+                .doOnError(error -> finished(stage, isDeadline(error) ? "deadline" : "error", startNanos, deadline));
+        });
+    }
+    
+    private void finished(String stage, String outcome, long startNanos, Optional<RequestDeadline> deadline) {
+        long elapsed = System.nanoTime() - startNanos;
+        record(stage, outcome, elapsed);
+        if (log.isDebugEnabled()) {
+            log.debug("Stage {} {} in {} ms{}", stage, outcome, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                deadline.map(d -> " (" + d.remaining().toMillis() + " ms left of " + d.endpoint() + ")").orElse(""));
+        }
+    }
+    
+    private void record(String stage, String outcome, long nanos) {
+        Timer.builder("label.stage.duration")
+            .description("파이프라인 단계 소요 시간")
+            .tag("stage", stage)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    private static boolean isDeadline(Throwable error) {
+        return error instanceof CustomException custom && "DEADLINE_EXCEEDED".equals(custom.getErrorCode());
+    }
+    
+    private CustomException exceeded(RequestDeadline deadline, String stage) {
+        Counter.builder("label.deadline.exceeded")
+            .description("마감 초과로 중단한 요청 수")
+            .tag("endpoint", deadline.endpoint())
+            .tag("stage", stage)
+            .register(meterRegistry)
+            .increment();
+        return new CustomException("요청 처리 시간이 초과되었습니다 (" + stage + ")", "DEADLINE_EXCEEDED", 504);
+    }
+}
@@ -0,0 +1,236 @@
+package com.labelai.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 업스트림 요청 헤징 (꼬리 지연 감소, opt-in)
+ * 최근 지연의 percentile 안에 응답이 없으면 같은 요청을 한 번 더 보내고, 먼저 성공한 응답을 쓰고 나머지는 취소한다.
+ * - 호출자의 스케줄러 자리/제한기 허용량 안에서 업스트림 교환만 감싼다 (헤지 요청이 로컬 대기열에 다시 줄 서지 않음)
+ * - 지연 표본은 업스트림 교환 시간만 기록한다 (로컬 대기/재시도 제외, 실패한 시도 포함)
+ * - 헤지 예산: 요청마다 budget-ratio 만큼 토큰이 쌓이고 헤지 1회에 1개를 쓴다 (추가 부하 ≈ budget-ratio 이하)
+ * - 최근 지연 표본이 min-samples 미만이면 헤지하지 않는다
+ * - 기본적으로 interactive 레인 요청만 헤지 (배치/비동기 작업은 꼬리 지연보다 처리량이 중요)
+ * - 먼저 실패한 시도가 있어도 다른 시도가 진행 중이면 그 결과를 기다린다
+ */
+@Component
+@Slf4j
+public class RequestHedger {
+    
+    private final Map<String, EndpointHedge> hedges = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${label.hedge.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${label.hedge.endpoints:ocr,process}")
+    private List<String> endpoints;
+    
+    @Value("${label.hedge.percentile:0.95}")
+    private double percentile;
+    
+    @Value("${label.hedge.min-delay:PT0.5S}")
+    private Duration minDelay;
+    
+    @Value("${label.hedge.window:200}")
+    private int window;
+    
+    @Value("${label.hedge.min-samples:20}")
+    private int minSamples;
+    
+    @Value("${label.hedge.budget-ratio:0.05}")
+    private double budgetRatio;
+    
+    @Value("${label.hedge.max-tokens:10}")
+    private double maxTokens;
+    
+    @Value("${label.hedge.interactive-only:true}")
+    private boolean interactiveOnly;
+    
+    public RequestHedger(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * 헤지 적용 - call 은 시도마다 새 요청을 만들어야 한다 (구독마다 업스트림 호출 1회)
+     * 반환된 Mono 는 스케줄러/제한기/Bulkhead 안쪽에서 구독해야 한다 (재시도마다 새로 경쟁)
+     */
+    public <T> Mono<T> hedge(String endpoint, Supplier<Mono<T>> call) {
+        if (!enabled || !endpoints.contains(endpoint)) {
+            return Mono.defer(call);
+        }
+        return Mono.deferContextual(context -> {
+            RequestPriority priority = context.getOrDefault(RequestPriority.class, RequestPriority.interactive(null));
+            EndpointHedge hedge = hedges.computeIfAbsent(endpoint, this::create);
+            hedge.requests.increment();
+            hedge.deposit();
+            
+            Duration delay = hedge.delay();
+            if (delay == null || (interactiveOnly && !RequestPriority.INTERACTIVE.equals(priority.lane()))) {
+                return hedge.timed(Mono.defer(call));
+            }
+            return race(hedge, call, delay);
+        });
+    }
+    
+    /**
+     * 원 요청 + (delay 후) 헤지 요청 경쟁
+     */
+    private <T> Mono<T> race(EndpointHedge hedge, Supplier<Mono<T>> call, Duration delay) {
+        return Mono.create(sink -> {
+            AtomicBoolean done = new AtomicBoolean();
+            AtomicInteger outstanding = new AtomicInteger(1);
+            Disposable.Composite attempts = Disposables.composite();
+            sink.onDispose(attempts);
+            
+            Runnable[] launch = new Runnable[2];
+            for (int i = 0; i < 2; i++) {
+                boolean hedged = i == 1;
+                launch[i] = () -> attempts.add(hedge.timed(Mono.defer(call))
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .contextWrite(sink.contextView())
+                    .subscribe(
+                        value -> {
+                            if (done.compareAndSet(false, true)) {
+                                if (hedged) {
+                                    hedge.won.increment();
+                                }
+                                value.ifPresentOrElse(sink::success, () -> sink.success());
+                            }
+                        },
+                        error -> {
+                            if (outstanding.decrementAndGet() == 0 && done.compareAndSet(false, true)) {
+                                sink.error(error);
+                            }
+                        }));
+            }
+            
+            launch[0].run();
+            attempts.add(Mono.delay(delay).subscribe(tick -> {
+                if (done.get()) {
+                    return;
+                }
+                if (!hedge.withdraw()) {
+                    hedge.denied.increment();
+                    return;
+                }
+                outstanding.incrementAndGet();
+                hedge.sent.increment();
+                launch[1].run();
+            }));
+        });
+    }
+    
+    private EndpointHedge create(String endpoint) {
+        EndpointHedge hedge = new EndpointHedge(endpoint);
+        Gauge.builder("label.upstream.hedge.delay", hedge, h -> {
+                Duration delay = h.delay();
+                return delay == null ? 0 : delay.toMillis();
+            })
+            .description("헤지 요청을 보내기까지 기다리는 시간")
+            .baseUnit("milliseconds")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+        return hedge;
+    }
+    
+    private Counter hedgeCounter(String endpoint, String result) {
+        return Counter.builder("label.upstream.hedge")
+            .description("헤지 요청 수 (sent: 전송, won: 헤지 응답이 먼저 도착, denied: 예산 부족)")
+            .tag("endpoint", endpoint)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * 엔드포인트별 최근 지연 표본 + 헤지 예산
+     */
+    private final class EndpointHedge {
+        
+        private final long[] samples = new long[window];
+        private int count;
+        private int next;
+        private double tokens;
+        
+        private final Counter requests;
+        private final Counter sent;
+        private final Counter won;
+        private final Counter denied;
+        
+        private EndpointHedge(String endpoint) {
+            this.requests = Counter.builder("label.upstream.hedge.requests")
+                .description("헤지 대상 요청 수")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+            this.sent = hedgeCounter(endpoint, "sent");
+            this.won = hedgeCounter(endpoint, "won");
+            this.denied = hedgeCounter(endpoint, "denied");
+        }
+        
+        /**
+         * 끝난 시도의 지연 기록 (실패 포함, 경쟁에 져서 취소된 시도는 제외)
+         * 실패를 빼면 느린 타임아웃/오류가 표본에서 사라져 percentile 이 낮게 잡힌다
+         */
+        private <T> Mono<T> timed(Mono<T> attempt) {
+            return Mono.defer(() -> {
+                long startNanos = System.nanoTime();
+                return attempt
+                    .doOnSuccess(value -> record(System.nanoTime() - startNanos))
+                    .doOnError(error -> record(System.nanoTime() - startNanos));
+            });
+        }
+        
+        private synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+        
+        /**
+         * 헤지 대기 시간 = 최근 지연의 percentile (최소 min-delay), 표본 부족 시 null
+         */
+        private Duration delay() {
+            long[] snapshot;
+            synchronized (this) {
+                if (count < minSamples) {
+                    return null;
+                }
+                snapshot = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(snapshot);
+            int index = Math.min(snapshot.length - 1, (int) Math.ceil(percentile * snapshot.length) - 1);
+            Duration delay = Duration.ofNanos(snapshot[Math.max(0, index)]);
+            return delay.compareTo(minDelay) < 0 ? minDelay : delay;
+        }
+        
+        private synchronized void deposit() {
+            tokens = Math.min(maxTokens, tokens + budgetRatio);
+        }
+        
+        private synchronized boolean withdraw() {
+            if (tokens < 1.0) {
+                return false;
+            }
+            tokens -= 1.0;
+            return true;
+        }
+    }
+}
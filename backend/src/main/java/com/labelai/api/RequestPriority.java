@@ -0,0 +1,31 @@
+package com.labelai.api;
+
+import reactor.util.context.Context;
+
+/**
+ * 업스트림 호출의 우선순위 정보 (Reactor Context 로 전달)
+ * - lane: interactive(단건 요청) / bulk(배치, 비동기 작업)
+ * - user: Authentication 이름 (사용자별 공정 분배 기준)
+ */
+public record RequestPriority(String lane, String user) {
+    
+    public static final String INTERACTIVE = "interactive";
+    public static final String BULK = "bulk";
+    
+    private static final String ANONYMOUS = "anonymous";
+    
+    public static RequestPriority interactive(String user) {
+        return new RequestPriority(INTERACTIVE, user == null ? ANONYMOUS : user);
+    }
+    
+    public static RequestPriority bulk(String user) {
+        return new RequestPriority(BULK, user == null ? ANONYMOUS : user);
+    }
+    
+    /**
+     * Context 에 우선순위 기록 (contextWrite 용)
+     */
+    public Context writeTo(Context context) {
+        return context.put(RequestPriority.class, this);
+    }
+}
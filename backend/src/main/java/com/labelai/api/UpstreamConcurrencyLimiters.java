@@ -0,0 +1,74 @@
+package com.labelai.api;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Food Label API 엔드포인트별 적응형 동시성 제한기 모음
+ * FoodLabelApiClient 의 모든 호출자가 공유하며, 엔드포인트별로
+ * label.upstream.limit / in_flight / queue_depth 게이지를 노출한다.
+ * 허용량 상한은 엔드포인트 Bulkhead 크기를 넘지 않는다 (넘는 요청은 Bulkhead 에서 거절되지 않고 제한기 대기열에서 기다림).
+ */
+@Component
+public class UpstreamConcurrencyLimiters {
+    
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final UpstreamResilienceProfiles resilienceProfiles;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${label.upstream.limiter.initial-limit:5}")
+    private int initialLimit;
+    
+    @Value("${label.upstream.limiter.min-limit:1}")
+    private int minLimit;
+    
+    @Value("${label.upstream.limiter.max-limit:50}")
+    private int maxLimit;
+    
+    @Value("${label.upstream.limiter.tolerance:2.0}")
+    private double tolerance;
+    
+    @Value("${label.upstream.limiter.backoff-ratio:0.9}")
+    private double backoffRatio;
+    
+    @Value("${label.upstream.limiter.max-queue:200}")
+    private int maxQueue;
+    
+    public UpstreamConcurrencyLimiters(UpstreamResilienceProfiles resilienceProfiles, MeterRegistry meterRegistry) {
+        this.resilienceProfiles = resilienceProfiles;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * 엔드포인트별 제한기 (최초 사용 시 생성)
+     */
+    public AdaptiveConcurrencyLimiter get(String endpoint) {
+        return limiters.computeIfAbsent(endpoint, this::create);
+    }
+    
+    private AdaptiveConcurrencyLimiter create(String endpoint) {
+        int ceiling = Math.min(maxLimit, resilienceProfiles.get(endpoint).maxConcurrentCalls());
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(endpoint,
+            Math.min(initialLimit, ceiling), Math.min(minLimit, ceiling), ceiling, tolerance, backoffRatio, maxQueue);
+        
+        Gauge.builder("label.upstream.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .description("현재 동시 요청 허용량")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+        Gauge.builder("label.upstream.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .description("진행 중인 업스트림 요청 수")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+        Gauge.builder("label.upstream.queue_depth", limiter, AdaptiveConcurrencyLimiter::getQueueDepth)
+            .description("허용량 대기 중인 요청 수")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+        
+        return limiter;
+    }
+}
@@ -0,0 +1,91 @@
+package com.labelai.api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 업스트림 1개의 HTTP 클라이언트 (UpstreamHttpClients 가 생성, 연결 풀 공유)
+ * 응답을 Mono 로 돌려주며 호출 스레드를 막지 않는다.
+ * Context 에 요청 마감(RequestDeadline)이 있고 남은 시간이 read-timeout 보다 짧으면 그만큼만 기다린다.
+ */
+public class UpstreamHttpClient {
+    
+    private final String name;
+    private final WebClient webClient;
+    private final Duration readTimeout;
+    private final MeterRegistry meterRegistry;
+    
+    UpstreamHttpClient(String name, WebClient webClient, Duration readTimeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.webClient = webClient;
+        this.readTimeout = readTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * JSON POST
+     */
+    public <T> Mono<T> postJson(String endpoint, Object body, Class<T> responseType) {
+        return exchange(endpoint, responseType, request -> request
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body));
+    }
+    
+    /**
+     * multipart POST
+     */
+    public <T> Mono<T> postMultipart(String endpoint, MultiValueMap<String, ?> parts, Class<T> responseType) {
+        return exchange(endpoint, responseType, request -> request
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .body(BodyInserters.fromMultipartData(parts)));
+    }
+    
+    private <T> Mono<T> exchange(String endpoint, Class<T> responseType,
+                                 Function<WebClient.RequestBodySpec, WebClient.RequestHeadersSpec<?>> body) {
+        return Mono.deferContextual(context -> {
+            Duration remaining = RequestDeadline.from(context).map(RequestDeadline::remaining).orElse(null);
+            Duration timeout = remaining != null && remaining.compareTo(readTimeout) < 0 ? remaining : readTimeout;
+            long startNanos = System.nanoTime();
+            return body.apply(webClient.post()
+                    .uri(endpoint)
+                    .httpRequest(request -> ((HttpClientRequest) request.getNativeRequest())
+                        .responseTimeout(timeout.isZero() || timeout.isNegative() ? Duration.ofMillis(1) : timeout)))
+                .retrieve()
+                .bodyToMono(responseType)
+                .onErrorMap(UpstreamHttpClient::isTimeout, e -> new IllegalStateException(
+                    String.format("%s %s: no response within %d ms", name, endpoint, timeout.toMillis()), e))
+                .doOnSuccess(response -> record(endpoint, "success", startNanos))
+                .doOnError(e -> record(endpoint, isTimeout(e) ? "timeout" : "error", startNanos))
+                .doOnCancel(() -> record(endpoint, "cancelled", startNanos));
+        });
+    }
+    
+    private static boolean isTimeout(Throwable e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause instanceof ReadTimeoutException || cause instanceof TimeoutException;
+    }
+    
+    private void record(String endpoint, String outcome, long startNanos) {
+        Timer.builder("label.upstream.http.duration")
+            .description("업스트림 HTTP 호출 시간")
+            .tag("upstream", name)
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
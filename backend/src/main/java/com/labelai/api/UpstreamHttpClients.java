@@ -0,0 +1,257 @@
+package com.labelai.api;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import io.netty.resolver.AddressResolverGroup;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+import reactor.netty.transport.TransportConfig;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 업스트림(RAG, LLM, Food Label API) 공용 HTTP 클라이언트 계층
+ * external.{name}.* 설정으로 업스트림마다 Reactor Netty 연결 풀을 하나씩 만든다.
+ * - 연결 풀: 최대 연결 수, 연결 대기열 길이/대기 시간, 유휴/수명 만료 연결 정리
+ * - HTTP keep-alive + TCP keep-alive, 선택적으로 h2c (HTTP/2 cleartext, 서버가 지원하지 않으면 HTTP/1.1)
+ * - 연결/응답 제한 시간 (호출마다 더 짧은 남은 시간 적용 가능)
+ * - 지표: label.upstream.http.duration{upstream, endpoint, outcome} (히스토그램),
+ *   label.upstream.pool.connections{upstream, state}, label.upstream.pool.saturation{upstream},
+ *   label.upstream.pool.acquire{upstream} (연결 획득 시간)
+ */
+@Component
+@Slf4j
+public class UpstreamHttpClients {
+    
+    private static final String PREFIX = "external.";
+    
+    private final Map<String, UpstreamHttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+    private final Map<String, LoopResources> loops = new ConcurrentHashMap<>();
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final WebClient.Builder webClientBuilder;
+    
+    public UpstreamHttpClients(Environment environment, MeterRegistry meterRegistry, WebClient.Builder webClientBuilder) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.webClientBuilder = webClientBuilder;
+    }
+    
+    /**
+     * 업스트림 클라이언트 (external.{name}.url 기준, 최초 사용 시 생성)
+     */
+    public UpstreamHttpClient client(String name) {
+        return clients.computeIfAbsent(name, this::create);
+    }
+    
+    /**
+     * 업스트림 전용 연결 풀/제한 시간/코덱 한도가 적용된 WebClient.Builder (기본 주소는 호출 측에서 지정)
+     * - external.{name}.max-in-memory-size: 응답 본문 버퍼 한도 (없으면 Spring 기본값)
+     * - external.{name}.event-loop-threads: 0 보다 크면 전용 이벤트 루프 사용 (없으면 공용)
+     */
+    public WebClient.Builder webClientBuilder(String name) {
+        DataSize maxInMemorySize = environment.getProperty(PREFIX + name + ".max-in-memory-size", DataSize.class);
+        WebClient.Builder builder = webClientBuilder.clone()
+            .clientConnector(new ReactorClientHttpConnector(httpClient(name)));
+        if (maxInMemorySize != null) {
+            builder.codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()));
+        }
+        return builder;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        providers.values().forEach(ConnectionProvider::dispose);
+        loops.values().forEach(LoopResources::dispose);
+    }
+    
+    private UpstreamHttpClient create(String name) {
+        String url = environment.getRequiredProperty(PREFIX + name + ".url");
+        Duration readTimeout = property(name, "read-timeout", Duration.class, Duration.ofSeconds(60));
+        WebClient webClient = webClientBuilder(name)
+            .baseUrl(url)
+            .build();
+        return new UpstreamHttpClient(name, webClient, readTimeout, meterRegistry);
+    }
+    
+    private HttpClient httpClient(String name) {
+        Duration connectTimeout = property(name, "connect-timeout", Duration.class, Duration.ofSeconds(5));
+        Duration readTimeout = property(name, "read-timeout", Duration.class, Duration.ofSeconds(60));
+        boolean h2c = property(name, "h2c", Boolean.class, false);
+        int eventLoopThreads = property(name, "event-loop-threads", Integer.class, 0);
+        
+        HttpClient httpClient = HttpClient.create(connectionProvider(name))
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) Math.min(Integer.MAX_VALUE, connectTimeout.toMillis()))
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .keepAlive(true)
+            .responseTimeout(readTimeout)
+            .protocol(h2c ? new HttpProtocol[] {HttpProtocol.H2C, HttpProtocol.HTTP11} : new HttpProtocol[] {HttpProtocol.HTTP11});
+        if (eventLoopThreads > 0) {
+            httpClient = httpClient.runOn(loops.computeIfAbsent(name,
+                key -> LoopResources.create("label-" + key, eventLoopThreads, true)));
+        }
+        
+        log.info("Upstream HTTP client {}: connectTimeout={}, readTimeout={}, h2c={}, eventLoopThreads={}",
+            name, connectTimeout, readTimeout, h2c, eventLoopThreads > 0 ? eventLoopThreads : "shared");
+        return httpClient;
+    }
+    
+    /**
+     * 업스트림 전용 연결 풀 (external.{name}.pool.*)
+     */
+    private ConnectionProvider connectionProvider(String name) {
+        // 등록/해제 시마다 supplier 를 호출하므로 같은 인스턴스를 돌려준다
+        PoolMeters poolMeters = new PoolMeters(name);
+        ConnectionProvider provider = ConnectionProvider.builder("label-" + name)
+            .maxConnections(property(name, "pool.max-connections", Integer.class, 50))
+            .pendingAcquireMaxCount(property(name, "pool.pending-acquire-max", Integer.class, 200))
+            .pendingAcquireTimeout(property(name, "pool.pending-acquire-timeout", Duration.class, Duration.ofSeconds(5)))
+            .maxIdleTime(property(name, "pool.max-idle-time", Duration.class, Duration.ofSeconds(30)))
+            .maxLifeTime(property(name, "pool.max-life-time", Duration.class, Duration.ofMinutes(5)))
+            .evictInBackground(property(name, "pool.evict-interval", Duration.class, Duration.ofSeconds(30)))
+            .metrics(true, () -> poolMeters)
+            .build();
+        providers.put(name, provider);
+        return new TimedConnectionProvider(provider, Timer.builder("label.upstream.pool.acquire")
+            .description("연결 획득 시간 (풀 대기 + 새 연결 수립)")
+            .tag("upstream", name)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry));
+    }
+    
+    private <T> T property(String name, String key, Class<T> type, T defaultValue) {
+        return environment.getProperty(PREFIX + name + "." + key, type, defaultValue);
+    }
+    
+    /**
+     * 연결 풀 지표 등록 (원격 주소별 풀마다)
+     */
+    private final class PoolMeters implements ConnectionProvider.MeterRegistrar {
+        
+        private final String upstream;
+        private final Map<String, Registration> registered = new ConcurrentHashMap<>();
+        
+        private PoolMeters(String upstream) {
+            this.upstream = upstream;
+        }
+        
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+            String remote = remoteAddress instanceof InetSocketAddress address
+                ? address.getHostString() + ":" + address.getPort()
+                : String.valueOf(remoteAddress);
+            registered.put(id, new Registration(metrics, List.of(
+                connections(remote, "active", metrics, ConnectionPoolMetrics::acquiredSize),
+                connections(remote, "idle", metrics, ConnectionPoolMetrics::idleSize),
+                connections(remote, "pending", metrics, ConnectionPoolMetrics::pendingAcquireSize),
+                Gauge.builder("label.upstream.pool.saturation", metrics,
+                        m -> m.maxAllocatedSize() <= 0 ? 0 : (double) m.acquiredSize() / m.maxAllocatedSize())
+                    .description("연결 풀 사용률 (사용 중 연결 / 최대 연결)")
+                    .tag("upstream", upstream)
+                    .tag("remote", remote)
+                    .register(meterRegistry))));
+        }
+        
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            Registration registration = registered.remove(id);
+            if (registration != null) {
+                registration.meters().forEach(meterRegistry::remove);
+            }
+        }
+        
+        private Meter connections(String remote, String state, ConnectionPoolMetrics metrics,
+                                  ToDoubleFunction<ConnectionPoolMetrics> value) {
+            return Gauge.builder("label.upstream.pool.connections", metrics, value)
+                .description("연결 풀 연결 수 (active: 사용 중, idle: 유휴, pending: 연결 대기 요청)")
+                .tag("upstream", upstream)
+                .tag("remote", remote)
+                .tag("state", state)
+                .register(meterRegistry);
+        }
+    }
+    
+    /**
+     * 연결 획득 시간 기록 (Reactor Netty 풀은 HTTP/1.1 연결 대기 시간을 지표로 내보내지 않음)
+     * h2c 로 HTTP/2 연결을 쓰면 HTTP/2 풀이 따로 관리하므로 기록되지 않는다.
+     */
+    private record TimedConnectionProvider(ConnectionProvider delegate, Timer acquireTime) implements ConnectionProvider {
+        
+        @Override
+        public Mono<? extends Connection> acquire(TransportConfig config, ConnectionObserver observer,
+                                                  Supplier<? extends SocketAddress> remoteAddress,
+                                                  AddressResolverGroup<?> resolverGroup) {
+            return Mono.defer(() -> {
+                long startNanos = System.nanoTime();
+                return delegate.acquire(config, observer, remoteAddress, resolverGroup)
+                    .doOnNext(connection -> acquireTime.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+            });
+        }
+        
+        @Override
+        public void disposeWhen(SocketAddress address) {
+            delegate.disposeWhen(address);
+        }
+        
+        @Override
+        public Mono<Void> disposeLater() {
+            return delegate.disposeLater();
+        }
+        
+        @Override
+        public boolean isDisposed() {
+            return delegate.isDisposed();
+        }
+        
+        @Override
+        public int maxConnections() {
+            return delegate.maxConnections();
+        }
+        
+        @Override
+        public Map<SocketAddress, Integer> maxConnectionsPerHost() {
+            return delegate.maxConnectionsPerHost();
+        }
+        
+        @Override
+        public Builder mutate() {
+            return delegate.mutate();
+        }
+        
+        @Override
+        public String name() {
+            return delegate.name();
+        }
+    }
+    
+    /**
+     * 등록한 게이지 (게이지는 대상을 약하게 참조하므로 풀 지표 객체를 함께 보관)
+     */
+    private record Registration(ConnectionPoolMetrics metrics, List<Meter> meters) {
+    }
+}
@@ -0,0 +1,340 @@
+package com.labelai.api;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Food Label API 클라이언트 측 부하 분산 (foodLabelWebClient 의 ExchangeFilterFunction)
+ * external.food-label-api.instances 에 나열한 GPU 호스트 중 하나로 요청마다 주소를 바꿔 보낸다.
+ * - 선택: power-of-two-choices, 비용 = peak EWMA 지연 × (진행 중 요청 + 1)
+ * - 수동 제외: 인스턴스별 Circuit Breaker(food-label-instance-{host}) 가 OPEN 으로 전이하면 제외,
+ *   HALF_OPEN 으로 전이하면 제한된 수의 요청으로 다시 시험
+ * - 능동 검사: FoodLabelHealthProber 가 인스턴스마다 isHealthy 를 호출해 결과를 반영
+ * - 모든 인스턴스가 제외되면 전체 중에서 고른다 (엔드포인트 Circuit Breaker 가 최종 판단)
+ * 재시도/헤지 요청도 이 필터를 다시 거치므로 진행 중 요청이 적은 다른 인스턴스로 가게 된다.
+ */
+@Component
+@Slf4j
+public class UpstreamLoadBalancer implements ExchangeFilterFunction {
+    
+    /**
+     * foodLabelWebClient 의 논리 기본 주소 (요청마다 실제 인스턴스 주소로 바뀜)
+     */
+    public static final String BASE_URL = "http://food-label-api";
+    
+    /**
+     * 이 속성이 있는 요청은 부하 분산하지 않고 지정한 인스턴스로 보낸다 (능동 검사용)
+     */
+    public static final String INSTANCE_ATTRIBUTE = UpstreamLoadBalancer.class.getName() + ".instance";
+    
+    private static final String CIRCUIT_BREAKER_PREFIX = "food-label-instance-";
+    private static final String CIRCUIT_BREAKER_CONFIG = "food-label-instance";
+    
+    private final List<Upstream> upstreams;
+    private final long decayNanos;
+    
+    public UpstreamLoadBalancer(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${external.food-label-api.instances:http://localhost:8000}") List<String> instances,
+            @Value("${external.food-label-api.ewma-decay:PT10S}") Duration ewmaDecay) {
+        this.decayNanos = Math.max(1, ewmaDecay.toNanos());
+        CircuitBreakerConfig config = circuitBreakerRegistry.getConfiguration(CIRCUIT_BREAKER_CONFIG)
+            .orElseGet(circuitBreakerRegistry::getDefaultConfig);
+        
+        List<Upstream> created = new ArrayList<>();
+        for (String instance : instances) {
+            if (instance.isBlank()) {
+                continue;
+            }
+            URI base = URI.create(instance.trim().replaceAll("/+$", ""));
+            String id = base.getHost() + (base.getPort() > 0 ? ":" + base.getPort() : "");
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(
+                CIRCUIT_BREAKER_PREFIX + id.replace(':', '-'), config);
+            created.add(new Upstream(id, base, circuitBreaker, meterRegistry));
+        }
+        if (created.isEmpty()) {
+            throw new IllegalStateException("external.food-label-api.instances is empty");
+        }
+        this.upstreams = List.copyOf(created);
+        log.info("Food Label API instances: {}", upstreams.stream().map(upstream -> upstream.base).toList());
+    }
+    
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.attribute(INSTANCE_ATTRIBUTE).isPresent()) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            Selection selection = choose();
+            Upstream upstream = selection.upstream();
+            ClientRequest routed = ClientRequest.from(request)
+                .url(upstream.resolve(request.url()))
+                .build();
+            Call call = upstream.start(selection.permitted());
+            return next.exchange(routed)
+                .doOnNext(response -> {
+                    if (response.statusCode().is5xxServerError()) {
+                        call.failure(new IllegalStateException("HTTP " + response.statusCode().value()));
+                    } else {
+                        call.success();
+                    }
+                })
+                .doOnError(call::failure)
+                .doOnCancel(call::cancel);
+        });
+    }
+    
+    /**
+     * 능동 검사 대상 인스턴스 기본 주소
+     */
+    public List<String> instances() {
+        return upstreams.stream().map(upstream -> upstream.base.toString()).toList();
+    }
+    
+    /**
+     * 능동 검사 결과 반영
+     */
+    public void reportProbe(String instance, boolean healthy) {
+        for (Upstream upstream : upstreams) {
+            if (upstream.base.toString().equals(instance) && upstream.probeHealthy != healthy) {
+                upstream.probeHealthy = healthy;
+                log.warn("Food Label API instance {} probe: {}", upstream.id, healthy ? "healthy" : "unhealthy");
+            }
+        }
+    }
+    
+    /**
+     * 인스턴스별 상태 (인스턴스 → 상태 요약)
+     */
+    public Map<String, String> states() {
+        Map<String, String> states = new TreeMap<>();
+        for (Upstream upstream : upstreams) {
+            states.put(upstream.id, String.format("%s, probe=%s, outstanding=%d, ewma=%dms",
+                upstream.circuitBreaker.getState(), upstream.probeHealthy ? "UP" : "DOWN",
+                upstream.outstanding.get(), TimeUnit.NANOSECONDS.toMillis((long) upstream.ewmaNanos())));
+        }
+        return states;
+    }
+    
+    /**
+     * 인스턴스 Circuit Breaker 초기화 (제외된 인스턴스 즉시 복귀)
+     */
+    public void reset() {
+        upstreams.forEach(upstream -> upstream.circuitBreaker.reset());
+    }
+    
+    /**
+     * power-of-two-choices: 사용 가능한 인스턴스 중 무작위 두 개를 골라 비용이 낮은 쪽
+     * 고른 인스턴스가 HALF_OPEN 시험 허용량을 다 썼으면 다른 쪽을 쓴다.
+     */
+    private Selection choose() {
+        List<Upstream> available = new ArrayList<>(upstreams.size());
+        for (Upstream upstream : upstreams) {
+            if (upstream.available()) {
+                available.add(upstream);
+            }
+        }
+        if (available.isEmpty()) {
+            return new Selection(pick(upstreams), false);
+        }
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(available.size());
+        int j = available.size() > 1 ? random.nextInt(available.size() - 1) : i;
+        if (available.size() > 1 && j >= i) {
+            j++;
+        }
+        Upstream first = available.get(i);
+        Upstream second = available.get(j);
+        Upstream preferred = first.cost() <= second.cost() ? first : second;
+        Upstream other = preferred == first ? second : first;
+        
+        if (preferred.circuitBreaker.tryAcquirePermission()) {
+            return new Selection(preferred, true);
+        }
+        if (other != preferred && other.circuitBreaker.tryAcquirePermission()) {
+            return new Selection(other, true);
+        }
+        return new Selection(preferred, false);
+    }
+    
+    private static Upstream pick(List<Upstream> candidates) {
+        return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+    
+    private record Selection(Upstream upstream, boolean permitted) {
+    }
+    
+    /**
+     * 인스턴스 1개의 부하/지연/상태
+     */
+    private final class Upstream {
+        
+        private final String id;
+        private final URI base;
+        private final CircuitBreaker circuitBreaker;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final Counter succeeded;
+        private final Counter failed;
+        private volatile boolean ejected;
+        private volatile boolean probeHealthy = true;
+        
+        private double ewma;
+        private long lastUpdateNanos = System.nanoTime();
+        
+        private Upstream(String id, URI base, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+            this.id = id;
+            this.base = base;
+            this.circuitBreaker = circuitBreaker;
+            this.succeeded = requestCounter(meterRegistry, "success");
+            this.failed = requestCounter(meterRegistry, "failure");
+            
+            circuitBreaker.getEventPublisher().onStateTransition(event -> {
+                CircuitBreaker.State state = event.getStateTransition().getToState();
+                ejected = state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+                log.warn("Food Label API instance {} {}: {}", id, ejected ? "ejected" : "admitted",
+                    event.getStateTransition());
+            });
+            
+            Gauge.builder("label.upstream.instance.outstanding", outstanding, AtomicInteger::get)
+                .description("인스턴스별 진행 중 요청 수")
+                .tag("instance", id)
+                .register(meterRegistry);
+            Gauge.builder("label.upstream.instance.latency", this, upstream -> upstream.ewmaNanos() / 1_000_000.0)
+                .description("인스턴스별 peak EWMA 지연")
+                .baseUnit("milliseconds")
+                .tag("instance", id)
+                .register(meterRegistry);
+            Gauge.builder("label.upstream.instance.available", this, upstream -> upstream.available() ? 1 : 0)
+                .description("인스턴스 사용 가능 여부 (Circuit Breaker 와 능동 검사 결과)")
+                .tag("instance", id)
+                .register(meterRegistry);
+        }
+        
+        private Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+            return Counter.builder("label.upstream.instance.requests")
+                .description("인스턴스별 요청 수 (failure: 연결 실패 또는 5xx)")
+                .tag("instance", id)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+        }
+        
+        private boolean available() {
+            return !ejected && probeHealthy;
+        }
+        
+        /**
+         * 선택 비용 - 아직 지연 표본이 없는 인스턴스는 0 (먼저 시험)
+         */
+        private double cost() {
+            return ewmaNanos() * (outstanding.get() + 1);
+        }
+        
+        /**
+         * 마지막 표본 이후 시간만큼 감쇠한 EWMA
+         */
+        private synchronized double ewmaNanos() {
+            long elapsed = System.nanoTime() - lastUpdateNanos;
+            return ewma * Math.exp(-(double) elapsed / decayNanos);
+        }
+        
+        /**
+         * peak EWMA: 평균보다 느린 표본은 즉시 반영, 빠른 표본은 경과 시간에 따라 천천히 반영
+         */
+        private synchronized void observe(long latencyNanos) {
+            long now = System.nanoTime();
+            if (latencyNanos > ewma) {
+                ewma = latencyNanos;
+            } else {
+                double weight = Math.exp(-(double) Math.max(0, now - lastUpdateNanos) / decayNanos);
+                ewma = ewma * weight + latencyNanos * (1 - weight);
+            }
+            lastUpdateNanos = now;
+        }
+        
+        private URI resolve(URI logical) {
+            return UriComponentsBuilder.fromUri(base)
+                .path(logical.getRawPath())
+                .query(logical.getRawQuery())
+                .build(true)
+                .toUri();
+        }
+        
+        private Call start(boolean permitted) {
+            outstanding.incrementAndGet();
+            return new Call(this, permitted, System.nanoTime());
+        }
+    }
+    
+    /**
+     * 요청 1건의 결과 기록 (응답 헤더 도착, 오류, 취소 중 처음 한 번만)
+     * 취소(헤지 패배, 제한 시간 초과)는 Circuit Breaker 에 기록하지 않고 지연 표본으로만 반영한다.
+     */
+    private record Call(Upstream upstream, boolean permitted, long startNanos, AtomicBoolean done) {
+        
+        private Call(Upstream upstream, boolean permitted, long startNanos) {
+            this(upstream, permitted, startNanos, new AtomicBoolean());
+        }
+        
+        private void success() {
+            long elapsed = finish();
+            if (elapsed >= 0) {
+                upstream.succeeded.increment();
+            }
+            if (elapsed >= 0 && permitted) {
+                upstream.circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+        
+        private void failure(Throwable error) {
+            long elapsed = finish();
+            if (elapsed >= 0) {
+                upstream.failed.increment();
+            }
+            if (elapsed >= 0 && permitted) {
+                upstream.circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, error);
+            }
+        }
+        
+        private void cancel() {
+            if (finish() >= 0 && permitted) {
+                upstream.circuitBreaker.releasePermission();
+            }
+        }
+        
+        private long finish() {
+            if (!done.compareAndSet(false, true)) {
+                return -1;
+            }
+            long elapsed = System.nanoTime() - startNanos;
+            upstream.outstanding.decrementAndGet();
+            upstream.observe(elapsed);
+            return elapsed;
+        }
+    }
+}
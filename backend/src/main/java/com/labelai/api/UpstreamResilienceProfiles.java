@@ -0,0 +1,132 @@
+package com.labelai.api;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Food Label API 엔드포인트별 Resilience 프로필
+ * 엔드포인트마다 Circuit Breaker / Retry / Bulkhead / TimeLimiter 를 따로 두어
+ * 느린 /translate 호출이 /ocr 의 Bulkhead 를 채우거나 Circuit Breaker 를 열지 않게 한다.
+ * 설정은 application.yml 의 resilience4j.*.instances.food-label-{endpoint}
+ * (없으면 resilience4j.*.configs.default)
+ */
+@Component
+@Slf4j
+public class UpstreamResilienceProfiles {
+    
+    private static final String PREFIX = "food-label-";
+    
+    private final Map<String, Profile> profiles = new ConcurrentHashMap<>();
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    
+    public UpstreamResilienceProfiles(CircuitBreakerRegistry circuitBreakerRegistry,
+                                      RetryRegistry retryRegistry,
+                                      BulkheadRegistry bulkheadRegistry,
+                                      TimeLimiterRegistry timeLimiterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.retryRegistry = retryRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.timeLimiterRegistry = timeLimiterRegistry;
+    }
+    
+    /**
+     * 엔드포인트 프로필 (Circuit Breaker, Retry, Bulkhead, 시도별 제한 시간)
+     */
+    public record Profile(String endpoint, CircuitBreaker circuitBreaker, Retry retry,
+                          Bulkhead bulkhead, TimeLimiter timeLimiter) {
+        
+        /**
+         * 시도 1회에 제한 시간 → Bulkhead 순서로 적용 (재시도마다 새로 적용)
+         * Bulkhead 는 대기 없이 거절하므로 앞에 대기열(적응형 제한기)을 두고, 제한기 허용량은 Bulkhead 크기를 넘지 않는다.
+         */
+        public <T> Mono<T> attempt(Mono<T> call) {
+            return call
+                .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+                .transformDeferred(BulkheadOperator.of(bulkhead));
+        }
+        
+        /**
+         * Circuit Breaker → Retry 순서로 감싸기 (재시도 대기 중에는 실행 자리/허용량을 잡고 있지 않음)
+         */
+        public <T> Mono<T> protect(Mono<T> attempts) {
+            return attempts
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry));
+        }
+        
+        /**
+         * Bulkhead 동시 호출 상한
+         */
+        public int maxConcurrentCalls() {
+            return bulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        }
+    }
+    
+    /**
+     * 엔드포인트별 프로필 (최초 사용 시 생성)
+     */
+    public Profile get(String endpoint) {
+        return profiles.computeIfAbsent(endpoint, this::create);
+    }
+    
+    /**
+     * 생성된 프로필의 Circuit Breaker 상태 (엔드포인트 → 상태)
+     */
+    public Map<String, String> circuitBreakerStates() {
+        Map<String, String> states = new TreeMap<>();
+        profiles.forEach((endpoint, profile) -> states.put(endpoint, profile.circuitBreaker().getState().toString()));
+        return states;
+    }
+    
+    /**
+     * 모든 엔드포인트 Circuit Breaker 초기화
+     */
+    public void resetCircuitBreakers() {
+        profiles.values().forEach(profile -> profile.circuitBreaker().reset());
+    }
+    
+    private Profile create(String endpoint) {
+        String name = PREFIX + endpoint;
+        Profile profile = new Profile(endpoint,
+            circuitBreakerRegistry.circuitBreaker(name),
+            retryRegistry.retry(name),
+            bulkheadRegistry.bulkhead(name),
+            timeLimiterRegistry.timeLimiter(name));
+        
+        profile.circuitBreaker().getEventPublisher()
+            .onStateTransition(event -> 
+                log.warn("Food Label API Circuit Breaker [{}]: {}", endpoint, event))
+            .onError(event -> 
+                log.error("Food Label API error [{}]: {}", endpoint, event));
+        profile.retry().getEventPublisher()
+            .onRetry(event -> 
+                log.info("Food Label API retry [{}] attempt #{}", endpoint, event.getNumberOfRetryAttempts()));
+        
+        log.info("Resilience profile {}: bulkhead={}, timeout={}, maxAttempts={}, slowCall>{}", endpoint,
+            profile.bulkhead().getBulkheadConfig().getMaxConcurrentCalls(),
+            profile.timeLimiter().getTimeLimiterConfig().getTimeoutDuration(),
+            profile.retry().getRetryConfig().getMaxAttempts(),
+            profile.circuitBreaker().getCircuitBreakerConfig().getSlowCallDurationThreshold());
+        return profile;
+    }
+}
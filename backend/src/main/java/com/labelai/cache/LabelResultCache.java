@@ -0,0 +1,141 @@
+package com.labelai.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.labelai.dto.OcrResponse;
+import com.labelai.dto.StructureRequest;
+import com.labelai.dto.StructureResponse;
+import com.labelai.util.ContentHashed;
+import com.labelai.util.HashUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * OCR / Structure 결과 캐시
+ * - OCR: 이미지 바이트의 SHA-256 기준
+ * - Structure: 정규화된 texts + language 해시 기준
+ * 크기 제한(LRU 근사) + TTL, 적중/미스 메트릭은 cache.gets{cache=label.ocr|label.structure}로 노출
+ */
+@Component
+@Slf4j
+public class LabelResultCache {
+    
+    private final Cache<String, OcrResponse> ocrCache;
+    private final Cache<String, StructureResponse> structureCache;
+    private final Scheduler blockingScheduler;
+    
+    public LabelResultCache(
+            @Value("${label.cache.ocr.max-size:1000}") long ocrMaxSize,
+            @Value("${label.cache.ocr.ttl:PT24H}") Duration ocrTtl,
+            @Value("${label.cache.structure.max-size:1000}") long structureMaxSize,
+            @Value("${label.cache.structure.ttl:PT24H}") Duration structureTtl,
+            MeterRegistry meterRegistry,
+            Scheduler labelBlockingScheduler) {
+        this.ocrCache = Caffeine.newBuilder()
+            .maximumSize(ocrMaxSize)
+            .expireAfterWrite(ocrTtl)
+            .recordStats()
+            .build();
+        this.structureCache = Caffeine.newBuilder()
+            .maximumSize(structureMaxSize)
+            .expireAfterWrite(structureTtl)
+            .recordStats()
+            .build();
+        this.blockingScheduler = labelBlockingScheduler;
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, ocrCache, "label.ocr");
+        CaffeineCacheMetrics.monitor(meterRegistry, structureCache, "label.structure");
+    }
+    
+    // ==================== OCR ====================
+    
+    /**
+     * 캐시된 OCR 결과 조회, 없으면 loader 실행 후 저장
+     */
+    public Mono<OcrResponse> ocr(MultipartFile image, Supplier<Mono<OcrResponse>> loader) {
+        return imageKey(image)
+            .flatMap(key -> cached(ocrCache, key, loader));
+    }
+    
+    /**
+     * 파이프라인 결과로 받은 OCR 결과 저장
+     */
+    public Mono<Void> putOcr(MultipartFile image, OcrResponse response) {
+        if (response == null) {
+            return Mono.empty();
+        }
+        return imageKey(image)
+            .doOnNext(key -> ocrCache.put(key, response))
+            .then();
+    }
+    
+    // ==================== STRUCTURE ====================
+    
+    /**
+     * 캐시된 구조화 결과 조회, 없으면 loader 실행 후 저장
+     */
+    public Mono<StructureResponse> structure(StructureRequest request, Supplier<Mono<StructureResponse>> loader) {
+        return cached(structureCache, structureKey(request.getTexts(), request.getLanguage()), loader);
+    }
+    
+    /**
+     * 파이프라인 결과로 받은 구조화 결과 저장
+     */
+    public void putStructure(OcrResponse ocr, StructureResponse response) {
+        if (ocr == null || response == null) {
+            return;
+        }
+        structureCache.put(structureKey(ocr.getTexts(), ocr.getLanguage()), response);
+    }
+    
+    // ==================== KEY ====================
+    
+    /**
+     * 이미지 SHA-256 (스풀/저장소에서 이미 아는 값 재사용, 없으면 스트림으로 읽으므로 블로킹 스케줄러에서 실행)
+     */
+    public Mono<String> imageKey(MultipartFile image) {
+        if (image instanceof ContentHashed hashed) {
+            return Mono.just(hashed.getSha256());
+        }
+        return Mono.fromCallable(() -> {
+                try (InputStream in = image.getInputStream()) {
+                    return HashUtil.sha256Hex(in);
+                }
+            })
+            .subscribeOn(blockingScheduler);
+    }
+    
+    /**
+     * 공백 정규화된 texts + language 해시
+     */
+    private String structureKey(List<String> texts, String language) {
+        String normalized = texts == null ? "" : texts.stream()
+            .map(text -> text == null ? "" : text.strip().replaceAll("\\s+", " "))
+            .collect(Collectors.joining("\n"));
+        String lang = language == null ? "" : language.strip().toLowerCase();
+        return HashUtil.sha256Hex(lang + "\u0000" + normalized);
+    }
+    
+    private <T> Mono<T> cached(Cache<String, T> cache, String key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            T hit = cache.getIfPresent(key);
+            if (hit != null) {
+                log.debug("Label cache hit: {}", key);
+                return Mono.just(hit);
+            }
+            return loader.get().doOnNext(value -> cache.put(key, value));
+        });
+    }
+}
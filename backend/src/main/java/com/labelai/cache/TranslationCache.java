@@ -0,0 +1,156 @@
+package com.labelai.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.labelai.dto.HtmlGenerateRequest;
+import com.labelai.dto.TranslateRequest;
+import com.labelai.dto.TranslateResponse;
+import com.labelai.util.CompressionUtil;
+import com.labelai.util.HashUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 국가별 번역 / HTML 렌더링 캐시
+ * - 번역: (구조화 데이터 canonical 해시, 대상 국가) 기준
+ * - HTML: (국가, TranslatedData canonical 해시) 기준
+ * 값은 GZIP 압축 바이트로 저장하고, 압축 크기 합계(max-bytes)로 메모리 상한을 둔다.
+ * 적중률/퇴출 메트릭은 cache.*{cache=label.translate|label.html}로 노출
+ */
+@Component
+@Slf4j
+public class TranslationCache {
+    
+    /**
+     * 키 정렬된 JSON 직렬화 (같은 데이터 → 같은 해시)
+     */
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+        .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+        .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+        .build();
+    
+    private final Cache<String, byte[]> translateCache;
+    private final Cache<String, byte[]> htmlCache;
+    private final ObjectMapper objectMapper;
+    
+    public TranslationCache(
+            @Value("${label.cache.translate.max-bytes:33554432}") long translateMaxBytes,
+            @Value("${label.cache.translate.ttl:PT24H}") Duration translateTtl,
+            @Value("${label.cache.html.max-bytes:67108864}") long htmlMaxBytes,
+            @Value("${label.cache.html.ttl:PT24H}") Duration htmlTtl,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.translateCache = Caffeine.newBuilder()
+            .maximumWeight(translateMaxBytes)
+            .weigher((String key, byte[] value) -> value.length)
+            .expireAfterWrite(translateTtl)
+            .recordStats()
+            .build();
+        this.htmlCache = Caffeine.newBuilder()
+            .maximumWeight(htmlMaxBytes)
+            .weigher((String key, byte[] value) -> value.length)
+            .expireAfterWrite(htmlTtl)
+            .recordStats()
+            .build();
+        this.objectMapper = objectMapper;
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, translateCache, "label.translate");
+        CaffeineCacheMetrics.monitor(meterRegistry, htmlCache, "label.html");
+    }
+    
+    // ==================== TRANSLATE ====================
+    
+    /**
+     * 캐시된 번역 결과 조회, 없으면 loader 실행 후 압축 저장
+     */
+    public Mono<TranslateResponse> translate(TranslateRequest request, Supplier<Mono<TranslateResponse>> loader) {
+        return Mono.defer(() -> {
+            String key = translateKey(request);
+            byte[] hit = translateCache.getIfPresent(key);
+            if (hit != null) {
+                log.debug("Translate cache hit: {}", request.getTargetCountry());
+                return Mono.just(readTranslate(hit));
+            }
+            return loader.get()
+                .doOnNext(response -> translateCache.put(key, CompressionUtil.gzip(writeJson(response))));
+        });
+    }
+    
+    // ==================== HTML ====================
+    
+    /**
+     * 캐시된 HTML 조회, 없으면 loader 실행 후 압축 저장
+     */
+    public Mono<String> html(HtmlGenerateRequest request, Supplier<Mono<String>> loader) {
+        return Mono.defer(() -> {
+            String key = htmlKey(request);
+            byte[] hit = htmlCache.getIfPresent(key);
+            if (hit != null) {
+                log.debug("HTML cache hit: {}", request.getCountry());
+                return Mono.just(new String(CompressionUtil.gunzip(hit), StandardCharsets.UTF_8));
+            }
+            return loader.get()
+                .doOnNext(html -> htmlCache.put(key, CompressionUtil.gzip(html.getBytes(StandardCharsets.UTF_8))));
+        });
+    }
+    
+    // ==================== KEY ====================
+    
+    /**
+     * 구조화 데이터의 canonical JSON 해시
+     */
+    public static String canonicalHash(Object data) {
+        try {
+            return HashUtil.sha256Hex(CANONICAL_MAPPER.writeValueAsBytes(data));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("데이터 직렬화 실패", e);
+        }
+    }
+    
+    private String translateKey(TranslateRequest request) {
+        return canonicalHash(request.getData()) + ":" 
+            + normalize(request.getLanguage()) + ":" 
+            + normalize(request.getTargetCountry());
+    }
+    
+    private String htmlKey(HtmlGenerateRequest request) {
+        return normalize(request.getCountry()) + ":" + canonicalHash(request.getData());
+    }
+    
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toUpperCase();
+    }
+    
+    // ==================== SERIALIZATION ====================
+    
+    private byte[] writeJson(TranslateResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("번역 결과 직렬화 실패", e);
+        }
+    }
+    
+    private TranslateResponse readTranslate(byte[] compressed) {
+        try {
+            return objectMapper.readValue(CompressionUtil.gunzip(compressed), TranslateResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("번역 캐시 역직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.labelai.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.labelai.dto.response.ValidationResponse;
+import com.labelai.exception.CustomException;
+import com.labelai.util.CompressionUtil;
+import com.labelai.util.HtmlCanonicalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * RAG 검증 결과 캐시
+ * - 키: 정규화된 HTML 해시(공백, 속성 순서 무시) + 규제 코퍼스 버전
+ * - 메모리: GZIP 압축 크기 합계(max-bytes)로 제한, 영속: label_validation_cache (max-entries, ttl)
+ * - 코퍼스를 다시 색인하면 버전만 올린다 (행 1개 갱신). 키에 버전이 들어가므로 이전 결과는 바로 조회되지 않고,
+ *   다른 노드는 version-refresh 주기 안에 새 버전을 읽는다.
+ * 실패한 검증은 저장하지 않는다. 적중 메트릭은 label.validation.cache{result=memory|persistent|miss}
+ */
+@Component
+@Slf4j
+public class ValidationCache {
+    
+    private final Cache<String, byte[]> memory;
+    private final ValidationCacheStore store;
+    private final ObjectMapper objectMapper;
+    private final Scheduler blockingScheduler;
+    private final AtomicReference<String> corpusVersion;
+    private final Counter memoryHits;
+    private final Counter persistentHits;
+    private final Counter misses;
+    
+    @Value("${label.cache.validation.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${label.cache.validation.corpus:fda}")
+    private String corpus;
+    
+    @Value("${label.cache.validation.persistent.enabled:true}")
+    private boolean persistentEnabled;
+    
+    @Value("${label.cache.validation.persistent.ttl:P30D}")
+    private Duration persistentTtl;
+    
+    @Value("${label.cache.validation.persistent.max-entries:100000}")
+    private long persistentMaxEntries;
+    
+    public ValidationCache(
+            @Value("${label.cache.validation.max-bytes:33554432}") long maxBytes,
+            @Value("${label.cache.validation.ttl:PT24H}") Duration ttl,
+            @Value("${label.cache.validation.corpus-version:1}") String defaultCorpusVersion,
+            ValidationCacheStore validationCacheStore,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            Scheduler labelBlockingScheduler) {
+        this.memory = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String key, byte[] value) -> value.length)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.store = validationCacheStore;
+        this.objectMapper = objectMapper;
+        this.blockingScheduler = labelBlockingScheduler;
+        this.corpusVersion = new AtomicReference<>(defaultCorpusVersion);
+        this.memoryHits = resultCounter(meterRegistry, "memory");
+        this.persistentHits = resultCounter(meterRegistry, "persistent");
+        this.misses = resultCounter(meterRegistry, "miss");
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "label.validation");
+    }
+    
+    /**
+     * 캐시된 검증 결과 조회, 없으면 loader 실행 후 저장
+     * 적중 시 sourceHtml 은 이번 요청의 HTML 로 바꿔 돌려준다.
+     */
+    public Mono<ValidationResponse> validation(String html, Supplier<Mono<ValidationResponse>> loader) {
+        if (!enabled) {
+            return Mono.defer(loader);
+        }
+        return Mono.defer(() -> {
+            String version = corpusVersion.get();
+            String htmlHash = HtmlCanonicalizer.hash(html);
+            String key = htmlHash + ":" + version;
+            
+            byte[] hit = memory.getIfPresent(key);
+            if (hit != null) {
+                memoryHits.increment();
+                return Mono.just(read(hit, html));
+            }
+            return loadPersistent(key)
+                .map(payload -> {
+                    persistentHits.increment();
+                    memory.put(key, payload);
+                    return read(payload, html);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    misses.increment();
+                    return loader.get()
+                        .flatMap(response -> save(key, htmlHash, version, response).thenReturn(response));
+                }));
+        });
+    }
+    
+    /**
+     * 현재 규제 코퍼스 버전
+     */
+    public String getCorpusVersion() {
+        return corpusVersion.get();
+    }
+    
+    /**
+     * 코퍼스 버전 변경 (재색인 후) - 이 노드는 즉시, 다른 노드는 version-refresh 주기 안에 반영
+     */
+    public String updateCorpusVersion(String version) {
+        if (version == null || version.isBlank()) {
+            throw new CustomException("코퍼스 버전이 비어 있습니다.", "INVALID_CORPUS_VERSION", 400);
+        }
+        store.updateCorpusVersion(corpus, version.strip());
+        apply(version.strip());
+        return corpusVersion.get();
+    }
+    
+    /**
+     * 메모리 캐시 항목 수 (추정)
+     */
+    public long memoryEntries() {
+        return memory.estimatedSize();
+    }
+    
+    /**
+     * 공유 코퍼스 버전 다시 읽기
+     */
+    @Scheduled(fixedDelayString = "${label.cache.validation.version-refresh:PT30S}")
+    public void refreshCorpusVersion() {
+        if (!enabled || !persistentEnabled) {
+            return;
+        }
+        try {
+            apply(store.corpusVersion(corpus, corpusVersion.get()));
+        } catch (Exception e) {
+            log.warn("Failed to refresh {} corpus version: {}", corpus, e.toString());
+        }
+    }
+    
+    /**
+     * 이전 버전/오래된 영속 항목 정리
+     */
+    @Scheduled(fixedDelayString = "${label.cache.validation.persistent.purge-interval:PT1H}",
+               initialDelayString = "${label.cache.validation.persistent.purge-initial-delay:PT5M}")
+    public void purge() {
+        if (!enabled || !persistentEnabled) {
+            return;
+        }
+        try {
+            int purged = store.purge(corpusVersion.get(), Instant.now().minus(persistentTtl), persistentMaxEntries);
+            if (purged > 0) {
+                log.info("Validation cache purged {} persistent entries", purged);
+            }
+        } catch (Exception e) {
+            log.error("Validation cache purge failed", e);
+        }
+    }
+    
+    private void apply(String version) {
+        String previous = corpusVersion.getAndSet(version);
+        if (!version.equals(previous)) {
+            // 이전 버전 키는 더 이상 조회되지 않으므로 메모리만 비운다
+            memory.invalidateAll();
+            log.info("Regulation corpus {} version {} -> {}", corpus, previous, version);
+        }
+    }
+    
+    private Mono<byte[]> loadPersistent(String key) {
+        if (!persistentEnabled) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> store.load(key).orElse(null))
+            .subscribeOn(blockingScheduler)
+            .onErrorResume(e -> {
+                log.warn("Validation cache lookup failed: {}", e.toString());
+                return Mono.empty();
+            });
+    }
+    
+    private Mono<Void> save(String key, String htmlHash, String version, ValidationResponse response) {
+        return Mono.fromRunnable(() -> {
+                byte[] payload = CompressionUtil.gzip(writeJson(response));
+                memory.put(key, payload);
+                if (persistentEnabled) {
+                    store.save(key, htmlHash, version, payload);
+                }
+            })
+            .subscribeOn(blockingScheduler)
+            .onErrorResume(e -> {
+                log.warn("Validation cache store failed: {}", e.toString());
+                return Mono.empty();
+            })
+            .then();
+    }
+    
+    private Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("label.validation.cache")
+            .description("검증 결과 캐시 조회 결과 (memory/persistent: 적중, miss: RAG 호출)")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    // ==================== SERIALIZATION ====================
+    
+    private byte[] writeJson(ValidationResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("검증 결과 직렬화 실패", e);
+        }
+    }
+    
+    private ValidationResponse read(byte[] compressed, String html) {
+        try {
+            ValidationResponse response = objectMapper.readValue(CompressionUtil.gunzip(compressed), ValidationResponse.class);
+            response.setSourceHtml(html);
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException("검증 캐시 역직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.labelai.cache;
+
+import com.labelai.entity.CorpusVersion;
+import com.labelai.repository.CorpusVersionRepository;
+import com.labelai.repository.ValidationCacheRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 검증 결과 캐시의 영속 계층 (label_validation_cache, label_corpus_versions)
+ * 노드 재시작 후에도 결과를 재사용하고, 코퍼스 버전은 모든 노드가 같은 행을 읽는다.
+ */
+@Component
+public class ValidationCacheStore {
+    
+    /**
+     * 조회 시 마지막 사용 시각 갱신 간격 (조회마다 쓰지 않도록)
+     */
+    private static final Duration TOUCH_INTERVAL = Duration.ofHours(1);
+    
+    private final ValidationCacheRepository validationCacheRepository;
+    private final CorpusVersionRepository corpusVersionRepository;
+    
+    public ValidationCacheStore(ValidationCacheRepository validationCacheRepository,
+                                CorpusVersionRepository corpusVersionRepository) {
+        this.validationCacheRepository = validationCacheRepository;
+        this.corpusVersionRepository = corpusVersionRepository;
+    }
+    
+    /**
+     * 압축된 검증 결과 조회
+     */
+    @Transactional
+    public Optional<byte[]> load(String key) {
+        Instant now = Instant.now();
+        return validationCacheRepository.findById(key)
+            .map(entry -> {
+                if (entry.getLastAccessedAt() == null || entry.getLastAccessedAt().isBefore(now.minus(TOUCH_INTERVAL))) {
+                    validationCacheRepository.touch(key, now);
+                }
+                return entry.getPayload();
+            });
+    }
+    
+    @Transactional
+    public void save(String key, String htmlHash, String corpusVersion, byte[] payload) {
+        validationCacheRepository.upsert(key, htmlHash, corpusVersion, payload, Instant.now());
+    }
+    
+    /**
+     * 현재 코퍼스 버전 (행이 없으면 defaultVersion 으로 등록)
+     */
+    @Transactional
+    public String corpusVersion(String corpus, String defaultVersion) {
+        corpusVersionRepository.insertIfAbsent(corpus, defaultVersion, Instant.now());
+        return corpusVersionRepository.findById(corpus)
+            .map(CorpusVersion::getVersion)
+            .orElse(defaultVersion);
+    }
+    
+    @Transactional
+    public void updateCorpusVersion(String corpus, String version) {
+        corpusVersionRepository.upsert(corpus, version, Instant.now());
+    }
+    
+    /**
+     * 이전 버전/오래된 행 삭제 후 최근 사용 순 maxEntries 개로 제한
+     */
+    @Transactional
+    public int purge(String corpusVersion, Instant before, long maxEntries) {
+        return validationCacheRepository.deleteStale(corpusVersion, before)
+            + validationCacheRepository.trimTo(maxEntries);
+    }
+}
@@ -0,0 +1,39 @@
+package com.labelai.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 실행 모드 설정
+ * - spring.threads.virtual.enabled=true 이면 Tomcat 요청 처리와 블로킹 작업(JPA, 업로드 파일 읽기)을
+ *   Java 21 가상 스레드에서 실행
+ * - false 이면 기존 Reactor boundedElastic 풀 사용
+ */
+@Configuration
+@Slf4j
+public class ExecutionConfig {
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+    
+    /**
+     * 블로킹 작업 전용 스케줄러
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler labelBlockingScheduler() {
+        if (virtualThreadsEnabled) {
+            log.info("Label blocking work runs on virtual threads");
+            return Schedulers.fromExecutorService(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("label-vt-", 0).factory()),
+                "label-vt");
+        }
+        log.info("Label blocking work runs on boundedElastic");
+        return Schedulers.boundedElastic();
+    }
+}
@@ -0,0 +1,26 @@
+package com.labelai.config;
+
+import com.labelai.api.UpstreamHttpClients;
+import com.labelai.api.UpstreamLoadBalancer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Food Label API WebClient 설정
+ * - 연결 풀/이벤트 루프/응답 제한 시간/코덱 버퍼 한도/h2c: external.food-label-api.* (UpstreamHttpClients)
+ *   파이프라인 응답(raw_data 박스 + HTML)은 Spring 기본 버퍼 한도(256KB)를 넘을 수 있어 max-in-memory-size 로 올린다.
+ * - 기본 주소는 논리 주소이고, 요청마다 UpstreamLoadBalancer 가 external.food-label-api.instances 중 하나로 바꾼다.
+ *   연결 풀은 인스턴스(원격 주소)마다 따로 잡히고 풀 지표도 remote 태그로 나뉜다.
+ */
+@Configuration
+public class FoodLabelClientConfig {
+    
+    @Bean
+    public WebClient foodLabelWebClient(UpstreamHttpClients upstreamHttpClients, UpstreamLoadBalancer upstreamLoadBalancer) {
+        return upstreamHttpClients.webClientBuilder("food-label-api")
+            .baseUrl(UpstreamLoadBalancer.BASE_URL)
+            .filter(upstreamLoadBalancer)
+            .build();
+    }
+}
@@ -1,15 +1,18 @@
 package com.labelai.controller;
 
+import com.labelai.cache.ValidationCache;
 import com.labelai.dto.request.CreateUserRequest;
 import com.labelai.dto.response.HistoryResponse;
 import com.labelai.dto.response.UserResponse;
 import com.labelai.service.AdminService;
 import com.labelai.service.HistoryService;
+import com.labelai.service.ValidationPrecheck;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -19,6 +22,8 @@ public class AdminController {
     
     private final AdminService adminService;
     private final HistoryService historyService;
+    private final ValidationCache validationCache;
+    private final ValidationPrecheck validationPrecheck;
     
     /**
      * 전체 사용자 목록
@@ -98,4 +103,36 @@ public class AdminController {
         historyService.deleteHistories(ids);
         return ResponseEntity.ok().build();
     }
+    
+    /**
+     * 검증 결과 캐시 상태
+     * GET /api/admin/validation-cache
+     */
+    @GetMapping("/validation-cache")
+    public ResponseEntity<Map<String, Object>> getValidationCache() {
+        return ResponseEntity.ok(Map.of(
+            "corpusVersion", validationCache.getCorpusVersion(),
+            "memoryEntries", validationCache.memoryEntries()));
+    }
+    
+    /**
+     * 규제 코퍼스 버전 변경 (RAG 재색인 후) - 이전 버전의 검증 결과 캐시 전체 무효화
+     * PUT /api/admin/validation-cache/corpus-version
+     * 
+     * Request Body: { "version": "string" }
+     */
+    @PutMapping("/validation-cache/corpus-version")
+    public ResponseEntity<Map<String, Object>> updateCorpusVersion(@RequestBody Map<String, String> request) {
+        String version = validationCache.updateCorpusVersion(request.get("version"));
+        return ResponseEntity.ok(Map.of("corpusVersion", version));
+    }
+    
+    /**
+     * 검증 사전 검사 상태 (규칙 집합 버전, 생략한 RAG 호출 수)
+     * GET /api/admin/validation-precheck
+     */
+    @GetMapping("/validation-precheck")
+    public ResponseEntity<Map<String, Object>> getValidationPrecheck() {
+        return ResponseEntity.ok(validationPrecheck.report());
+    }
 }
\ No newline at end of file
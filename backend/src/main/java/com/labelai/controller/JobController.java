@@ -0,0 +1,113 @@
+package com.labelai.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.labelai.dto.response.JobResponse;
+import com.labelai.service.LabelJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 라벨 처리 비동기 작업 API
+ * - POST /api/jobs/{validate|translate|batch} : 작업 등록 → 작업 ID 반환
+ * - GET /api/jobs/{id} : 상태 조회
+ * - GET /api/jobs/{id}/events : 상태 변화 스트리밍 (SSE)
+ * - GET /api/jobs/{id}/result : 결과 조회
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class JobController {
+    
+    private static final Duration EVENT_POLL_INTERVAL = Duration.ofSeconds(1);
+    
+    private final LabelJobService labelJobService;
+    private final Scheduler labelBlockingScheduler;
+    
+    /**
+     * FDA 규제 검증 작업 등록
+     * POST /api/jobs/validate
+     */
+    @PostMapping(value = "/validate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<JobResponse> submitValidate(
+            Authentication auth,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "country", defaultValue = "USA") String country) {
+        JobResponse job = labelJobService.submit(auth.getName(), LabelJobService.TYPE_VALIDATE, List.of(file), country);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+    
+    /**
+     * 번역 작업 등록
+     * POST /api/jobs/translate
+     */
+    @PostMapping(value = "/translate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<JobResponse> submitTranslate(
+            Authentication auth,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("country") String country) {
+        JobResponse job = labelJobService.submit(auth.getName(), LabelJobService.TYPE_TRANSLATE, List.of(file), country);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+    
+    /**
+     * 배치 번역 작업 등록 (최대 20개 파일)
+     * POST /api/jobs/batch
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<JobResponse> submitBatch(
+            Authentication auth,
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "country", defaultValue = "USA") String country) {
+        JobResponse job = labelJobService.submit(auth.getName(), LabelJobService.TYPE_BATCH, files, country);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+    
+    /**
+     * 작업 상태 조회
+     * GET /api/jobs/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<JobResponse> getJob(Authentication auth, @PathVariable Long id) {
+        return ResponseEntity.ok(labelJobService.getJob(auth.getName(), id));
+    }
+    
+    /**
+     * 작업 상태 스트리밍 (상태/단계가 바뀔 때마다 "status" 이벤트, 종료 상태에서 스트림 종료)
+     * GET /api/jobs/{id}/events
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<JobResponse>> streamJob(Authentication auth, @PathVariable Long id) {
+        String username = auth.getName();
+        
+        return Flux.interval(Duration.ZERO, EVENT_POLL_INTERVAL)
+            .concatMap(tick -> Mono.fromCallable(() -> labelJobService.getJob(username, id))
+                .subscribeOn(labelBlockingScheduler))
+            .distinctUntilChanged(job -> Objects.hash(job.getStatus(), job.getStage(), job.getAttempts()))
+            .takeUntil(job -> LabelJobService.isTerminal(job.getStatus()))
+            .map(job -> ServerSentEvent.builder(job).event("status").build());
+    }
+    
+    /**
+     * 작업 결과 조회
+     * GET /api/jobs/{id}/result
+     */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<JsonNode> getResult(Authentication auth, @PathVariable Long id) {
+        return ResponseEntity.ok(labelJobService.getResult(auth.getName(), id));
+    }
+}
@@ -1,20 +1,34 @@
 package com.labelai.controller;
 
+import com.labelai.api.RequestDeadlines;
+import com.labelai.api.RequestPriority;
 import com.labelai.dto.*;
+import com.labelai.dto.response.BatchItemResult;
+import com.labelai.dto.response.MultiCountryResponse;
+import com.labelai.dto.response.StreamSummary;
 import com.labelai.dto.response.ValidationResponse;
+import com.labelai.exception.CustomException;
 import com.labelai.service.LabelService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * 라벨 처리 컨트롤러
@@ -24,10 +38,10 @@ import java.util.Map;
 @RequestMapping("/api/label")
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*")
 public class LabelController {
     
     private final LabelService labelService;
+    private final RequestDeadlines requestDeadlines;
     
     // ==================== MAIN ENDPOINTS ====================
     
@@ -35,65 +49,71 @@ public class LabelController {
      * FDA 규제 검증
      * POST /api/label/validate
      * 
+     * 같은 라벨을 여러 장(file 파트 반복) 올리면 가장 선명한 한 장만 처리
+     * 
      * 전체 플로우:
      * 1. 이미지 → Food Label API (OCR + Structure + Translate + HTML)
      * 2. HTML → RAG API (FDA Validation)
      * 3. 검증 결과 반환
      */
     @PostMapping(value = "/validate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<ValidationResponse> validateLabel(
+    public Mono<ResponseEntity<ValidationResponse>> validateLabel(
             Authentication auth,
-            @RequestParam("file") MultipartFile file,
+            @RequestParam("file") List<MultipartFile> frames,
             @RequestParam(value = "country", defaultValue = "USA") String country) {
-        try {
-            String username = auth.getName();
-            log.info("Validation request from user: {}, country: {}, file: {}", 
-                username, country, file.getOriginalFilename());
-            
-            ValidationResponse result = labelService.validateLabel(username, file, country);
-            
-            return ResponseEntity.ok(result);
-            
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid request", e);
-            return ResponseEntity.badRequest().build();
-        } catch (Exception e) {
-            log.error("Validation failed", e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
-        }
+        String username = auth.getName();
+        log.info("Validation request from user: {}, country: {}, frames: {}", 
+            username, country, frames.size());
+        
+        return requestDeadlines.within("validate", labelService.withBestFrame(frames,
+                file -> labelService.validateLabel(username, file, country)))
+            .contextWrite(RequestPriority.interactive(username)::writeTo)
+            .map(ResponseEntity::ok)
+            .onErrorResume(IllegalArgumentException.class, e -> {
+                log.error("Invalid request", e);
+                return Mono.just(ResponseEntity.badRequest().build());
+            })
+            // 품질 검사 거절 등 CustomException 은 GlobalExceptionHandler 로 전달
+            .onErrorResume(e -> !(e instanceof CustomException), e -> {
+                log.error("Validation failed", e);
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            });
     }
     
     /**
      * 라벨 번역 (HTML 반환)
      * POST /api/label/translate
      * 
+     * 같은 라벨을 여러 장(file 파트 반복) 올리면 가장 선명한 한 장만 처리
+     * 
      * 전체 플로우:
      * 1. 이미지 → Food Label API (Full Pipeline)
      * 2. HTML 출력 반환
      */
     @PostMapping(value = "/translate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<String> translateLabel(
+    public Mono<ResponseEntity<String>> translateLabel(
             Authentication auth,
-            @RequestParam("file") MultipartFile file,
+            @RequestParam("file") List<MultipartFile> frames,
             @RequestParam("country") String country) {
-        try {
-            String username = auth.getName();
-            log.info("Translation request from user: {}, country: {}, file: {}", 
-                username, country, file.getOriginalFilename());
-            
-            String htmlResult = labelService.translateLabel(username, file, country);
-            
-            return ResponseEntity.ok()
+        String username = auth.getName();
+        log.info("Translation request from user: {}, country: {}, frames: {}", 
+            username, country, frames.size());
+        
+        return requestDeadlines.within("translate", labelService.withBestFrame(frames,
+                file -> labelService.translateLabel(username, file, country)))
+            .contextWrite(RequestPriority.interactive(username)::writeTo)
+            .map(htmlResult -> ResponseEntity.ok()
                 .contentType(MediaType.TEXT_HTML)
-                .body(htmlResult);
-            
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid request", e);
-            return ResponseEntity.badRequest().build();
-        } catch (Exception e) {
-            log.error("Translation failed", e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
-        }
+                .body(htmlResult))
+            .onErrorResume(IllegalArgumentException.class, e -> {
+                log.error("Invalid request", e);
+                return Mono.just(ResponseEntity.badRequest().build());
+            })
+            // 품질 검사 거절 등 CustomException 은 GlobalExceptionHandler 로 전달
+            .onErrorResume(e -> !(e instanceof CustomException), e -> {
+                log.error("Translation failed", e);
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            });
     }
     
     /**
@@ -101,22 +121,22 @@ public class LabelController {
      * POST /api/label/translate/detailed
      */
     @PostMapping(value = "/translate/detailed", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<PipelineResponse> translateLabelDetailed(
+    public Mono<ResponseEntity<PipelineResponse>> translateLabelDetailed(
             Authentication auth,
-            @RequestParam("file") MultipartFile file,
+            @RequestParam("file") List<MultipartFile> frames,
             @RequestParam("country") String country) {
-        try {
-            String username = auth.getName();
-            log.info("Detailed translation request from user: {}, country: {}", username, country);
-            
-            PipelineResponse result = labelService.translateLabelDetailed(username, file, country);
-            
-            return ResponseEntity.ok(result);
-            
-        } catch (Exception e) {
-            log.error("Detailed translation failed", e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
-        }
+        String username = auth.getName();
+        log.info("Detailed translation request from user: {}, country: {}", username, country);
+        
+        return requestDeadlines.within("translate-detailed", labelService.withBestFrame(frames,
+                file -> labelService.translateLabelDetailed(username, file, country)))
+            .contextWrite(RequestPriority.interactive(username)::writeTo)
+            .map(ResponseEntity::ok)
+            // 품질 검사 거절 등 CustomException 은 GlobalExceptionHandler 로 전달
+            .onErrorResume(e -> !(e instanceof CustomException), e -> {
+                log.error("Detailed translation failed", e);
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            });
     }
     
     // ==================== BATCH PROCESSING ====================
@@ -128,30 +148,30 @@ public class LabelController {
      * 최대 20개 파일까지 처리
      */
     @PostMapping(value = "/translate/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<List<PipelineResponse>> translateBatch(
+    public Mono<ResponseEntity<List<PipelineResponse>>> translateBatch(
             Authentication auth,
             @RequestParam("files") List<MultipartFile> files,
             @RequestParam(value = "country", defaultValue = "USA") String country) {
-        try {
-            if (files.size() > 20) {
-                return ResponseEntity.badRequest().build();
-            }
-            
-            String username = auth.getName();
-            log.info("Batch translation request from user: {}, files: {}, country: {}", 
-                username, files.size(), country);
-            
-            List<PipelineResponse> results = labelService.translateBatch(username, files, country);
-            
-            return ResponseEntity.ok(results);
-            
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid batch request", e);
-            return ResponseEntity.badRequest().build();
-        } catch (Exception e) {
-            log.error("Batch translation failed", e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        if (files.size() > 20) {
+            return Mono.just(ResponseEntity.badRequest().build());
         }
+        
+        String username = auth.getName();
+        log.info("Batch translation request from user: {}, files: {}, country: {}", 
+            username, files.size(), country);
+        
+        return labelService.translateBatch(username, files, country)
+            .contextWrite(RequestPriority.bulk(username)::writeTo)
+            .collectList()
+            .map(ResponseEntity::ok)
+            .onErrorResume(IllegalArgumentException.class, e -> {
+                log.error("Invalid batch request", e);
+                return Mono.just(ResponseEntity.badRequest().build());
+            })
+            .onErrorResume(e -> {
+                log.error("Batch translation failed", e);
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            });
     }
     
     /**
@@ -159,33 +179,125 @@ public class LabelController {
      * POST /api/label/translate/multi-country
      */
     @PostMapping(value = "/translate/multi-country", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<Map<String, String>> translateToMultipleCountries(
+    public Mono<ResponseEntity<MultiCountryResponse>> translateToMultipleCountries(
             Authentication auth,
             @RequestParam("file") MultipartFile file,
             @RequestParam("countries") List<String> countries) {
-        try {
-            if (countries.size() > 10) {
-                return ResponseEntity.badRequest().build();
-            }
-            
-            String username = auth.getName();
-            log.info("Multi-country translation request from user: {}, countries: {}", 
-                username, countries);
-            
-            List<String> htmlResults = labelService.translateToMultipleCountries(username, file, countries);
-            
-            // 결과를 Map으로 변환
-            Map<String, String> resultMap = new HashMap<>();
-            for (int i = 0; i < countries.size() && i < htmlResults.size(); i++) {
-                resultMap.put(countries.get(i), htmlResults.get(i));
-            }
-            
-            return ResponseEntity.ok(resultMap);
-            
-        } catch (Exception e) {
-            log.error("Multi-country translation failed", e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        if (countries.size() > 10) {
+            return Mono.just(ResponseEntity.badRequest().build());
         }
+        
+        String username = auth.getName();
+        log.info("Multi-country translation request from user: {}, countries: {}", 
+            username, countries);
+        
+        return requestDeadlines.within("multi-country",
+                labelService.translateToMultipleCountries(username, file, countries))
+            .contextWrite(RequestPriority.interactive(username)::writeTo)
+            .map(ResponseEntity::ok)
+            // 품질 검사 거절 등 CustomException 은 GlobalExceptionHandler 로 전달
+            .onErrorResume(e -> !(e instanceof CustomException), e -> {
+                log.error("Multi-country translation failed", e);
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            });
+    }
+    
+    // ==================== STREAMING (SSE) ====================
+    
+    /**
+     * 배치 번역 스트리밍
+     * POST /api/label/translate/batch/stream
+     * 
+     * 파일별 결과를 완료 즉시 "result" 이벤트로 전송하고, 마지막에 "summary" 이벤트 전송
+     */
+    @PostMapping(value = "/translate/batch/stream", 
+                 consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+                 produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> translateBatchStream(
+            Authentication auth,
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "country", defaultValue = "USA") String country) {
+        if (files.size() > 20) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        String username = auth.getName();
+        log.info("Streaming batch translation request from user: {}, files: {}, country: {}", 
+            username, files.size(), country);
+        
+        return ResponseEntity.ok(withSummary(
+            labelService.translateBatchStream(username, files, country)
+                .contextWrite(RequestPriority.bulk(username)::writeTo),
+            BatchItemResult::isSuccess,
+            BatchItemResult::getFilename));
+    }
+    
+    /**
+     * 다중 국가 번역 스트리밍
+     * POST /api/label/translate/multi-country/stream
+     * 
+     * 국가별 결과를 완료 즉시 "result" 이벤트로 전송하고, 마지막에 "summary" 이벤트 전송
+     */
+    @PostMapping(value = "/translate/multi-country/stream", 
+                 consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+                 produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> translateToMultipleCountriesStream(
+            Authentication auth,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("countries") List<String> countries) {
+        if (countries.size() > 10) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        String username = auth.getName();
+        log.info("Streaming multi-country translation request from user: {}, countries: {}", 
+            username, countries);
+        
+        return ResponseEntity.ok(withSummary(
+            labelService.translateToMultipleCountriesStream(username, file, countries)
+                .contextWrite(RequestPriority.interactive(username)::writeTo),
+            MultiCountryResponse.CountryResult::isSuccess,
+            MultiCountryResponse.CountryResult::getCountry));
+    }
+    
+    /**
+     * 결과 스트림 → SSE ("result" 이벤트 + 마지막 "summary" 이벤트, 실패 시 "error" 이벤트)
+     * 결과를 모아두지 않고 개수/실패 목록만 집계한다.
+     */
+    private <T> Flux<ServerSentEvent<Object>> withSummary(
+            Flux<T> results, Predicate<T> isSuccess, Function<T, String> name) {
+        return Flux.defer(() -> {
+            long startNanos = System.nanoTime();
+            AtomicInteger total = new AtomicInteger();
+            AtomicInteger succeeded = new AtomicInteger();
+            List<String> failed = new CopyOnWriteArrayList<>();
+            
+            return results
+                .map(result -> {
+                    total.incrementAndGet();
+                    if (isSuccess.test(result)) {
+                        succeeded.incrementAndGet();
+                    } else {
+                        failed.add(name.apply(result));
+                    }
+                    return ServerSentEvent.<Object>builder(result).event("result").build();
+                })
+                .concatWith(Mono.fromSupplier(() -> ServerSentEvent.<Object>builder(
+                        StreamSummary.builder()
+                            .total(total.get())
+                            .succeeded(succeeded.get())
+                            .failed(List.copyOf(failed))
+                            .totalTimeMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                            .build())
+                    .event("summary")
+                    .build()))
+                .onErrorResume(e -> {
+                    log.error("Streaming request failed", e);
+                    return Mono.just(ServerSentEvent.<Object>builder(Map.of("message", String.valueOf(e.getMessage())))
+                        .event("error")
+                        .build());
+                });
+        });
     }
     
     // ==================== INDIVIDUAL STEPS ====================
@@ -195,19 +307,19 @@ public class LabelController {
      * POST /api/label/ocr
      */
     @PostMapping(value = "/ocr", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<OcrResponse> extractText(
+    public Mono<ResponseEntity<OcrResponse>> extractText(
+            Authentication auth,
             @RequestParam("file") MultipartFile file) {
-        try {
-            log.info("OCR request for file: {}", file.getOriginalFilename());
-            
-            OcrResponse result = labelService.extractTextOnly(file);
-            
-            return ResponseEntity.ok(result);
-            
-        } catch (Exception e) {
-            log.error("OCR failed", e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
-        }
+        log.info("OCR request for file: {}", file.getOriginalFilename());
+        
+        return requestDeadlines.within("ocr", labelService.extractTextOnly(file))
+            .contextWrite(RequestPriority.interactive(auth.getName())::writeTo)
+            .map(ResponseEntity::ok)
+            // 품질 검사 거절 등 CustomException 은 GlobalExceptionHandler 로 전달
+            .onErrorResume(e -> !(e instanceof CustomException), e -> {
+                log.error("OCR failed", e);
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            });
     }
     
     /**
@@ -215,22 +327,20 @@ public class LabelController {
      * POST /api/label/structure
      */
     @PostMapping("/structure")
-    public ResponseEntity<StructureResponse> structureData(
+    public Mono<ResponseEntity<StructureResponse>> structureData(
+            Authentication auth,
             @RequestBody StructureRequest request) {
-        try {
-            log.info("Structure request for language: {}", request.getLanguage());
-            
-            StructureResponse result = labelService.structureOnly(
-                request.getTexts(), 
-                request.getLanguage()
-            );
-            
-            return ResponseEntity.ok(result);
-            
-        } catch (Exception e) {
-            log.error("Structure processing failed", e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
-        }
+        log.info("Structure request for language: {}", request.getLanguage());
+        
+        return requestDeadlines.within("structure",
+                labelService.structureOnly(request.getTexts(), request.getLanguage()))
+            .contextWrite(RequestPriority.interactive(auth.getName())::writeTo)
+            .map(ResponseEntity::ok)
+            // 마감 초과 등 CustomException 은 GlobalExceptionHandler 로 전달
+            .onErrorResume(e -> !(e instanceof CustomException), e -> {
+                log.error("Structure processing failed", e);
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            });
     }
     
     // ==================== HEALTH & STATUS ====================
@@ -240,15 +350,19 @@ public class LabelController {
      * GET /api/label/health
      */
     @GetMapping("/health")
-    public ResponseEntity<Map<String, Object>> health() {
-        Map<String, Object> status = new HashMap<>();
-        
-        status.put("service", "label-api");
-        status.put("food_label_api_healthy", labelService.checkApiHealth());
-        status.put("circuit_breaker_state", labelService.getCircuitBreakerState());
-        status.put("status", "ok");
-        
-        return ResponseEntity.ok(status);
+    public Mono<ResponseEntity<Map<String, Object>>> health() {
+        return labelService.checkApiHealth()
+            .map(healthy -> {
+                Map<String, Object> status = new HashMap<>();
+                
+                status.put("service", "label-api");
+                status.put("food_label_api_healthy", healthy);
+                status.put("circuit_breaker_state", labelService.getCircuitBreakerStates());
+                status.put("instances", labelService.getInstanceStates());
+                status.put("status", "ok");
+                
+                return ResponseEntity.ok(status);
+            });
     }
     
     // ==================== RESPONSE DTOs ====================
@@ -266,15 +380,4 @@ public class LabelController {
         private boolean success;
         private String error;
     }
-    
-    /**
-     * 다중 국가 번역 결과 DTO
-     */
-    @lombok.Data
-    @lombok.NoArgsConstructor
-    @lombok.AllArgsConstructor
-    public static class MultiCountryResult {
-        private Map<String, String> htmlOutputs;
-        private List<String> failedCountries;
-    }
 }
\ No newline at end of file
@@ -76,6 +76,7 @@ public class UserController {
      *   "errorCount": number?,
      *   "warningCount": number?,
      *   "country": "string?",
+     *   "ragSkipped": boolean?,
      *   "userId": "string"
      * }
      */
@@ -0,0 +1,22 @@
+package com.labelai.dto.response;
+
+import com.labelai.dto.PipelineResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 배치 스트리밍 - 파일별 처리 결과 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    private String filename;
+    private boolean success;
+    private PipelineResponse result;
+    private String error;
+    private long elapsedMs;
+}
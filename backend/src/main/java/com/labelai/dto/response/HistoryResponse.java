@@ -22,5 +22,6 @@ public class HistoryResponse {
     private Integer errorCount;
     private Integer warningCount;
     private String country;
+    private Boolean ragSkipped;
     private String userId;
 }
\ No newline at end of file
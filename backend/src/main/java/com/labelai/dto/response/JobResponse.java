@@ -0,0 +1,31 @@
+package com.labelai.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 비동기 작업 상태 응답 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobResponse {
+    private Long id;
+    private String type;
+    private String status;
+    private String stage;
+    private String country;
+    private List<String> fileNames;
+    private int attempts;
+    private int maxAttempts;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+}
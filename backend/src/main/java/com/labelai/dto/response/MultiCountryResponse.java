@@ -0,0 +1,49 @@
+package com.labelai.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 다중 국가 번역 응답 DTO
+ * 국가별 결과(성공 HTML 또는 실패 사유)와 처리 시간을 포함
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiCountryResponse {
+    
+    /**
+     * 국가별 결과 (요청 순서 유지)
+     */
+    private Map<String, CountryResult> results;
+    
+    private List<String> failedCountries;
+    
+    /**
+     * OCR + 구조화 시간 (ms)
+     */
+    private long preprocessTimeMs;
+    
+    /**
+     * 전체 처리 시간 (ms)
+     */
+    private long totalTimeMs;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CountryResult {
+        private String country;
+        private boolean success;
+        private String html;
+        private String error;
+        private long elapsedMs;
+    }
+}
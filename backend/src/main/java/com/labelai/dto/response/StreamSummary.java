@@ -0,0 +1,22 @@
+package com.labelai.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 스트리밍 응답의 마지막 요약 이벤트 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamSummary {
+    private int total;
+    private int succeeded;
+    private List<String> failed;
+    private long totalTimeMs;
+}
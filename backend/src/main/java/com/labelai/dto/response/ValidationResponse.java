@@ -19,6 +19,10 @@ public class ValidationResponse {
     private String productType;
     private int totalErrors;
     private List<ValidationError> errors;
+    /**
+     * 로컬 사전 검사의 차단 규칙 위반으로 RAG 검증을 생략한 부분 결과 (label.validation.precheck.mode=short-circuit)
+     */
+    private boolean ragSkipped;
     
     @Data
     @Builder
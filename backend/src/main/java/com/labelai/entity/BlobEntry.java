@@ -0,0 +1,54 @@
+package com.labelai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 업로드 블롭 인덱스 엔티티 (내용 주소 저장소)
+ * 이미지 바이트는 세그먼트 파일에 이어 붙여 저장하고, 이 행이 위치와 참조 수를 가진다.
+ * 참조 수는 처리 중인 작업의 고정(pin) 수이며, 0 인 블롭은 이력 이미지로 남아 있다가
+ * 보존 기간(TTL)이나 용량 한도(LRU)에 따라 회수된다.
+ */
+@Entity
+@Table(name = "label_blobs", indexes = {
+    @Index(name = "idx_label_blobs_segment", columnList = "segment"),
+    @Index(name = "idx_label_blobs_last_accessed", columnList = "lastAccessedAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlobEntry {
+    
+    /**
+     * 내용 해시 (SHA-256 hex)
+     */
+    @Id
+    @Column(length = 64)
+    private String hash;
+    
+    /**
+     * 세그먼트 파일 이름
+     */
+    @Column(nullable = false)
+    private String segment;
+    
+    @Column(name = "blob_offset", nullable = false)
+    private Long offset;
+    
+    @Column(name = "blob_length", nullable = false)
+    private Long length;
+    
+    @Column(nullable = false)
+    private Integer refCount;
+    
+    @Column(nullable = false)
+    private Instant createdAt;
+    
+    private Instant lastAccessedAt;
+}
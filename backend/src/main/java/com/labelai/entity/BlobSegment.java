@@ -0,0 +1,54 @@
+package com.labelai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 블롭 세그먼트 사용량 엔티티
+ * 세그먼트마다 파일 크기와 살아 있는 블롭 바이트/개수를 유지해
+ * 용량 판단과 압축 대상 선정 시 디렉토리나 블롭 인덱스 전체를 훑지 않는다.
+ */
+@Entity
+@Table(name = "label_blob_segments")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlobSegment {
+    
+    /**
+     * 세그먼트 파일 이름
+     */
+    @Id
+    private String name;
+    
+    /**
+     * 파일 끝 위치 (디스크 사용량)
+     */
+    @Column(nullable = false)
+    private Long sizeBytes;
+    
+    @Column(nullable = false)
+    private Long liveBytes;
+    
+    @Column(nullable = false)
+    private Integer liveCount;
+    
+    @Column(nullable = false)
+    private Instant createdAt;
+    
+    /**
+     * 마지막 기록 시각 - 오래 기록이 없으면 봉인된 세그먼트로 취급
+     */
+    @Column(nullable = false)
+    private Instant updatedAt;
+    
+    public double liveRatio() {
+        return sizeBytes == 0 ? 0 : (double) liveBytes / sizeBytes;
+    }
+}
@@ -0,0 +1,35 @@
+package com.labelai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 규제 코퍼스 버전 엔티티
+ * RAG 인덱스를 다시 만들면 버전을 올리고, 모든 노드가 주기적으로 읽어 검증 캐시 키에 사용한다.
+ */
+@Entity
+@Table(name = "label_corpus_versions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorpusVersion {
+    
+    /**
+     * 코퍼스 이름 (예: fda)
+     */
+    @Id
+    @Column(length = 64)
+    private String name;
+    
+    @Column(nullable = false, length = 128)
+    private String version;
+    
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
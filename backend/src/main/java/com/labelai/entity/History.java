@@ -10,7 +10,9 @@ import lombok.NoArgsConstructor;
  * 이력 엔티티
  */
 @Entity
-@Table(name = "history")
+@Table(name = "history", indexes = {
+    @Index(name = "idx_history_image_hash", columnList = "imageHash")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -37,6 +39,17 @@ public class History {
     private Integer warningCount;
     private String country;
     
+    /**
+     * 처리한 업로드 이미지의 블롭 해시 (비동기 작업 이력만, 보존 기간이 지나면 이미지는 회수될 수 있음)
+     */
+    @Column(length = 64)
+    private String imageHash;
+    
+    /**
+     * 검증 이력 중 로컬 사전 검사만으로 끝나 RAG 검증을 생략한 부분 결과
+     */
+    private Boolean ragSkipped;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -0,0 +1,90 @@
+package com.labelai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 라벨 처리 작업 엔티티 (비동기 작업 큐)
+ * 모든 노드의 워커가 SELECT … FOR UPDATE SKIP LOCKED 로 가져가 처리한다.
+ */
+@Entity
+@Table(name = "label_jobs", indexes = {
+    @Index(name = "idx_label_jobs_claim", columnList = "status, runAfter"),
+    @Index(name = "idx_label_jobs_username", columnList = "username")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabelJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String type; // "validate", "translate", "batch"
+    
+    @Column(nullable = false)
+    private String status; // "QUEUED", "RUNNING", "SUCCEEDED", "FAILED"
+    
+    @Column(nullable = false)
+    private String username;
+    
+    private String country;
+    
+    /**
+     * 업로드 파일 목록 (JSON)
+     */
+    @Column(nullable = false, columnDefinition = "text")
+    private String files;
+    
+    /**
+     * 마지막으로 완료된 단계
+     */
+    private String stage;
+    
+    /**
+     * 단계별 중간 결과 (JSON) - 재시도 시 완료된 단계는 건너뜀
+     */
+    @Column(columnDefinition = "text")
+    private String checkpoint;
+    
+    /**
+     * 최종 결과 (JSON)
+     */
+    @Column(columnDefinition = "text")
+    private String result;
+    
+    @Column(length = 1000)
+    private String error;
+    
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    @Column(nullable = false)
+    private Integer maxAttempts;
+    
+    /**
+     * 작업을 점유한 노드와 점유 만료 시각
+     */
+    private String leaseOwner;
+    private Instant leaseUntil;
+    
+    /**
+     * 이 시각 이후에 가져갈 수 있음 (재시도 backoff)
+     */
+    @Column(nullable = false)
+    private Instant runAfter;
+    
+    @Column(nullable = false)
+    private Instant createdAt;
+    
+    private Instant updatedAt;
+    private Instant completedAt;
+}
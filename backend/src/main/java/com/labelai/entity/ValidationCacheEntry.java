@@ -0,0 +1,47 @@
+package com.labelai.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * RAG 검증 결과 캐시 엔티티 (영속 계층)
+ * 키는 정규화된 HTML 해시 + 규제 코퍼스 버전이고, 값은 ValidationResponse JSON 의 GZIP 압축 바이트.
+ * 코퍼스 버전이 바뀌면 이전 버전 행은 더 이상 조회되지 않고 정리 작업이 지운다.
+ */
+@Entity
+@Table(name = "label_validation_cache", indexes = {
+    @Index(name = "idx_label_validation_cache_version", columnList = "corpusVersion"),
+    @Index(name = "idx_label_validation_cache_accessed", columnList = "lastAccessedAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationCacheEntry {
+    
+    /**
+     * {HTML 해시}:{코퍼스 버전}
+     */
+    @Id
+    @Column(length = 200)
+    private String cacheKey;
+    
+    @Column(nullable = false, length = 64)
+    private String htmlHash;
+    
+    @Column(nullable = false, length = 128)
+    private String corpusVersion;
+    
+    @Column(nullable = false)
+    private byte[] payload;
+    
+    @Column(nullable = false)
+    private Instant createdAt;
+    
+    private Instant lastAccessedAt;
+}
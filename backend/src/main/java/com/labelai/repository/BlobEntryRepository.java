@@ -0,0 +1,87 @@
+package com.labelai.repository;
+
+import com.labelai.entity.BlobEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 업로드 블롭 인덱스 데이터 접근 레포지토리
+ */
+@Repository
+public interface BlobEntryRepository extends JpaRepository<BlobEntry, String> {
+    
+    /**
+     * 새 블롭 등록 (참조 수 1) - 같은 해시가 이미 있으면 아무것도 하지 않고 0 반환
+     * 여러 노드가 같은 이미지를 동시에 저장해도 한 행만 남는다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO label_blobs (hash, segment, blob_offset, blob_length, ref_count, created_at, last_accessed_at) " +
+                   "VALUES (:hash, :segment, :offset, :length, 1, :now, :now) " +
+                   "ON CONFLICT (hash) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash, @Param("segment") String segment,
+                       @Param("offset") long offset, @Param("length") long length, @Param("now") Instant now);
+    
+    /**
+     * 참조 추가 (기존 블롭 재사용)
+     */
+    @Modifying
+    @Query("update BlobEntry b set b.refCount = b.refCount + 1, b.lastAccessedAt = :now where b.hash = :hash")
+    int retain(@Param("hash") String hash, @Param("now") Instant now);
+    
+    /**
+     * 참조 count 개 해제 (0 미만으로 내려가지 않음)
+     */
+    @Modifying
+    @Query("update BlobEntry b set b.refCount = case when b.refCount > :count then b.refCount - :count else 0 end " +
+           "where b.hash = :hash")
+    int release(@Param("hash") String hash, @Param("count") int count);
+    
+    /**
+     * 회수 후보 - 참조가 없고 before 이전에 마지막으로 사용된 블롭 (오래된 순, 최대 limit 개)
+     * last_accessed_at 인덱스 순서로 읽으므로 블롭 수가 늘어도 한 번에 읽는 양은 일정하다.
+     */
+    @Query(value = "SELECT * FROM label_blobs " +
+                   "WHERE ref_count = 0 AND last_accessed_at < :before " +
+                   "ORDER BY last_accessed_at " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<BlobEntry> findUnreferencedBefore(@Param("before") Instant before, @Param("limit") int limit);
+    
+    List<BlobEntry> findBySegment(String segment);
+    
+    boolean existsBySegmentAndRefCountGreaterThan(String segment, int refCount);
+    
+    /**
+     * 참조가 없을 때만 삭제 (그 사이 다시 참조되었으면 0 반환)
+     */
+    @Modifying
+    @Query("delete from BlobEntry b where b.hash = :hash and b.refCount = 0")
+    int deleteUnreferenced(@Param("hash") String hash);
+    
+    /**
+     * 블롭 위치 이동 (압축) - 참조가 없고 위치가 그대로일 때만
+     */
+    @Modifying
+    @Query("update BlobEntry b set b.segment = :toSegment, b.offset = :toOffset " +
+           "where b.hash = :hash and b.segment = :fromSegment and b.offset = :fromOffset and b.refCount = 0")
+    int relocate(@Param("hash") String hash, @Param("fromSegment") String fromSegment,
+                 @Param("fromOffset") long fromOffset, @Param("toSegment") String toSegment,
+                 @Param("toOffset") long toOffset);
+    
+    /**
+     * 더 이상 어떤 이력도 가리키지 않는 블롭을 즉시 회수 대상으로 표시
+     */
+    @Modifying
+    @Query("update BlobEntry b set b.lastAccessedAt = :expiredAt " +
+           "where b.hash in :hashes and b.refCount = 0 " +
+           "and not exists (select h.id from History h where h.imageHash = b.hash)")
+    int expireOrphans(@Param("hashes") Collection<String> hashes, @Param("expiredAt") Instant expiredAt);
+}
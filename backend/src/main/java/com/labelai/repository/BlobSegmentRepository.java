@@ -0,0 +1,80 @@
+package com.labelai.repository;
+
+import com.labelai.entity.BlobSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 블롭 세그먼트 사용량 데이터 접근 레포지토리
+ */
+@Repository
+public interface BlobSegmentRepository extends JpaRepository<BlobSegment, String> {
+    
+    /**
+     * 새 세그먼트 등록 (비어 있는 상태)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO label_blob_segments (name, size_bytes, live_bytes, live_count, created_at, updated_at) " +
+                   "VALUES (:name, 0, 0, 0, :now, :now) " +
+                   "ON CONFLICT (name) DO NOTHING",
+           nativeQuery = true)
+    int create(@Param("name") String name, @Param("now") Instant now);
+    
+    /**
+     * 블롭 추가 반영 (end = 블롭이 끝나는 파일 위치)
+     * 세그먼트 행이 없으면(생성 트랜잭션이 롤백된 경우) 함께 만든다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO label_blob_segments (name, size_bytes, live_bytes, live_count, created_at, updated_at) " +
+                   "VALUES (:name, :end, :bytes, 1, :now, :now) " +
+                   "ON CONFLICT (name) DO UPDATE SET " +
+                   "  size_bytes = GREATEST(label_blob_segments.size_bytes, EXCLUDED.size_bytes), " +
+                   "  live_bytes = label_blob_segments.live_bytes + EXCLUDED.live_bytes, " +
+                   "  live_count = label_blob_segments.live_count + 1, " +
+                   "  updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int addLive(@Param("name") String name, @Param("bytes") long bytes, @Param("end") long end,
+                @Param("now") Instant now);
+    
+    /**
+     * 블롭 제거/이동 반영
+     */
+    @Modifying
+    @Query("update BlobSegment s set s.liveBytes = s.liveBytes - :bytes, s.liveCount = s.liveCount - 1 " +
+           "where s.name = :name")
+    int removeLive(@Param("name") String name, @Param("bytes") long bytes);
+    
+    /**
+     * 빈 세그먼트 등록 해제 - 살아 있는 블롭이 있으면 0 반환
+     */
+    @Modifying
+    @Query("delete from BlobSegment s where s.name = :name and s.liveCount = 0")
+    int deleteIfEmpty(@Param("name") String name);
+    
+    /**
+     * 압축/삭제 후보 - 봉인된 세그먼트 중 살아 있는 비율이 낮은 순
+     * (크기를 다 채웠거나 sealedBefore 이후 기록이 없는 세그먼트, 쓰기 중인 세그먼트 제외)
+     */
+    @Query(value = "SELECT * FROM label_blob_segments " +
+                   "WHERE name <> :active " +
+                   "  AND (size_bytes >= :segmentSize OR updated_at < :sealedBefore) " +
+                   "  AND live_bytes <= size_bytes * :maxLiveRatio " +
+                   "ORDER BY CASE WHEN size_bytes = 0 THEN 0 ELSE CAST(live_bytes AS double precision) / size_bytes END, name " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<BlobSegment> findReclaimable(@Param("active") String active, @Param("segmentSize") long segmentSize,
+                                      @Param("sealedBefore") Instant sealedBefore,
+                                      @Param("maxLiveRatio") double maxLiveRatio, @Param("limit") int limit);
+    
+    @Query("select coalesce(sum(s.sizeBytes), 0) from BlobSegment s")
+    long totalSizeBytes();
+    
+    @Query("select coalesce(sum(s.liveBytes), 0) from BlobSegment s")
+    long totalLiveBytes();
+}
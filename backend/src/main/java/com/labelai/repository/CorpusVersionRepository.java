@@ -0,0 +1,35 @@
+package com.labelai.repository;
+
+import com.labelai.entity.CorpusVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+/**
+ * 규제 코퍼스 버전 데이터 접근 레포지토리
+ */
+@Repository
+public interface CorpusVersionRepository extends JpaRepository<CorpusVersion, String> {
+    
+    /**
+     * 최초 버전 등록 - 이미 있으면 아무것도 하지 않음 (설정값보다 운영 중 올린 버전이 우선)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO label_corpus_versions (name, version, updated_at) VALUES (:name, :version, :now) " +
+                   "ON CONFLICT (name) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("version") String version, @Param("now") Instant now);
+    
+    /**
+     * 버전 변경 (행 1개 갱신 - 캐시 전체 무효화)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO label_corpus_versions (name, version, updated_at) VALUES (:name, :version, :now) " +
+                   "ON CONFLICT (name) DO UPDATE SET version = EXCLUDED.version, updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int upsert(@Param("name") String name, @Param("version") String version, @Param("now") Instant now);
+}
@@ -0,0 +1,79 @@
+package com.labelai.repository;
+
+import com.labelai.entity.LabelJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 라벨 작업 데이터 접근 레포지토리
+ */
+@Repository
+public interface LabelJobRepository extends JpaRepository<LabelJob, Long> {
+    
+    /**
+     * 처리 가능한 작업 점유 (대기 중 또는 점유 만료)
+     * 다른 노드가 잠근 행은 건너뛴다 (FOR UPDATE SKIP LOCKED)
+     */
+    @Query(value = "SELECT * FROM label_jobs " +
+                   "WHERE (status = 'QUEUED' AND run_after <= :now) " +
+                   "   OR (status = 'RUNNING' AND lease_until < :now) " +
+                   "ORDER BY id " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<LabelJob> lockClaimable(@Param("now") Instant now, @Param("limit") int limit);
+    
+    /**
+     * 점유 연장 (heartbeat)
+     */
+    @Modifying
+    @Query("update LabelJob j set j.leaseUntil = :until " +
+           "where j.id in :ids and j.leaseOwner = :owner and j.status = 'RUNNING'")
+    int extendLeases(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("until") Instant until);
+    
+    /**
+     * 단계 체크포인트 저장
+     */
+    @Modifying
+    @Query("update LabelJob j set j.stage = :stage, j.checkpoint = :checkpoint, j.updatedAt = :now " +
+           "where j.id = :id and j.leaseOwner = :owner and j.status = 'RUNNING'")
+    int saveCheckpoint(@Param("id") Long id, @Param("owner") String owner, @Param("stage") String stage,
+                       @Param("checkpoint") String checkpoint, @Param("now") Instant now);
+    
+    /**
+     * 작업 성공 처리
+     */
+    @Modifying
+    @Query("update LabelJob j set j.status = 'SUCCEEDED', j.stage = 'done', j.result = :result, j.error = null, " +
+           "j.leaseOwner = null, j.leaseUntil = null, j.updatedAt = :now, j.completedAt = :now " +
+           "where j.id = :id and j.leaseOwner = :owner and j.status = 'RUNNING'")
+    int complete(@Param("id") Long id, @Param("owner") String owner, @Param("result") String result,
+                 @Param("now") Instant now);
+    
+    /**
+     * 재시도 예약 (점유 해제 후 runAfter 이후 다시 대기)
+     */
+    @Modifying
+    @Query("update LabelJob j set j.status = 'QUEUED', j.error = :error, j.runAfter = :runAfter, " +
+           "j.leaseOwner = null, j.leaseUntil = null, j.updatedAt = :now " +
+           "where j.id = :id and j.leaseOwner = :owner and j.status = 'RUNNING'")
+    int scheduleRetry(@Param("id") Long id, @Param("owner") String owner, @Param("error") String error,
+                      @Param("runAfter") Instant runAfter, @Param("now") Instant now);
+    
+    /**
+     * 작업 실패 처리 (재시도 소진)
+     */
+    @Modifying
+    @Query("update LabelJob j set j.status = 'FAILED', j.error = :error, " +
+           "j.leaseOwner = null, j.leaseUntil = null, j.updatedAt = :now, j.completedAt = :now " +
+           "where j.id = :id and j.leaseOwner = :owner and j.status = 'RUNNING'")
+    int fail(@Param("id") Long id, @Param("owner") String owner, @Param("error") String error,
+             @Param("now") Instant now);
+}
@@ -0,0 +1,49 @@
+package com.labelai.repository;
+
+import com.labelai.entity.ValidationCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+/**
+ * RAG 검증 결과 캐시 데이터 접근 레포지토리
+ */
+@Repository
+public interface ValidationCacheRepository extends JpaRepository<ValidationCacheEntry, String> {
+    
+    /**
+     * 저장 - 같은 키가 있으면 덮어씀 (여러 노드가 같은 HTML 을 동시에 검증해도 한 행)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO label_validation_cache (cache_key, html_hash, corpus_version, payload, created_at, last_accessed_at) " +
+                   "VALUES (:key, :htmlHash, :version, :payload, :now, :now) " +
+                   "ON CONFLICT (cache_key) DO UPDATE SET payload = EXCLUDED.payload, created_at = EXCLUDED.created_at, " +
+                   "last_accessed_at = EXCLUDED.last_accessed_at",
+           nativeQuery = true)
+    int upsert(@Param("key") String key, @Param("htmlHash") String htmlHash, @Param("version") String version,
+               @Param("payload") byte[] payload, @Param("now") Instant now);
+    
+    @Modifying
+    @Query("update ValidationCacheEntry e set e.lastAccessedAt = :now where e.cacheKey = :key")
+    int touch(@Param("key") String key, @Param("now") Instant now);
+    
+    /**
+     * 현재 버전이 아니거나 before 이전에 마지막으로 사용된 행 삭제
+     */
+    @Modifying
+    @Query("delete from ValidationCacheEntry e where e.corpusVersion <> :version or e.lastAccessedAt < :before")
+    int deleteStale(@Param("version") String version, @Param("before") Instant before);
+    
+    /**
+     * 최근 사용 순으로 maxEntries 개만 남기고 삭제
+     */
+    @Modifying
+    @Query(value = "DELETE FROM label_validation_cache WHERE cache_key IN (" +
+                   "SELECT cache_key FROM label_validation_cache ORDER BY last_accessed_at DESC OFFSET :maxEntries)",
+           nativeQuery = true)
+    int trimTo(@Param("maxEntries") long maxEntries);
+}
@@ -5,10 +5,12 @@ import com.labelai.entity.History;
 import com.labelai.entity.User;
 import com.labelai.repository.HistoryRepository;
 import com.labelai.repository.UserRepository;
+import com.labelai.storage.BlobStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -20,6 +22,7 @@ public class HistoryService {
     
     private final HistoryRepository historyRepository;
     private final UserRepository userRepository;
+    private final BlobStore blobStore;
     
     /**
      * 사용자별 이력 조회
@@ -73,7 +76,7 @@ public class HistoryService {
             }
         }
         
-        historyRepository.deleteAllById(ids);
+        deleteWithImages(historiesToDelete);
     }
     
     /**
@@ -81,7 +84,21 @@ public class HistoryService {
      */
     @Transactional
     public void deleteHistories(List<Long> ids) {
-        historyRepository.deleteAllById(ids);
+        deleteWithImages(historyRepository.findAllById(ids));
+    }
+    
+    /**
+     * 이력 삭제 후 더 이상 어떤 이력도 가리키지 않는 업로드 이미지를 회수 대상으로 표시
+     */
+    private void deleteWithImages(List<History> histories) {
+        List<String> imageHashes = histories.stream()
+                .map(History::getImageHash)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        historyRepository.deleteAll(histories);
+        historyRepository.flush();
+        blobStore.expireOrphans(imageHashes);
     }
     
     /**
@@ -98,6 +115,7 @@ public class HistoryService {
                 .errorCount(history.getErrorCount())
                 .warningCount(history.getWarningCount())
                 .country(history.getCountry())
+                .ragSkipped(history.getRagSkipped())
                 .userId(history.getUser().getUsername())
                 .build();
     }
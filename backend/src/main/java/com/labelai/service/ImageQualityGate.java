@@ -0,0 +1,324 @@
+package com.labelai.service;
+
+import com.labelai.exception.CustomException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 이미지 품질 사전 검사
+ * 업스트림(OCR + LLM) 호출 전에 로컬에서 수십 ms 안에 사용할 수 없는 이미지를 걸러낸다.
+ * - 해상도: 원본 짧은 변 길이
+ * - 선명도: 분석 해상도(긴 변 analysis-edge)에서의 라플라시안 분산
+ * - 대비: 밝기 표준편차
+ * - 텍스트 영역: 강한 경계(그래디언트) 픽셀 비율
+ * 같은 라벨을 여러 장 올리면 기준을 통과한 것 중 가장 선명한 한 장만 OCR 로 보낸다.
+ * 디코딩할 수 없는 형식은 판단하지 않고 통과시킨다.
+ * 한 요청에서 이미지는 한 번만 디코딩한다 - {@link #withBest} 로 고른 프레임은 이후 {@link #check} 를 건너뛴다.
+ */
+@Component
+@Slf4j
+public class ImageQualityGate {
+    
+    @Value("${label.image.quality.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${label.image.quality.analysis-edge:1024}")
+    private int analysisEdge;
+    
+    @Value("${label.image.quality.min-short-edge:480}")
+    private int minShortEdge;
+    
+    @Value("${label.image.quality.min-sharpness:25.0}")
+    private double minSharpness;
+    
+    @Value("${label.image.quality.min-contrast:12.0}")
+    private double minContrast;
+    
+    @Value("${label.image.quality.min-text-density:0.01}")
+    private double minTextDensity;
+    
+    @Value("${label.image.quality.edge-threshold:40}")
+    private int edgeThreshold;
+    
+    // 이미 검사를 통과한 요청 표시 (Reactor Context 키)
+    private static final String PASSED = ImageQualityGate.class.getName() + ".passed";
+    
+    private final Scheduler qualityScheduler;
+    private final Timer duration;
+    private final MeterRegistry meterRegistry;
+    
+    public ImageQualityGate(
+            MeterRegistry meterRegistry,
+            @Value("${label.image.quality.threads:0}") int threads,
+            @Value("${label.image.quality.max-queue:200}") int maxQueue) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.qualityScheduler = Schedulers.newBoundedElastic(poolSize, maxQueue, "label-quality");
+        this.meterRegistry = meterRegistry;
+        this.duration = Timer.builder("label.image.quality.duration")
+            .description("이미지 품질 검사 시간")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        qualityScheduler.dispose();
+    }
+    
+    /**
+     * 품질 검사 결과
+     * analyzed=false 이면 디코딩하지 못해 판단하지 않은 것 (통과로 취급)
+     */
+    public record QualityReport(
+            String filename,
+            boolean analyzed,
+            int width,
+            int height,
+            double sharpness,
+            double contrast,
+            double textDensity,
+            List<String> reasons,
+            List<String> problems) {
+        
+        public boolean acceptable() {
+            return problems.isEmpty();
+        }
+    }
+    
+    /**
+     * 단일 이미지 검사 - 기준 미달이면 422 IMAGE_QUALITY_REJECTED
+     * {@link #withBest} 안에서 호출되면 이미 검사한 프레임이므로 바로 통과
+     */
+    public Mono<MultipartFile> check(MultipartFile image) {
+        if (!enabled) {
+            return Mono.just(image);
+        }
+        return Mono.deferContextual(ctx -> ctx.hasKey(PASSED)
+            ? Mono.just(image)
+            : inspect(image)
+                .flatMap(report -> report.acceptable()
+                    ? Mono.just(image)
+                    : Mono.error(rejected(report))));
+    }
+    
+    /**
+     * 가장 선명한 프레임을 골라 처리 - 처리 중의 {@link #check} 는 다시 디코딩하지 않는다
+     */
+    public <T> Mono<T> withBest(List<MultipartFile> frames, Function<MultipartFile, Mono<T>> body) {
+        return selectBest(frames)
+            .flatMap(best -> body.apply(best).contextWrite(ctx -> ctx.put(PASSED, true)));
+    }
+    
+    /**
+     * 여러 장 중 기준을 통과한 가장 선명한 이미지 선택
+     * 모두 기준 미달이면 가장 선명한 이미지의 사유로 거절
+     */
+    public Mono<MultipartFile> selectBest(List<MultipartFile> frames) {
+        if (frames.isEmpty()) {
+            return Mono.error(new CustomException("이미지가 없습니다.", "IMAGE_REQUIRED", 400));
+        }
+        if (frames.size() == 1) {
+            return check(frames.get(0));
+        }
+        if (!enabled) {
+            return Mono.just(frames.get(0));
+        }
+        
+        return Flux.range(0, frames.size())
+            .flatMap(index -> inspect(frames.get(index)).map(report -> new Frame(index, report)))
+            .collectList()
+            .flatMap(results -> {
+                Comparator<Frame> bySharpness = Comparator.comparingDouble(frame -> frame.report().sharpness());
+                Frame best = results.stream()
+                    .filter(frame -> frame.report().acceptable())
+                    .max(bySharpness)
+                    .orElse(null);
+                if (best == null) {
+                    return Mono.error(rejected(results.stream().max(bySharpness).orElseThrow().report()));
+                }
+                log.info("Selected frame {} of {} (sharpness {})",
+                    best.report().filename(), frames.size(), String.format("%.1f", best.report().sharpness()));
+                return Mono.just(frames.get(best.index()));
+            });
+    }
+    
+    /**
+     * 품질 지표 계산 (전용 CPU 풀에서 실행, 검사 자체가 실패하면 통과로 취급)
+     */
+    public Mono<QualityReport> inspect(MultipartFile image) {
+        return Mono.fromCallable(() -> {
+                long startNanos = System.nanoTime();
+                QualityReport report = analyze(image);
+                duration.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                return report;
+            })
+            .subscribeOn(qualityScheduler)
+            .onErrorResume(e -> {
+                log.warn("Image quality check skipped for {}: {}", image.getOriginalFilename(), e.toString());
+                return Mono.just(notAnalyzed(image));
+            });
+    }
+    
+    private QualityReport analyze(MultipartFile image) throws IOException {
+        int width;
+        int height;
+        BufferedImage decoded;
+        
+        try (InputStream in = image.getInputStream();
+             ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = iis == null ? null : ImageIO.getImageReaders(iis);
+            if (readers == null || !readers.hasNext()) {
+                return notAnalyzed(image);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                width = reader.getWidth(0);
+                height = reader.getHeight(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / analysisEdge);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+        
+        int w = decoded.getWidth();
+        int h = decoded.getHeight();
+        byte[] gray = toGray(decoded);
+        
+        // 밝기 평균/표준편차 (대비)
+        double sum = 0;
+        double sumSq = 0;
+        for (byte b : gray) {
+            int v = b & 0xFF;
+            sum += v;
+            sumSq += (double) v * v;
+        }
+        int n = gray.length;
+        double mean = sum / n;
+        double contrast = Math.sqrt(Math.max(0, sumSq / n - mean * mean));
+        
+        // 라플라시안 분산 (선명도) + 그래디언트 경계 비율 (텍스트 영역)
+        double lapSum = 0;
+        double lapSumSq = 0;
+        long edges = 0;
+        long interior = 0;
+        for (int y = 1; y < h - 1; y++) {
+            int row = y * w;
+            for (int x = 1; x < w - 1; x++) {
+                int i = row + x;
+                int center = gray[i] & 0xFF;
+                int left = gray[i - 1] & 0xFF;
+                int right = gray[i + 1] & 0xFF;
+                int up = gray[i - w] & 0xFF;
+                int down = gray[i + w] & 0xFF;
+                
+                int laplacian = left + right + up + down - 4 * center;
+                lapSum += laplacian;
+                lapSumSq += (double) laplacian * laplacian;
+                
+                if (Math.abs(right - left) + Math.abs(down - up) > edgeThreshold) {
+                    edges++;
+                }
+                interior++;
+            }
+        }
+        double sharpness = 0;
+        double textDensity = 0;
+        if (interior > 0) {
+            double lapMean = lapSum / interior;
+            sharpness = lapSumSq / interior - lapMean * lapMean;
+            textDensity = (double) edges / interior;
+        }
+        
+        List<String> reasons = new ArrayList<>();
+        List<String> problems = new ArrayList<>();
+        if (Math.min(width, height) < minShortEdge) {
+            reasons.add("resolution");
+            problems.add(String.format("해상도가 너무 낮습니다 (%dx%d, 짧은 변 최소 %dpx)", width, height, minShortEdge));
+        }
+        if (sharpness < minSharpness) {
+            reasons.add("blur");
+            problems.add(String.format("이미지가 흐립니다 (선명도 %.1f, 최소 %.1f)", sharpness, minSharpness));
+        }
+        if (contrast < minContrast) {
+            reasons.add("contrast");
+            problems.add(String.format("대비가 너무 낮습니다 (%.1f, 최소 %.1f)", contrast, minContrast));
+        }
+        if (textDensity < minTextDensity) {
+            reasons.add("text_area");
+            problems.add(String.format("텍스트 영역이 거의 없습니다 (%.3f, 최소 %.3f)", textDensity, minTextDensity));
+        }
+        
+        return new QualityReport(image.getOriginalFilename(), true, width, height,
+                                 sharpness, contrast, textDensity, reasons, problems);
+    }
+    
+    /**
+     * 분석 해상도의 8bit 그레이스케일 픽셀 (투명 배경은 흰색)
+     */
+    private static byte[] toGray(BufferedImage image) {
+        BufferedImage gray = image;
+        if (image.getType() != BufferedImage.TYPE_BYTE_GRAY) {
+            gray = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+            Graphics2D g = gray.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, image.getWidth(), image.getHeight());
+                g.drawImage(image, 0, 0, null);
+            } finally {
+                g.dispose();
+            }
+        }
+        return ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+    }
+    
+    private CustomException rejected(QualityReport report) {
+        report.reasons().forEach(reason -> Counter.builder("label.image.quality.rejected")
+            .description("품질 기준 미달로 거절한 이미지 수")
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment());
+        return new CustomException(
+            "이미지 품질이 기준에 미달합니다 (" + report.filename() + "): " + String.join(", ", report.problems()),
+            "IMAGE_QUALITY_REJECTED", 422);
+    }
+    
+    private static QualityReport notAnalyzed(MultipartFile image) {
+        return new QualityReport(image.getOriginalFilename(), false, 0, 0, 0, 0, 0, List.of(), List.of());
+    }
+    
+    private record Frame(int index, QualityReport report) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.labelai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.api.FoodLabelApiClient;
+import com.labelai.cache.TranslationCache;
+import com.labelai.dto.HtmlGenerateRequest;
+import com.labelai.dto.TranslateResponse;
+import com.labelai.util.HtmlCanonicalizer;
+import com.labelai.util.NutritionLabelHtml;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * 영양 라벨 HTML 생성 (label.html.renderer)
+ * - remote: Food Label API /generate-html (국가 + TranslatedData 해시 기준 캐시)
+ * - local: 프로세스 내 템플릿 렌더링 (NutritionLabelHtml, 네트워크 왕복 없음)
+ *   upstream 골든 기록이 커밋되어 NutritionLabelHtmlGoldenTest 비교가 실제로 돌기 전까지는 지원하지 않는다
+ * - shadow: remote 결과를 쓰고, 같은 입력의 local 렌더링과 정규화 HTML 이 같은지 비교해 메트릭으로 남긴다
+ * 로컬 템플릿이 없는 국가이거나 로컬 렌더링이 실패하면 remote 로 처리한다.
+ */
+@Component
+@Slf4j
+public class LabelHtmlRenderer {
+    
+    public static final String REMOTE = "remote";
+    public static final String LOCAL = "local";
+    public static final String SHADOW = "shadow";
+    
+    private final FoodLabelApiClient foodLabelApiClient;
+    private final TranslationCache translationCache;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Timer localDuration;
+    
+    @Value("${label.html.renderer:remote}")
+    private String mode;
+    
+    public LabelHtmlRenderer(FoodLabelApiClient foodLabelApiClient,
+                             TranslationCache translationCache,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.foodLabelApiClient = foodLabelApiClient;
+        this.translationCache = translationCache;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.localDuration = Timer.builder("label.html.render.local")
+            .description("로컬 템플릿 렌더링 시간")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * 국가별 영양 라벨 HTML
+     */
+    public Mono<String> generateHtml(HtmlGenerateRequest request) {
+        if (REMOTE.equals(mode) || !NutritionLabelHtml.supports(request.getCountry())) {
+            return remote(request);
+        }
+        if (SHADOW.equals(mode)) {
+            return translationCache.html(request, () -> foodLabelApiClient.generateHtml(request)
+                .doOnNext(html -> compare(request, html)));
+        }
+        return Mono.fromCallable(() -> renderLocal(request))
+            .doOnNext(html -> rendered("local"))
+            .onErrorResume(e -> {
+                log.warn("Local HTML rendering failed, falling back to remote: {}", request.getCountry(), e);
+                rendered("fallback");
+                return remote(request);
+            });
+    }
+    
+    private Mono<String> remote(HtmlGenerateRequest request) {
+        return translationCache.html(request, () -> foodLabelApiClient.generateHtml(request))
+            .doOnNext(html -> rendered("remote"));
+    }
+    
+    private String renderLocal(HtmlGenerateRequest request) {
+        TranslateResponse.TranslatedData data = request.getData() instanceof TranslateResponse.TranslatedData translated
+            ? translated
+            : objectMapper.convertValue(request.getData(), TranslateResponse.TranslatedData.class);
+        return localDuration.record(() -> NutritionLabelHtml.render(request.getCountry(), data));
+    }
+    
+    /**
+     * shadow 비교 - 정규화 HTML 해시가 다르면 첫 차이 위치를 로그로 남긴다
+     */
+    private void compare(HtmlGenerateRequest request, String remoteHtml) {
+        String result;
+        try {
+            String local = HtmlCanonicalizer.canonicalize(renderLocal(request));
+            String remote = HtmlCanonicalizer.canonicalize(remoteHtml);
+            result = local.equals(remote) ? "match" : "mismatch";
+            if (!local.equals(remote)) {
+                int at = firstDifference(local, remote);
+                log.warn("Local HTML differs from remote: country={}, offset={}, local=[{}], remote=[{}]",
+                         request.getCountry(), at, excerpt(local, at), excerpt(remote, at));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Local HTML shadow rendering failed: {}", request.getCountry(), e);
+            result = "error";
+        }
+        Counter.builder("label.html.render.shadow")
+            .description("shadow 모드 로컬/원격 HTML 비교 결과")
+            .tag("country", request.getCountry() == null ? "unknown" : request.getCountry().toUpperCase())
+            .tag("result", result)
+            .register(meterRegistry)
+            .increment();
+    }
+    
+    private void rendered(String renderer) {
+        Counter.builder("label.html.render")
+            .description("HTML 생성 요청 수 (renderer: local, remote, fallback)")
+            .tag("renderer", renderer)
+            .register(meterRegistry)
+            .increment();
+    }
+    
+    private static int firstDifference(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return i;
+            }
+        }
+        return length;
+    }
+    
+    private static String excerpt(String html, int at) {
+        return html.substring(Math.max(0, at - 40), Math.min(html.length(), at + 80));
+    }
+}
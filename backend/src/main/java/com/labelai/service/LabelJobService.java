@@ -0,0 +1,289 @@
+package com.labelai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.dto.response.JobResponse;
+import com.labelai.entity.LabelJob;
+import com.labelai.exception.CustomException;
+import com.labelai.repository.LabelJobRepository;
+import com.labelai.storage.BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 라벨 처리 비동기 작업 관리 서비스
+ * - 작업 등록 (업로드 파일은 블롭 저장소에 저장하고 내용 해시만 보관, 작업 종료 시 참조 해제)
+ * - 작업 점유 (FOR UPDATE SKIP LOCKED + 점유 만료 시각)
+ * - 체크포인트 / 완료 / 재시도 / 실패 처리 (점유 노드만 갱신 가능)
+ */
+@Service
+@Slf4j
+public class LabelJobService {
+    
+    public static final String TYPE_VALIDATE = "validate";
+    public static final String TYPE_TRANSLATE = "translate";
+    public static final String TYPE_BATCH = "batch";
+    
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_SUCCEEDED = "SUCCEEDED";
+    public static final String STATUS_FAILED = "FAILED";
+    
+    private static final Set<String> TYPES = Set.of(TYPE_VALIDATE, TYPE_TRANSLATE, TYPE_BATCH);
+    
+    private final LabelJobRepository labelJobRepository;
+    private final LabelService labelService;
+    private final BlobStore blobStore;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${label.jobs.max-attempts:3}")
+    private int maxAttempts;
+    
+    @Value("${label.jobs.retry-backoff:PT10S}")
+    private Duration retryBackoff;
+    
+    public LabelJobService(LabelJobRepository labelJobRepository,
+                           LabelService labelService,
+                           BlobStore blobStore,
+                           ObjectMapper objectMapper) {
+        this.labelJobRepository = labelJobRepository;
+        this.labelService = labelService;
+        this.blobStore = blobStore;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * 작업에 포함된 업로드 파일 참조
+     */
+    public record JobFile(String storedName, String originalName, String contentType) {
+    }
+    
+    // ==================== SUBMIT / QUERY ====================
+    
+    /**
+     * 작업 등록
+     */
+    @Transactional
+    public JobResponse submit(String username, String type, List<MultipartFile> files, String country) {
+        if (!TYPES.contains(type)) {
+            throw new CustomException("지원하지 않는 작업 유형입니다: " + type, "INVALID_JOB_TYPE", 400);
+        }
+        if (files.isEmpty() || files.size() > 20) {
+            throw new CustomException("파일은 1개 이상 20개 이하로 등록할 수 있습니다.", "INVALID_JOB_FILES", 400);
+        }
+        
+        List<JobFile> stored = new ArrayList<>();
+        for (MultipartFile file : files) {
+            try {
+                stored.add(new JobFile(labelService.uploadFile(file), 
+                                       file.getOriginalFilename(), file.getContentType()));
+            } catch (IOException e) {
+                throw new CustomException("파일 저장 중 오류 발생: " + e.getMessage(), "FILE_SAVE_FAILED", 500);
+            }
+        }
+        
+        Instant now = Instant.now();
+        LabelJob job = LabelJob.builder()
+            .type(type)
+            .status(STATUS_QUEUED)
+            .username(username)
+            .country(country)
+            .files(toJson(stored))
+            .attempts(0)
+            .maxAttempts(maxAttempts)
+            .runAfter(now)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+        
+        LabelJob saved = labelJobRepository.save(job);
+        log.info("Job submitted - id: {}, type: {}, user: {}, files: {}", 
+            saved.getId(), type, username, stored.size());
+        return convertToResponse(saved);
+    }
+    
+    /**
+     * 작업 상태 조회 (본인 작업만)
+     */
+    public JobResponse getJob(String username, Long id) {
+        return convertToResponse(findOwned(username, id));
+    }
+    
+    /**
+     * 작업 결과 조회 (완료된 본인 작업만)
+     */
+    public JsonNode getResult(String username, Long id) {
+        LabelJob job = findOwned(username, id);
+        if (!STATUS_SUCCEEDED.equals(job.getStatus())) {
+            throw new CustomException("작업이 아직 완료되지 않았습니다. (상태: " + job.getStatus() + ")", 
+                                      "JOB_NOT_COMPLETED", 409);
+        }
+        try {
+            return objectMapper.readTree(job.getResult());
+        } catch (JsonProcessingException e) {
+            throw new CustomException("작업 결과를 읽을 수 없습니다.", "JOB_RESULT_CORRUPTED", 500);
+        }
+    }
+    
+    public static boolean isTerminal(String status) {
+        return STATUS_SUCCEEDED.equals(status) || STATUS_FAILED.equals(status);
+    }
+    
+    private LabelJob findOwned(String username, Long id) {
+        LabelJob job = labelJobRepository.findById(id)
+            .orElseThrow(() -> new CustomException("작업을 찾을 수 없습니다.", "JOB_NOT_FOUND", 404));
+        if (!job.getUsername().equals(username)) {
+            throw new CustomException("다른 사용자의 작업은 조회할 수 없습니다.", "ACCESS_DENIED", 403);
+        }
+        return job;
+    }
+    
+    // ==================== WORKER ====================
+    
+    /**
+     * 처리 가능한 작업을 최대 limit 개 점유
+     * 시도 횟수를 초과한 작업(점유 중 노드 장애 반복)은 실패 처리한다.
+     */
+    @Transactional
+    public List<LabelJob> claim(String owner, int limit, Duration lease) {
+        Instant now = Instant.now();
+        List<LabelJob> claimed = new ArrayList<>();
+        
+        for (LabelJob job : labelJobRepository.lockClaimable(now, limit)) {
+            job.setAttempts(job.getAttempts() + 1);
+            job.setUpdatedAt(now);
+            
+            if (job.getAttempts() > job.getMaxAttempts()) {
+                job.setStatus(STATUS_FAILED);
+                job.setError("재시도 횟수 초과" + (job.getError() != null ? ": " + job.getError() : ""));
+                job.setLeaseOwner(null);
+                job.setLeaseUntil(null);
+                job.setCompletedAt(now);
+                releaseFiles(job);
+                log.warn("Job {} exceeded max attempts", job.getId());
+                continue;
+            }
+            
+            job.setStatus(STATUS_RUNNING);
+            job.setLeaseOwner(owner);
+            job.setLeaseUntil(now.plus(lease));
+            claimed.add(job);
+        }
+        
+        return claimed;
+    }
+    
+    @Transactional
+    public void extendLeases(Collection<Long> ids, String owner, Duration lease) {
+        if (!ids.isEmpty()) {
+            labelJobRepository.extendLeases(ids, owner, Instant.now().plus(lease));
+        }
+    }
+    
+    /**
+     * 단계 체크포인트 저장 - 점유를 잃었으면 false
+     */
+    @Transactional
+    public boolean checkpoint(Long id, String owner, String stage, Object checkpoint) {
+        return labelJobRepository.saveCheckpoint(id, owner, stage, toJson(checkpoint), Instant.now()) == 1;
+    }
+    
+    @Transactional
+    public void complete(Long id, String owner, Object result) {
+        if (labelJobRepository.complete(id, owner, toJson(result), Instant.now()) == 0) {
+            log.warn("Job {} completed but lease was lost", id);
+            return;
+        }
+        labelJobRepository.findById(id).ifPresent(this::releaseFiles);
+    }
+    
+    /**
+     * 실패 처리 - 재시도 가능하면 backoff 후 재등록, 아니면 최종 실패
+     * @return 최종 실패 여부
+     */
+    @Transactional
+    public boolean failOrRetry(LabelJob job, String owner, String error) {
+        Instant now = Instant.now();
+        String message = error == null ? "unknown error" : error.substring(0, Math.min(error.length(), 1000));
+        
+        if (job.getAttempts() < job.getMaxAttempts()) {
+            Instant runAfter = now.plus(retryBackoff.multipliedBy(1L << (job.getAttempts() - 1)));
+            labelJobRepository.scheduleRetry(job.getId(), owner, message, runAfter, now);
+            log.info("Job {} will retry after {} (attempt {}/{})", 
+                job.getId(), runAfter, job.getAttempts(), job.getMaxAttempts());
+            return false;
+        }
+        
+        if (labelJobRepository.fail(job.getId(), owner, message, now) == 1) {
+            releaseFiles(job);
+        }
+        log.warn("Job {} failed after {} attempts: {}", job.getId(), job.getAttempts(), message);
+        return true;
+    }
+    
+    /**
+     * 종료된 작업의 업로드 블롭 참조 해제
+     */
+    private void releaseFiles(LabelJob job) {
+        blobStore.release(readFiles(job).stream().map(JobFile::storedName).toList());
+    }
+    
+    // ==================== JSON ====================
+    
+    public List<JobFile> readFiles(LabelJob job) {
+        return fromJson(job.getFiles(), new TypeReference<>() {});
+    }
+    
+    public <T> T readCheckpoint(LabelJob job, TypeReference<T> type) {
+        return job.getCheckpoint() == null ? null : fromJson(job.getCheckpoint(), type);
+    }
+    
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("작업 데이터 직렬화 실패", e);
+        }
+    }
+    
+    private <T> T fromJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("작업 데이터 역직렬화 실패", e);
+        }
+    }
+    
+    /**
+     * Entity -> DTO 변환
+     */
+    private JobResponse convertToResponse(LabelJob job) {
+        return JobResponse.builder()
+            .id(job.getId())
+            .type(job.getType())
+            .status(job.getStatus())
+            .stage(job.getStage())
+            .country(job.getCountry())
+            .fileNames(readFiles(job).stream().map(JobFile::originalName).toList())
+            .attempts(job.getAttempts())
+            .maxAttempts(job.getMaxAttempts())
+            .error(job.getError())
+            .createdAt(job.getCreatedAt())
+            .updatedAt(job.getUpdatedAt())
+            .completedAt(job.getCompletedAt())
+            .build();
+    }
+}
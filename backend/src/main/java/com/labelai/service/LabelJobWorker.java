@@ -0,0 +1,247 @@
+package com.labelai.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.labelai.api.RequestPriority;
+import com.labelai.dto.response.BatchItemResult;
+import com.labelai.entity.LabelJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 라벨 작업 워커 (모든 노드에서 실행)
+ * - 주기적으로 처리 가능한 작업을 점유 (SKIP LOCKED 로 노드 간 분산)
+ * - 처리 중인 작업의 점유를 주기적으로 연장 (노드 장애 시 만료 후 다른 노드가 이어받음)
+ * - 단계별 체크포인트로 재시도 시 완료된 단계/파일은 건너뜀
+ */
+@Component
+@Slf4j
+public class LabelJobWorker {
+    
+    private static final String STAGE_PIPELINE = "pipeline";
+    private static final String STAGE_FILES = "files";
+    
+    private final LabelJobService labelJobService;
+    private final LabelService labelService;
+    private final StagedBatchPipeline stagedBatchPipeline;
+    private final Scheduler blockingScheduler;
+    private final String nodeId;
+    private final Map<Long, Disposable> running = new ConcurrentHashMap<>();
+    
+    @Value("${label.jobs.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${label.jobs.concurrency:4}")
+    private int concurrency;
+    
+    @Value("${label.jobs.lease:PT60S}")
+    private Duration lease;
+    
+    public LabelJobWorker(LabelJobService labelJobService,
+                          LabelService labelService,
+                          StagedBatchPipeline stagedBatchPipeline,
+                          Scheduler labelBlockingScheduler) {
+        this.labelJobService = labelJobService;
+        this.labelService = labelService;
+        this.stagedBatchPipeline = stagedBatchPipeline;
+        this.blockingScheduler = labelBlockingScheduler;
+        this.nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    /**
+     * 처리 가능한 작업 점유 후 비동기 실행
+     */
+    @Scheduled(fixedDelayString = "${label.jobs.poll-interval:PT2S}")
+    public void poll() {
+        int free = concurrency - running.size();
+        if (!enabled || free <= 0) {
+            return;
+        }
+        
+        try {
+            for (LabelJob job : labelJobService.claim(nodeId, free, lease)) {
+                log.info("Job {} claimed by {} (attempt {}/{})", 
+                    job.getId(), nodeId, job.getAttempts(), job.getMaxAttempts());
+                start(job);
+            }
+        } catch (Exception e) {
+            log.error("Failed to claim jobs", e);
+        }
+    }
+    
+    /**
+     * 처리 중인 작업 점유 연장
+     */
+    @Scheduled(fixedDelayString = "${label.jobs.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        try {
+            labelJobService.extendLeases(running.keySet(), nodeId, lease);
+        } catch (Exception e) {
+            log.error("Failed to extend job leases", e);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        // 처리 중 작업은 점유 만료 후 다른 노드가 이어받음
+        running.values().forEach(Disposable::dispose);
+    }
+    
+    private void start(LabelJob job) {
+        Disposable disposable = execute(job)
+            // 비동기 작업은 bulk 레인에서 사용자별로 공정 분배
+            .contextWrite(RequestPriority.bulk(job.getUsername())::writeTo)
+            .flatMap(result -> blocking(() -> labelJobService.complete(job.getId(), nodeId, result)))
+            .onErrorResume(e -> {
+                log.error("Job {} failed", job.getId(), e);
+                return blocking(() -> {
+                    if (labelJobService.failOrRetry(job, nodeId, e.getMessage())) {
+                        recordFailure(job);
+                    }
+                });
+            })
+            .doFinally(signal -> running.remove(job.getId()))
+            .subscribe();
+        
+        running.put(job.getId(), disposable);
+        if (disposable.isDisposed()) {
+            running.remove(job.getId());
+        }
+    }
+    
+    // ==================== JOB TYPES ====================
+    
+    private Mono<Object> execute(LabelJob job) {
+        List<LabelJobService.JobFile> files = labelJobService.readFiles(job);
+        
+        return switch (job.getType()) {
+            case LabelJobService.TYPE_VALIDATE -> executeValidate(job, files.get(0));
+            case LabelJobService.TYPE_TRANSLATE -> executeTranslate(job, files.get(0));
+            case LabelJobService.TYPE_BATCH -> executeBatch(job, files);
+            default -> Mono.error(new IllegalArgumentException("Unknown job type: " + job.getType()));
+        };
+    }
+    
+    /**
+     * 검증: pipeline (체크포인트: HTML + 번역/구조화 데이터) → 로컬 규칙 사전 검사 + RAG 검증
+     * 이전 형식의 체크포인트(HTML 만)에서 재개하면 사전 검사 없이 RAG 만 호출한다.
+     */
+    private Mono<Object> executeValidate(LabelJob job, LabelJobService.JobFile file) {
+        Map<String, Object> checkpoint = STAGE_PIPELINE.equals(job.getStage())
+            ? labelJobService.readCheckpoint(job, new TypeReference<>() {})
+            : null;
+        
+        Mono<Map<String, Object>> pipeline = checkpoint != null
+            ? Mono.just(checkpoint)
+            : labelService.runPipeline(toMultipartFile(file), job.getCountry())
+                .flatMap(result -> {
+                    Map<String, Object> saved = new HashMap<>();
+                    saved.put("html", result.getHtmlOutput());
+                    saved.put("translated", result.getTranslatedData() == null
+                        ? null : result.getTranslatedData().getTranslatedData());
+                    saved.put("structured", result.getStructuredData() == null
+                        ? null : result.getStructuredData().getData());
+                    return saveCheckpoint(job, STAGE_PIPELINE, saved).thenReturn(saved);
+                });
+        
+        return pipeline
+            .flatMap(saved -> labelService.validateHtml((String) saved.get("html"), job.getCountry(),
+                                                        saved.get("translated"), saved.get("structured")))
+            .flatMap(validation -> labelService.saveValidationHistory(job.getUsername(), file.originalName(),
+                    job.getCountry(), file.storedName(), validation)
+                .thenReturn(validation));
+    }
+    
+    /**
+     * 번역: pipeline → HTML
+     */
+    private Mono<Object> executeTranslate(LabelJob job, LabelJobService.JobFile file) {
+        return labelService.runPipeline(toMultipartFile(file), job.getCountry())
+            .flatMap(result -> labelService.saveHistory(job.getUsername(), file.originalName(), "translate",
+                    "completed", 0, 0, job.getCountry(), file.storedName())
+                .thenReturn(Map.of("html", result.getHtmlOutput())));
+    }
+    
+    /**
+     * 배치: 단계별 파이프라인 (체크포인트: 완료된 파일 결과) → 파일 순서대로 결과 목록
+     */
+    private Mono<Object> executeBatch(LabelJob job, List<LabelJobService.JobFile> files) {
+        Map<String, BatchItemResult> done = new ConcurrentHashMap<>();
+        Map<String, BatchItemResult> previous = STAGE_FILES.equals(job.getStage())
+            ? labelJobService.readCheckpoint(job, new TypeReference<>() {})
+            : null;
+        if (previous != null) {
+            done.putAll(previous);
+            log.info("Job {} resuming batch: {}/{} files already done", job.getId(), done.size(), files.size());
+        }
+        
+        List<LabelJobService.JobFile> remaining = files.stream()
+            .filter(file -> !done.containsKey(file.storedName()))
+            .toList();
+        
+        return stagedBatchPipeline.run(remaining.stream().map(this::toMultipartFile).toList(), job.getCountry())
+            .concatMap(completed -> {
+                LabelJobService.JobFile file = remaining.get(completed.index());
+                BatchItemResult item = completed.item();
+                if (!item.isSuccess()) {
+                    return Mono.error(new IllegalStateException(file.originalName() + " - " + item.getError()));
+                }
+                // 체크포인트는 순차 저장
+                done.put(file.storedName(), item);
+                return labelService.saveHistory(job.getUsername(), file.originalName(), 
+                        "translate_batch", "completed", 0, 0, job.getCountry(), file.storedName())
+                    .then(saveCheckpoint(job, STAGE_FILES, new LinkedHashMap<>(done)));
+            })
+            .then(Mono.fromSupplier(() -> files.stream()
+                .map(file -> done.get(file.storedName()))
+                .toList()));
+    }
+    
+    // ==================== HELPERS ====================
+    
+    private Mono<Void> saveCheckpoint(LabelJob job, String stage, Object checkpoint) {
+        return blocking(() -> {
+            if (!labelJobService.checkpoint(job.getId(), nodeId, stage, checkpoint)) {
+                throw new IllegalStateException("작업 점유를 잃었습니다: " + job.getId());
+            }
+        });
+    }
+    
+    private void recordFailure(LabelJob job) {
+        String type = LabelJobService.TYPE_BATCH.equals(job.getType()) ? "translate_batch" : job.getType();
+        labelJobService.readFiles(job).forEach(file -> 
+            labelService.saveHistory(job.getUsername(), file.originalName(), type, 
+                                     "failed", 0, 0, job.getCountry(), file.storedName()).subscribe());
+    }
+    
+    private MultipartFile toMultipartFile(LabelJobService.JobFile file) {
+        return labelService.openUpload(file.storedName(), file.originalName(), file.contentType());
+    }
+    
+    private Mono<Void> blocking(Runnable runnable) {
+        return Mono.fromRunnable(runnable).subscribeOn(blockingScheduler).then();
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -2,23 +2,40 @@ package com.labelai.service;
 
 import com.labelai.api.FoodLabelApiClient;
 import com.labelai.api.RagApiClient;
+import com.labelai.api.RequestDeadlines;
+import com.labelai.cache.LabelResultCache;
+import com.labelai.cache.TranslationCache;
+import com.labelai.cache.ValidationCache;
 import com.labelai.dto.*;
+import com.labelai.dto.response.BatchItemResult;
+import com.labelai.dto.response.MultiCountryResponse;
 import com.labelai.dto.response.ValidationResponse;
 import com.labelai.entity.History;
+import com.labelai.exception.CustomException;
+import com.labelai.storage.BlobStore;
+import com.labelai.util.FileSystemMultipartFile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 /**
  * 라벨 처리 서비스
@@ -31,158 +48,201 @@ public class LabelService {
     
     private final FoodLabelApiClient foodLabelApiClient;
     private final RagApiClient ragApiClient;
+    private final RequestDeadlines requestDeadlines;
+    private final LabelResultCache labelResultCache;
+    private final TranslationCache translationCache;
+    private final ValidationCache validationCache;
+    private final PipelineCoalescer pipelineCoalescer;
+    private final StagedBatchPipeline stagedBatchPipeline;
+    private final UploadSpooler uploadSpooler;
+    private final ImageQualityGate imageQualityGate;
+    private final LabelHtmlRenderer labelHtmlRenderer;
+    private final ValidationPrecheck validationPrecheck;
+    private final BlobStore blobStore;
     private final HistoryService historyService;
+    private final Scheduler labelBlockingScheduler;
+    
+    @Value("${label.multi-country.parallelism:4}")
+    private int multiCountryParallelism;
+    
+    @Value("${label.multi-country.country-timeout:PT60S}")
+    private Duration multiCountryTimeout;
     
     private static final String UPLOAD_DIR = "./uploads/";
     
     /**
-     * 파일 업로드 및 저장
+     * 파일 업로드 및 저장 - 내용 주소 블롭 저장소에 저장하고 내용 해시를 저장 이름으로 반환
+     * (같은 이미지는 한 번만 저장되고 참조 수만 늘어난다)
      */
     public String uploadFile(MultipartFile file) throws IOException {
-        File uploadDir = new File(UPLOAD_DIR);
-        if (!uploadDir.exists()) {
-            uploadDir.mkdirs();
-        }
-        
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        String uniqueFilename = UUID.randomUUID().toString() + extension;
-        
-        Path filePath = Paths.get(UPLOAD_DIR + uniqueFilename);
-        Files.write(filePath, file.getBytes());
-        
-        return uniqueFilename;
+        return blobStore.put(file);
+    }
+    
+    /**
+     * 저장된 업로드 파일 열기
+     * 블롭 저장소에 없으면 이전 방식(./uploads/ 의 UUID 파일)으로 저장된 파일로 취급
+     */
+    public MultipartFile openUpload(String storedName, String originalFilename, String contentType) {
+        return blobStore.open(storedName, originalFilename, contentType)
+            .orElseGet(() -> new FileSystemMultipartFile(resolveUpload(storedName), originalFilename, contentType));
+    }
+    
+    /**
+     * 이전 방식으로 저장된 업로드 파일 경로
+     */
+    public Path resolveUpload(String storedFilename) {
+        return Paths.get(UPLOAD_DIR + storedFilename);
     }
     
     /**
      * FDA 규제 검증
      * Flow: Image → Food Label API (OCR + Structure + Translate) → RAG API (Validation)
      */
-    public ValidationResponse validateLabel(String username, MultipartFile file, String country) {
-        try {
-            log.info("Starting validation for user: {}, country: {}", username, country);
-            
-            // 1. Food Label API 전체 파이프라인 (OCR → Structure → Translate → HTML)
-            PipelineRequest pipelineRequest = PipelineRequest.builder()
-                .image(file)
-                .targetCountry(country.toUpperCase())
-                .generateHtml(true)
-                .build();
-            
-            PipelineResponse pipelineResult = foodLabelApiClient.processFullPipeline(pipelineRequest);
-            
-            log.info("Pipeline completed - OCR: {}s, Structure: {}s, Translate: {}s", 
-                pipelineResult.getProcessingTime().getOcrTime(),
-                pipelineResult.getProcessingTime().getStructureTime(),
-                pipelineResult.getProcessingTime().getTranslateTime());
-            
-            // 2. RAG API로 FDA 규제 검증 (HTML 기반)
-            String htmlOutput = pipelineResult.getHtmlOutput();
-            ValidationResponse validationResult = ragApiClient.validateWithFDA(htmlOutput);
-            
+    public Mono<ValidationResponse> validateLabel(String username, MultipartFile file, String country) {
+        log.info("Starting validation for user: {}, country: {}", username, country);
+        
+        // 1. Food Label API 전체 파이프라인 (OCR → Structure → Translate → HTML)
+        PipelineRequest pipelineRequest = PipelineRequest.builder()
+            .image(file)
+            .targetCountry(country.toUpperCase())
+            .generateHtml(true)
+            .build();
+        
+        return processFullPipeline(pipelineRequest)
+            .flatMap(pipelineResult -> {
+                log.info("Pipeline completed - OCR: {}s, Structure: {}s, Translate: {}s", 
+                    pipelineResult.getProcessingTime().getOcrTime(),
+                    pipelineResult.getProcessingTime().getStructureTime(),
+                    pipelineResult.getProcessingTime().getTranslateTime());
+                
+                // 2. 로컬 규칙 사전 검사 + RAG API로 FDA 규제 검증 (HTML 기반)
+                return validatePipelineResult(pipelineResult, country);
+            })
             // 3. 이력 저장
-            saveHistory(username, file.getOriginalFilename(), "validate", 
-                       "completed", validationResult.getTotalErrors(), 0, country);
-            
-            return validationResult;
-            
-        } catch (IOException e) {
-            log.error("File processing failed", e);
-            saveHistory(username, file.getOriginalFilename(), "validate", 
-                       "failed", 0, 0, country);
-            throw new RuntimeException("파일 처리 중 오류 발생: " + e.getMessage());
-        } catch (Exception e) {
-            log.error("Validation failed", e);
-            saveHistory(username, file.getOriginalFilename(), "validate", 
-                       "failed", 0, 0, country);
-            throw new RuntimeException("검증 처리 중 오류 발생: " + e.getMessage());
-        }
+            .flatMap(validationResult -> 
+                saveValidationHistory(username, file.getOriginalFilename(), country, null, validationResult)
+                    .thenReturn(validationResult))
+            .onErrorResume(e -> {
+                log.error("Validation failed", e);
+                return saveHistory(username, file.getOriginalFilename(), "validate", 
+                                  "failed", 0, 0, country)
+                    .then(Mono.error(failure(e, "검증 처리 중 오류 발생: ")));
+            });
     }
     
     /**
      * 라벨 번역 (HTML 반환)
      * Flow: Image → Food Label API (Full Pipeline) → HTML Output
      */
-    public String translateLabel(String username, MultipartFile file, String country) {
-        try {
-            log.info("Starting translation for user: {}, country: {}", username, country);
-            
-            // Food Label API 전체 파이프라인
-            PipelineRequest pipelineRequest = PipelineRequest.builder()
-                .image(file)
-                .targetCountry(country.toUpperCase())
-                .generateHtml(true)
-                .build();
-            
-            PipelineResponse result = foodLabelApiClient.processFullPipeline(pipelineRequest);
-            
-            log.info("Translation completed in {}s", 
-                result.getProcessingTime().getTotalTime());
-            
+    public Mono<String> translateLabel(String username, MultipartFile file, String country) {
+        log.info("Starting translation for user: {}, country: {}", username, country);
+        
+        // Food Label API 전체 파이프라인
+        PipelineRequest pipelineRequest = PipelineRequest.builder()
+            .image(file)
+            .targetCountry(country.toUpperCase())
+            .generateHtml(true)
+            .build();
+        
+        return processFullPipeline(pipelineRequest)
+            .doOnNext(result -> log.info("Translation completed in {}s", 
+                result.getProcessingTime().getTotalTime()))
             // 이력 저장
-            saveHistory(username, file.getOriginalFilename(), "translate", 
-                       "completed", 0, 0, country);
-            
-            return result.getHtmlOutput();
-            
-        } catch (IOException e) {
-            log.error("File processing failed", e);
-            saveHistory(username, file.getOriginalFilename(), "translate", 
-                       "failed", 0, 0, country);
-            throw new RuntimeException("파일 처리 중 오류 발생: " + e.getMessage());
-        } catch (Exception e) {
-            log.error("Translation failed", e);
-            saveHistory(username, file.getOriginalFilename(), "translate", 
-                       "failed", 0, 0, country);
-            throw new RuntimeException("번역 처리 중 오류 발생: " + e.getMessage());
-        }
+            .flatMap(result -> 
+                saveHistory(username, file.getOriginalFilename(), "translate", 
+                           "completed", 0, 0, country)
+                    .thenReturn(result.getHtmlOutput()))
+            .onErrorResume(e -> {
+                log.error("Translation failed", e);
+                return saveHistory(username, file.getOriginalFilename(), "translate", 
+                                  "failed", 0, 0, country)
+                    .then(Mono.error(failure(e, "번역 처리 중 오류 발생: ")));
+            });
+    }
+    
+    /**
+     * 전체 파이프라인 단계만 실행 (이력 저장 없음) - 비동기 작업의 단계 실행용
+     */
+    public Mono<PipelineResponse> runPipeline(MultipartFile file, String country) {
+        PipelineRequest pipelineRequest = PipelineRequest.builder()
+            .image(file)
+            .targetCountry(country.toUpperCase())
+            .generateHtml(true)
+            .build();
+        
+        return processFullPipeline(pipelineRequest);
+    }
+    
+    /**
+     * RAG API FDA 규제 검증 단계만 실행
+     * 같은 HTML(정규화 기준)과 같은 코퍼스 버전의 결과가 캐시에 있으면 RAG 를 호출하지 않는다.
+     * 요청 마감이 있으면 남은 시간만 기다린다.
+     */
+    public Mono<ValidationResponse> validateHtml(String html) {
+        return validationCache.validation(html, () -> requestDeadlines.stage("rag-validate", ragApiClient.validateWithFDA(html)));
+    }
+    
+    /**
+     * 파이프라인 결과 검증 - 번역/구조화 데이터로 로컬 규칙 사전 검사 후 RAG 검증
+     */
+    public Mono<ValidationResponse> validatePipelineResult(PipelineResponse result, String country) {
+        return validateHtml(result.getHtmlOutput(), country,
+                            result.getTranslatedData() == null ? null : result.getTranslatedData().getTranslatedData(),
+                            result.getStructuredData() == null ? null : result.getStructuredData().getData());
+    }
+    
+    /**
+     * 로컬 규칙 사전 검사 + RAG 검증 (label.validation.precheck.mode: 차단 규칙 위반 시 RAG 생략 또는 결과 병합)
+     */
+    public Mono<ValidationResponse> validateHtml(String html, String country, Object translatedData, Object structuredData) {
+        return validationPrecheck.validation(country, translatedData, structuredData, html, () -> validateHtml(html));
     }
     
     /**
      * 상세 번역 결과 (구조화된 데이터 포함)
      */
-    public PipelineResponse translateLabelDetailed(String username, MultipartFile file, String country) {
-        try {
-            log.info("Starting detailed translation for user: {}, country: {}", username, country);
-            
-            PipelineRequest pipelineRequest = PipelineRequest.builder()
-                .image(file)
-                .targetCountry(country.toUpperCase())
-                .generateHtml(true)
-                .build();
-            
-            PipelineResponse result = foodLabelApiClient.processFullPipeline(pipelineRequest);
-            
-            saveHistory(username, file.getOriginalFilename(), "translate", 
-                       "completed", 0, 0, country);
-            
-            return result;
-            
-        } catch (IOException e) {
-            log.error("File processing failed", e);
-            saveHistory(username, file.getOriginalFilename(), "translate", 
-                       "failed", 0, 0, country);
-            throw new RuntimeException("파일 처리 중 오류 발생: " + e.getMessage());
-        } catch (Exception e) {
-            log.error("Translation failed", e);
-            saveHistory(username, file.getOriginalFilename(), "translate", 
-                       "failed", 0, 0, country);
-            throw new RuntimeException("번역 처리 중 오류 발생: " + e.getMessage());
-        }
+    public Mono<PipelineResponse> translateLabelDetailed(String username, MultipartFile file, String country) {
+        log.info("Starting detailed translation for user: {}, country: {}", username, country);
+        
+        PipelineRequest pipelineRequest = PipelineRequest.builder()
+            .image(file)
+            .targetCountry(country.toUpperCase())
+            .generateHtml(true)
+            .build();
+        
+        return processFullPipeline(pipelineRequest)
+            .flatMap(result -> 
+                saveHistory(username, file.getOriginalFilename(), "translate", 
+                           "completed", 0, 0, country)
+                    .thenReturn(result))
+            .onErrorResume(e -> {
+                log.error("Translation failed", e);
+                return saveHistory(username, file.getOriginalFilename(), "translate", 
+                                  "failed", 0, 0, country)
+                    .then(Mono.error(failure(e, "번역 처리 중 오류 발생: ")));
+            });
+    }
+    
+    /**
+     * 같은 라벨을 여러 장 촬영한 경우 품질 기준을 통과한 가장 선명한 한 장으로 처리
+     * (한 장이면 품질 검사만 수행, 처리 중에는 품질 검사를 반복하지 않음)
+     */
+    public <T> Mono<T> withBestFrame(List<MultipartFile> frames, Function<MultipartFile, Mono<T>> body) {
+        return imageQualityGate.withBest(frames, body);
     }
     
     /**
      * OCR만 실행 (텍스트 추출만)
      */
-    public OcrResponse extractTextOnly(MultipartFile file) throws IOException {
+    public Mono<OcrResponse> extractTextOnly(MultipartFile file) {
         log.info("Extracting text from: {}", file.getOriginalFilename());
-        return foodLabelApiClient.extractText(file);
+        return extractText(file);
     }
     
     /**
      * 구조화만 실행 (텍스트 → JSON)
      */
-    public StructureResponse structureOnly(List<String> texts, String language) {
+    public Mono<StructureResponse> structureOnly(List<String> texts, String language) {
         log.info("Structuring data for language: {}", language);
         
         StructureRequest request = StructureRequest.builder()
@@ -190,139 +250,337 @@ public class LabelService {
             .texts(texts)
             .build();
         
-        return foodLabelApiClient.structureData(request);
+        return structureData(request);
     }
     
     /**
      * 배치 번역 (여러 이미지 동시 처리)
+     * 단계별 파이프라인으로 OCR/구조화/번역/HTML 을 겹쳐 실행하고, 실패한 파일이 있으면 에러
      */
-    public List<PipelineResponse> translateBatch(String username, List<MultipartFile> files, String country) {
-        try {
-            log.info("Starting batch translation for {} files", files.size());
-            
-            if (files.size() > 20) {
-                throw new IllegalArgumentException("최대 20개 파일까지 처리 가능합니다.");
-            }
-            
-            List<PipelineRequest> requests = files.stream()
-                .map(file -> PipelineRequest.builder()
-                    .image(file)
-                    .targetCountry(country.toUpperCase())
-                    .generateHtml(true)
-                    .build())
-                .toList();
-            
-            List<PipelineResponse> results = foodLabelApiClient
-                .processBatchPipeline(requests)
-                .collectList()
-                .block();
-            
-            // 배치 이력 저장
-            files.forEach(file -> 
+    public Flux<PipelineResponse> translateBatch(String username, List<MultipartFile> files, String country) {
+        log.info("Starting batch translation for {} files", files.size());
+        
+        if (files.size() > 20) {
+            return Flux.error(new IllegalArgumentException("최대 20개 파일까지 처리 가능합니다."));
+        }
+        
+        // 배치 이력 저장 (전체 완료 후)
+        Mono<Void> histories = Flux.fromIterable(files)
+            .concatMap(file -> 
                 saveHistory(username, file.getOriginalFilename(), "translate_batch", 
-                           "completed", 0, 0, country)
-            );
-            
-            return results;
-            
-        } catch (Exception e) {
-            log.error("Batch translation failed", e);
-            throw new RuntimeException("배치 번역 처리 중 오류 발생: " + e.getMessage());
+                           "completed", 0, 0, country))
+            .then();
+        
+        return stagedBatchPipeline.run(files, country)
+            .map(StagedBatchPipeline.Completed::item)
+            .handle((BatchItemResult item, SynchronousSink<PipelineResponse> sink) -> {
+                if (item.isSuccess()) {
+                    sink.next(item.getResult());
+                } else {
+                    sink.error(new RuntimeException(item.getFilename() + " - " + item.getError()));
+                }
+            })
+            .concatWith(histories.then(Mono.empty()))
+            .onErrorMap(e -> !(e instanceof IllegalArgumentException), e -> {
+                log.error("Batch translation failed", e);
+                return new RuntimeException("배치 번역 처리 중 오류 발생: " + e.getMessage());
+            });
+    }
+    
+    /**
+     * 배치 번역 (스트리밍) - 파일별 결과를 완료되는 순서대로 방출
+     * 실패한 파일은 실패 결과로 방출하고 나머지 파일은 계속 처리한다.
+     * 단계별 동시 실행 수는 StagedBatchPipeline 설정(label.batch.stages.*)을 따른다.
+     */
+    public Flux<BatchItemResult> translateBatchStream(String username, List<MultipartFile> files, String country) {
+        log.info("Starting streaming batch translation for {} files", files.size());
+        
+        if (files.size() > 20) {
+            return Flux.error(new IllegalArgumentException("최대 20개 파일까지 처리 가능합니다."));
         }
+        
+        return stagedBatchPipeline.run(files, country)
+            .map(StagedBatchPipeline.Completed::item)
+            .concatMap(item -> 
+                saveHistory(username, item.getFilename(), "translate_batch", 
+                           item.isSuccess() ? "completed" : "failed", 0, 0, country)
+                    .thenReturn(item));
     }
     
     /**
      * 다중 국가 번역 (하나의 이미지를 여러 국가 형식으로)
+     * OCR + 구조화는 1회, 국가별 번역 + HTML 생성은 최대 multiCountryParallelism 개씩 동시 실행.
+     * 국가별 제한 시간을 넘기거나 실패한 국가는 결과에 실패로 명시한다.
      */
-    public List<String> translateToMultipleCountries(String username, MultipartFile file, List<String> countries) {
-        try {
-            log.info("Translating to multiple countries: {}", countries);
-            
-            // 1. OCR + Structure
-            OcrResponse ocrResult = foodLabelApiClient.extractText(file);
-            
-            StructureRequest structRequest = StructureRequest.builder()
-                .language(ocrResult.getLanguage())
-                .texts(ocrResult.getTexts())
-                .build();
-            
-            StructureResponse structResult = foodLabelApiClient.structureData(structRequest);
-            
-            // 2. 다중 국가 번역
-            return countries.stream()
-                .map(country -> {
-                    try {
-                        TranslateRequest transRequest = TranslateRequest.builder()
-                            .language(ocrResult.getLanguage())
-                            .data(structResult.getData())
-                            .targetCountry(country.toUpperCase())
-                            .build();
+    public Mono<MultiCountryResponse> translateToMultipleCountries(String username, MultipartFile file, List<String> countries) {
+        log.info("Translating to multiple countries: {}", countries);
+        
+        List<String> targets = countries.stream().distinct().toList();
+        
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            
+            return prepareLabel(file)
+                .flatMap(label -> translateCountries(label, targets)
+                    .collectMap(MultiCountryResponse.CountryResult::getCountry)
+                    .map(byCountry -> {
+                        Map<String, MultiCountryResponse.CountryResult> ordered = new LinkedHashMap<>();
+                        targets.forEach(country -> ordered.put(country, byCountry.get(country)));
                         
-                        TranslateResponse transResult = foodLabelApiClient.translate(transRequest);
+                        List<String> failed = ordered.values().stream()
+                            .filter(result -> !result.isSuccess())
+                            .map(MultiCountryResponse.CountryResult::getCountry)
+                            .toList();
                         
-                        HtmlGenerateRequest htmlRequest = HtmlGenerateRequest.builder()
-                            .country(country.toUpperCase())
-                            .data(transResult.getTranslatedData())
+                        return MultiCountryResponse.builder()
+                            .results(ordered)
+                            .failedCountries(failed)
+                            .preprocessTimeMs(label.preprocessMs())
+                            .totalTimeMs(elapsedMs(startNanos))
                             .build();
-                        
-                        return foodLabelApiClient.generateHtml(htmlRequest);
-                        
-                    } catch (Exception e) {
-                        log.error("Failed to translate to country: {}", country, e);
-                        return null;
-                    }
-                })
-                .filter(html -> html != null)
-                .toList();
-            
-        } catch (IOException e) {
-            log.error("File processing failed", e);
-            throw new RuntimeException("파일 처리 중 오류 발생: " + e.getMessage());
-        } catch (Exception e) {
+                    }));
+        })
+        .onErrorMap(e -> {
             log.error("Multi-country translation failed", e);
-            throw new RuntimeException("다중 국가 번역 중 오류 발생: " + e.getMessage());
-        }
+            return failure(e, "다중 국가 번역 중 오류 발생: ");
+        });
     }
     
     /**
-     * 이력 저장 헬퍼 메서드
+     * 다중 국가 번역 (스트리밍) - 국가별 결과를 완료되는 순서대로 방출
+     */
+    public Flux<MultiCountryResponse.CountryResult> translateToMultipleCountriesStream(
+            String username, MultipartFile file, List<String> countries) {
+        log.info("Streaming translation to multiple countries: {}", countries);
+        
+        List<String> targets = countries.stream().distinct().toList();
+        
+        return prepareLabel(file)
+            .flatMapMany(label -> translateCountries(label, targets))
+            .onErrorMap(e -> {
+                log.error("Multi-country translation failed", e);
+                return failure(e, "다중 국가 번역 중 오류 발생: ");
+            });
+    }
+    
+    /**
+     * OCR + 구조화 (국가별 번역의 공통 입력)
+     */
+    private Mono<PreparedLabel> prepareLabel(MultipartFile file) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            
+            return extractText(file)
+                .flatMap(ocrResult -> {
+                    StructureRequest structRequest = StructureRequest.builder()
+                        .language(ocrResult.getLanguage())
+                        .texts(ocrResult.getTexts())
+                        .build();
+                    
+                    return structureData(structRequest)
+                        .map(structResult -> new PreparedLabel(
+                            ocrResult.getLanguage(), structResult.getData(), elapsedMs(startNanos)));
+                });
+        });
+    }
+    
+    /**
+     * 국가별 번역 + HTML (병렬, 완료 순서대로 방출)
      */
-    private void saveHistory(String username, String fileName, String type, 
-                            String status, int errorCount, int warningCount, String country) {
-        try {
-            LocalDateTime now = LocalDateTime.now();
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy.MM.dd");
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+    private Flux<MultiCountryResponse.CountryResult> translateCountries(PreparedLabel label, List<String> targets) {
+        return Flux.fromIterable(targets)
+            .flatMap(country -> translateCountry(label.language(), label.data(), country),
+                multiCountryParallelism);
+    }
+    
+    /**
+     * 단일 국가 번역 + HTML 생성 (실패/시간 초과 시 실패 결과로 변환)
+     */
+    private Mono<MultiCountryResponse.CountryResult> translateCountry(String language, Object data, String country) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
             
-            History history = new History();
-            history.setType(type);
-            history.setFileName(fileName);
-            history.setDate(now.format(dateFormatter));
-            history.setTime(now.format(timeFormatter));
-            history.setStatus(status);
-            history.setErrorCount(errorCount);
-            history.setWarningCount(warningCount);
-            history.setCountry(country);
+            TranslateRequest transRequest = TranslateRequest.builder()
+                .language(language)
+                .data(data)
+                .targetCountry(country.toUpperCase())
+                .build();
             
-            historyService.createHistory(username, history);
-            log.info("History saved for user: {}, type: {}, status: {}", username, type, status);
+            return translate(transRequest)
+                .flatMap(transResult -> {
+                    HtmlGenerateRequest htmlRequest = HtmlGenerateRequest.builder()
+                        .country(country.toUpperCase())
+                        .data(transResult.getTranslatedData())
+                        .build();
+                    
+                    return generateHtml(htmlRequest);
+                })
+                .timeout(multiCountryTimeout)
+                .map(html -> MultiCountryResponse.CountryResult.builder()
+                    .country(country)
+                    .success(true)
+                    .html(html)
+                    .elapsedMs(elapsedMs(startNanos))
+                    .build())
+                .onErrorResume(e -> {
+                    log.error("Failed to translate to country: {}", country, e);
+                    String error = e instanceof TimeoutException
+                        ? "제한 시간(" + multiCountryTimeout.toSeconds() + "s) 초과"
+                        : e.getMessage();
+                    return Mono.just(MultiCountryResponse.CountryResult.builder()
+                        .country(country)
+                        .success(false)
+                        .error(error)
+                        .elapsedMs(elapsedMs(startNanos))
+                        .build());
+                });
+        });
+    }
+    
+    /**
+     * OCR + 구조화 결과
+     */
+    private record PreparedLabel(String language, Object data, long preprocessMs) {
+    }
+    
+    /**
+     * 처리 실패 → 사용자 응답용 예외 (CustomException 은 상태 코드/메시지를 그대로 전달)
+     */
+    private static Throwable failure(Throwable e, String message) {
+        return e instanceof CustomException ? e : new RuntimeException(message + e.getMessage());
+    }
+    
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+    
+    // ==================== CACHED UPSTREAM CALLS ====================
+    
+    /**
+     * OCR (이미지 SHA-256 기준 캐시, 업로드는 1회 스풀 + 품질 검사 후 파일 기반 전송)
+     */
+    private Mono<OcrResponse> extractText(MultipartFile file) {
+        return uploadSpooler.withSpooled(file, image -> labelResultCache.ocr(image, () -> imageQualityGate.check(image)
+            .flatMap(foodLabelApiClient::extractText)));
+    }
+    
+    /**
+     * 구조화 (정규화된 texts + language 기준 캐시)
+     */
+    private Mono<StructureResponse> structureData(StructureRequest request) {
+        return labelResultCache.structure(request, () -> foodLabelApiClient.structureData(request));
+    }
+    
+    /**
+     * 번역 (구조화 데이터 해시 + 대상 국가 기준 캐시)
+     */
+    private Mono<TranslateResponse> translate(TranslateRequest request) {
+        return translationCache.translate(request, () -> foodLabelApiClient.translate(request));
+    }
+    
+    /**
+     * HTML 생성 (label.html.renderer: 원격 호출은 국가 + TranslatedData 해시 기준 캐시, 로컬은 템플릿 렌더링)
+     */
+    private Mono<String> generateHtml(HtmlGenerateRequest request) {
+        return labelHtmlRenderer.generateHtml(request);
+    }
+    
+    /**
+     * 전체 파이프라인 - 업로드를 1회 스풀(해시 계산 포함)하고 동시 동일 요청은 병합하고 (품질 검사는 병합된 호출에서 1회),
+     * 중간 결과(OCR, 구조화)를 캐시에 적재하여 이후 재업로드 시 재사용
+     */
+    private Mono<PipelineResponse> processFullPipeline(PipelineRequest request) {
+        return uploadSpooler.withSpooled(request.getImage(), image -> {
+            PipelineRequest spooled = PipelineRequest.builder()
+                .image(image)
+                .targetCountry(request.getTargetCountry())
+                .generateHtml(request.getGenerateHtml())
+                .build();
             
-        } catch (Exception e) {
-            log.error("Failed to save history", e);
-        }
+            return pipelineCoalescer.processFullPipeline(spooled)
+                .flatMap(result -> {
+                    labelResultCache.putStructure(result.getOcrResult(), result.getStructuredData());
+                    return labelResultCache.putOcr(image, result.getOcrResult())
+                        .thenReturn(result);
+                });
+        });
+    }
+    
+    /**
+     * 이력 저장 헬퍼 메서드
+     * JPA 호출은 블로킹이므로 블로킹 전용 스케줄러에서 실행
+     */
+    public Mono<Void> saveHistory(String username, String fileName, String type, 
+                                  String status, int errorCount, int warningCount, String country) {
+        return saveHistory(username, fileName, type, status, errorCount, warningCount, country, null);
+    }
+    
+    /**
+     * 이력 저장 (비동기 작업 - 처리한 업로드 블롭 해시 함께 기록)
+     */
+    public Mono<Void> saveHistory(String username, String fileName, String type, String status,
+                                  int errorCount, int warningCount, String country, String imageHash) {
+        return saveHistory(username, fileName, type, status, errorCount, warningCount, country, imageHash, null);
+    }
+    
+    /**
+     * 검증 완료 이력 저장 (RAG 검증을 생략한 부분 결과 여부 포함)
+     */
+    public Mono<Void> saveValidationHistory(String username, String fileName, String country, String imageHash,
+                                            ValidationResponse result) {
+        return saveHistory(username, fileName, "validate", "completed", result.getTotalErrors(), 0,
+                           country, imageHash, result.isRagSkipped());
+    }
+    
+    private Mono<Void> saveHistory(String username, String fileName, String type, String status,
+                                   int errorCount, int warningCount, String country, String imageHash,
+                                   Boolean ragSkipped) {
+        return Mono.fromRunnable(() -> {
+                LocalDateTime now = LocalDateTime.now();
+                DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+                DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+                
+                History history = new History();
+                history.setType(type);
+                history.setFileName(fileName);
+                history.setDate(now.format(dateFormatter));
+                history.setTime(now.format(timeFormatter));
+                history.setStatus(status);
+                history.setErrorCount(errorCount);
+                history.setWarningCount(warningCount);
+                history.setCountry(country);
+                history.setImageHash(imageHash);
+                history.setRagSkipped(ragSkipped);
+                
+                historyService.createHistory(username, history);
+                log.info("History saved for user: {}, type: {}, status: {}", username, type, status);
+            })
+            .subscribeOn(labelBlockingScheduler)
+            .onErrorResume(e -> {
+                log.error("Failed to save history", e);
+                return Mono.empty();
+            })
+            .then();
     }
     
     /**
      * API 상태 확인
      */
-    public boolean checkApiHealth() {
+    public Mono<Boolean> checkApiHealth() {
         return foodLabelApiClient.isHealthy();
     }
     
     /**
-     * Circuit Breaker 상태 확인
+     * 엔드포인트별 Circuit Breaker 상태 확인
+     */
+    public Map<String, String> getCircuitBreakerStates() {
+        return foodLabelApiClient.getCircuitBreakerStates();
+    }
+    
+    /**
+     * Food Label API 인스턴스별 부하 분산 상태
      */
-    public String getCircuitBreakerState() {
-        return foodLabelApiClient.getCircuitBreakerState();
+    public Map<String, String> getInstanceStates() {
+        return foodLabelApiClient.getInstanceStates();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package com.labelai.service;
+
+import com.labelai.api.FoodLabelApiClient;
+import com.labelai.api.RequestDeadline;
+import com.labelai.api.RequestPriority;
+import com.labelai.cache.LabelResultCache;
+import com.labelai.dto.PipelineRequest;
+import com.labelai.dto.PipelineResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 동일 파이프라인 요청 병합 (single-flight)
+ * (이미지 해시, 국가, generateHtml, 우선순위 레인) 이 같은 요청이 동시에 들어오면 업스트림 호출 1회를 공유한다.
+ * - 결과/에러는 대기 중인 모든 구독자에게 전달
+ * - 공유 호출은 어느 요청의 마감에도 묶이지 않고, 각 요청은 자기 마감(RequestDeadlines.within)까지만 기다린다
+ * - 레인이 다르면 합치지 않는다 (bulk 작업이 시작한 호출에 interactive 요청이 묶이지 않도록)
+ * - 모든 구독자가 취소하면 업스트림 호출도 취소
+ * - 이미지 품질 검사는 공유 호출에서 1회 (합류한 요청은 다시 검사하지 않음)
+ * - 공유 호출이 읽는 스풀 파일은 첫 요청이 아니라 공유 호출이 끝날 때까지 유지 ({@link UploadSpooler#retain})
+ */
+@Component
+@Slf4j
+public class PipelineCoalescer {
+    
+    private final FoodLabelApiClient foodLabelApiClient;
+    private final LabelResultCache labelResultCache;
+    private final UploadSpooler uploadSpooler;
+    private final ImageQualityGate imageQualityGate;
+    private final Map<String, Mono<PipelineResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+    
+    public PipelineCoalescer(
+            FoodLabelApiClient foodLabelApiClient,
+            LabelResultCache labelResultCache,
+            UploadSpooler uploadSpooler,
+            ImageQualityGate imageQualityGate,
+            MeterRegistry meterRegistry) {
+        this.foodLabelApiClient = foodLabelApiClient;
+        this.labelResultCache = labelResultCache;
+        this.uploadSpooler = uploadSpooler;
+        this.imageQualityGate = imageQualityGate;
+        this.coalescedCounter = Counter.builder("label.pipeline.coalesced")
+            .description("업스트림 호출을 공유한 파이프라인 요청 수")
+            .register(meterRegistry);
+        Gauge.builder("label.pipeline.in_flight", inFlight, Map::size)
+            .description("진행 중인 고유 파이프라인 호출 수")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * 전체 파이프라인 (동일 요청 병합)
+     */
+    public Mono<PipelineResponse> processFullPipeline(PipelineRequest request) {
+        return Mono.deferContextual(context -> labelResultCache.imageKey(request.getImage())
+            .flatMap(imageHash -> {
+                String lane = context.getOrDefault(RequestPriority.class, RequestPriority.interactive(null)).lane();
+                String key = imageHash + ":" + request.getTargetCountry() + ":" + request.getGenerateHtml() + ":" + lane;
+                return inFlight.compute(key, (k, existing) -> {
+                    if (existing != null) {
+                        coalescedCounter.increment();
+                        log.info("Coalescing pipeline request: {}", k);
+                        return existing;
+                    }
+                    return share(k, request);
+                });
+            }));
+    }
+    
+    /**
+     * 업스트림 호출을 구독자 수 기준(refCount)으로 공유하는 Mono 생성
+     * 호출은 첫 구독자의 Context 로 시작하므로 마감은 지운다
+     * (레인은 키에 포함되어 구독자 모두 같고, 공정 분배 기준 사용자는 호출을 시작한 요청의 사용자)
+     */
+    private Mono<PipelineResponse> share(String key, PipelineRequest request) {
+        AtomicReference<Mono<PipelineResponse>> self = new AtomicReference<>();
+        Mono<PipelineResponse> call = imageQualityGate.check(request.getImage())
+            .then(foodLabelApiClient.processFullPipeline(request))
+            .contextWrite(RequestDeadline::clear);
+        Mono<PipelineResponse> shared = uploadSpooler.retain(request.getImage(), call)
+            .doFinally(signal -> inFlight.remove(key, self.get()))
+            .flux()
+            .publish()
+            .refCount(1)
+            .singleOrEmpty();
+        self.set(shared);
+        return shared;
+    }
+}
@@ -0,0 +1,324 @@
+package com.labelai.service;
+
+import com.labelai.api.FoodLabelApiClient;
+import com.labelai.cache.LabelResultCache;
+import com.labelai.cache.TranslationCache;
+import com.labelai.dto.*;
+import com.labelai.dto.response.BatchItemResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+
+/**
+ * 단계별 배치 파이프라인
+ * /process 단일 호출 대신 OCR → 구조화 → 번역 → HTML 단계 엔드포인트를 직접 호출한다.
+ * 단계마다 대기열 크기와 동시 실행 수가 따로 있어 이미지 N+1 의 OCR 이
+ * 이미지 N 의 번역과 겹쳐 실행되므로, 처리량은 단계 합이 아닌 가장 느린 단계가 결정한다.
+ * - OCR 단계 전에 이미지 품질 검사, 실패한 항목은 이후 단계를 건너뛰고 실패 결과로 방출
+ * - 단계별 label.batch.stage.queue_depth / in_flight / duration 메트릭 노출
+ */
+@Component
+@Slf4j
+public class StagedBatchPipeline {
+    
+    public static final String STAGE_OCR = "ocr";
+    public static final String STAGE_STRUCTURE = "structure";
+    public static final String STAGE_TRANSLATE = "translate";
+    public static final String STAGE_HTML = "html";
+    
+    private final FoodLabelApiClient foodLabelApiClient;
+    private final LabelResultCache labelResultCache;
+    private final TranslationCache translationCache;
+    private final UploadSpooler uploadSpooler;
+    private final ImageQualityGate imageQualityGate;
+    private final LabelHtmlRenderer labelHtmlRenderer;
+    
+    private final Stage ocrStage;
+    private final Stage structureStage;
+    private final Stage translateStage;
+    private final Stage htmlStage;
+    
+    public StagedBatchPipeline(
+            FoodLabelApiClient foodLabelApiClient,
+            LabelResultCache labelResultCache,
+            TranslationCache translationCache,
+            UploadSpooler uploadSpooler,
+            ImageQualityGate imageQualityGate,
+            LabelHtmlRenderer labelHtmlRenderer,
+            MeterRegistry meterRegistry,
+            @Value("${label.batch.stages.ocr.concurrency:4}") int ocrConcurrency,
+            @Value("${label.batch.stages.ocr.queue:8}") int ocrQueue,
+            @Value("${label.batch.stages.structure.concurrency:4}") int structureConcurrency,
+            @Value("${label.batch.stages.structure.queue:8}") int structureQueue,
+            @Value("${label.batch.stages.translate.concurrency:6}") int translateConcurrency,
+            @Value("${label.batch.stages.translate.queue:8}") int translateQueue,
+            @Value("${label.batch.stages.html.concurrency:4}") int htmlConcurrency,
+            @Value("${label.batch.stages.html.queue:8}") int htmlQueue) {
+        this.foodLabelApiClient = foodLabelApiClient;
+        this.labelResultCache = labelResultCache;
+        this.translationCache = translationCache;
+        this.uploadSpooler = uploadSpooler;
+        this.imageQualityGate = imageQualityGate;
+        this.labelHtmlRenderer = labelHtmlRenderer;
+        this.ocrStage = new Stage(0, STAGE_OCR, ocrConcurrency, ocrQueue, meterRegistry);
+        this.structureStage = new Stage(1, STAGE_STRUCTURE, structureConcurrency, structureQueue, meterRegistry);
+        this.translateStage = new Stage(2, STAGE_TRANSLATE, translateConcurrency, translateQueue, meterRegistry);
+        this.htmlStage = new Stage(3, STAGE_HTML, htmlConcurrency, htmlQueue, meterRegistry);
+    }
+    
+    /**
+     * 배치 실행 - 파일별 결과를 완료되는 순서대로 방출
+     * index 는 입력 목록에서의 위치
+     */
+    public Flux<Completed> run(List<MultipartFile> files, String country) {
+        return Flux.defer(() -> {
+            Run run = new Run(ocrStage, structureStage, translateStage, htmlStage);
+            String targetCountry = country.toUpperCase();
+            
+            return Flux.range(0, files.size())
+                .map(index -> new Item(index, files.get(index), targetCountry))
+                .transform(items -> stage(run, ocrStage, items, this::ocr))
+                .transform(items -> stage(run, structureStage, items, this::structure))
+                .transform(items -> stage(run, translateStage, items, this::translate))
+                .transform(items -> stage(run, htmlStage, items, this::html))
+                .map(Item::toCompleted)
+                .doFinally(signal -> run.release());
+        });
+    }
+    
+    /**
+     * 단계 연결: 앞 단계 결과를 크기 queue 의 대기열에 받아 최대 concurrency 개씩 실행
+     * 대기열이 차면 앞 단계에 요청을 멈춰 역압을 전달한다.
+     */
+    private Flux<Item> stage(Run run, Stage stage, Flux<Item> upstream, Function<Item, Mono<Item>> work) {
+        return upstream
+            .doOnNext(item -> {
+                if (!item.isFailed()) {
+                    run.enqueue(stage);
+                }
+            })
+            .limitRate(stage.queueCapacity)
+            .flatMap(item -> item.isFailed() ? Mono.just(item) : Mono.defer(() -> {
+                run.dequeue(stage);
+                stage.inFlight.incrementAndGet();
+                long startNanos = System.nanoTime();
+                
+                return work.apply(item)
+                    .onErrorResume(e -> {
+                        log.error("Batch stage {} failed: {}", stage.name, item.file.getOriginalFilename(), e);
+                        return Mono.just(item.fail(stage.name, e));
+                    })
+                    .map(done -> {
+                        long elapsed = System.nanoTime() - startNanos;
+                        stage.duration.record(elapsed, TimeUnit.NANOSECONDS);
+                        done.stageNanos[stage.index] = elapsed;
+                        return done;
+                    })
+                    .doFinally(signal -> stage.inFlight.decrementAndGet());
+            }), stage.concurrency);
+    }
+    
+    // ==================== STAGES ====================
+    
+    private Mono<Item> ocr(Item item) {
+        return uploadSpooler.withSpooled(item.file, image -> labelResultCache.ocr(image, () -> imageQualityGate.check(image)
+                .flatMap(foodLabelApiClient::extractText)))
+            .map(result -> {
+                item.ocr = result;
+                return item;
+            });
+    }
+    
+    private Mono<Item> structure(Item item) {
+        StructureRequest request = StructureRequest.builder()
+            .language(item.ocr.getLanguage())
+            .texts(item.ocr.getTexts())
+            .build();
+        
+        return labelResultCache.structure(request, () -> foodLabelApiClient.structureData(request))
+            .map(result -> {
+                item.structure = result;
+                return item;
+            });
+    }
+    
+    private Mono<Item> translate(Item item) {
+        TranslateRequest request = TranslateRequest.builder()
+            .language(item.ocr.getLanguage())
+            .data(item.structure.getData())
+            .targetCountry(item.country)
+            .build();
+        
+        return translationCache.translate(request, () -> foodLabelApiClient.translate(request))
+            .map(result -> {
+                item.translate = result;
+                return item;
+            });
+    }
+    
+    private Mono<Item> html(Item item) {
+        HtmlGenerateRequest request = HtmlGenerateRequest.builder()
+            .country(item.country)
+            .data(item.translate.getTranslatedData())
+            .build();
+        
+        return labelHtmlRenderer.generateHtml(request)
+            .map(result -> {
+                item.html = result;
+                return item;
+            });
+    }
+    
+    // ==================== STATE ====================
+    
+    /**
+     * 배치 항목 결과
+     */
+    public record Completed(int index, BatchItemResult item) {
+    }
+    
+    /**
+     * 단계 설정 + 메트릭 (모든 배치가 공유)
+     */
+    private static final class Stage {
+        private final int index;
+        private final String name;
+        private final int concurrency;
+        private final int queueCapacity;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Timer duration;
+        
+        private Stage(int index, String name, int concurrency, int queueCapacity, MeterRegistry meterRegistry) {
+            this.index = index;
+            this.name = name;
+            this.concurrency = Math.max(1, concurrency);
+            this.queueCapacity = Math.max(1, queueCapacity);
+            
+            Gauge.builder("label.batch.stage.queue_depth", queued, AtomicInteger::get)
+                .description("단계 실행을 기다리는 배치 항목 수")
+                .tag("stage", name)
+                .register(meterRegistry);
+            Gauge.builder("label.batch.stage.in_flight", inFlight, AtomicInteger::get)
+                .description("단계에서 처리 중인 배치 항목 수")
+                .tag("stage", name)
+                .register(meterRegistry);
+            this.duration = Timer.builder("label.batch.stage.duration")
+                .description("배치 단계 처리 시간")
+                .tag("stage", name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        }
+    }
+    
+    /**
+     * 배치 1회 실행 동안의 단계별 대기 수
+     * 취소/에러로 대기열에 남은 항목을 전역 게이지에서 되돌리기 위해 따로 센다.
+     */
+    private static final class Run {
+        private final Stage[] stages;
+        private final AtomicIntegerArray queued;
+        
+        private Run(Stage... stages) {
+            this.stages = stages;
+            this.queued = new AtomicIntegerArray(stages.length);
+        }
+        
+        void enqueue(Stage stage) {
+            queued.incrementAndGet(stage.index);
+            stage.queued.incrementAndGet();
+        }
+        
+        void dequeue(Stage stage) {
+            queued.decrementAndGet(stage.index);
+            stage.queued.decrementAndGet();
+        }
+        
+        void release() {
+            for (int i = 0; i < stages.length; i++) {
+                int remaining = queued.getAndSet(i, 0);
+                if (remaining != 0) {
+                    stages[i].queued.addAndGet(-remaining);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 단계 사이를 이동하는 배치 항목
+     */
+    private static final class Item {
+        private final int index;
+        private final MultipartFile file;
+        private final String country;
+        private final long startNanos = System.nanoTime();
+        private final long[] stageNanos = new long[4];
+        
+        private OcrResponse ocr;
+        private StructureResponse structure;
+        private TranslateResponse translate;
+        private String html;
+        private String error;
+        
+        private Item(int index, MultipartFile file, String country) {
+            this.index = index;
+            this.file = file;
+            this.country = country;
+        }
+        
+        boolean isFailed() {
+            return error != null;
+        }
+        
+        Item fail(String stage, Throwable e) {
+            this.error = stage + ": " + e.getMessage();
+            return this;
+        }
+        
+        Completed toCompleted() {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (isFailed()) {
+                return new Completed(index, BatchItemResult.builder()
+                    .filename(file.getOriginalFilename())
+                    .success(false)
+                    .error(error)
+                    .elapsedMs(elapsedMs)
+                    .build());
+            }
+            
+            PipelineResponse result = PipelineResponse.builder()
+                .ocrResult(ocr)
+                .structuredData(structure)
+                .translatedData(translate)
+                .htmlOutput(html)
+                .processingTime(new PipelineResponse.ProcessingTime(
+                    seconds(stageNanos[0]), seconds(stageNanos[1]),
+                    seconds(stageNanos[2]), seconds(stageNanos[3]),
+                    elapsedMs / 1000.0))
+                .build();
+            
+            return new Completed(index, BatchItemResult.builder()
+                .filename(file.getOriginalFilename())
+                .success(true)
+                .result(result)
+                .elapsedMs(elapsedMs)
+                .build());
+        }
+        
+        private static Double seconds(long nanos) {
+            return nanos / 1_000_000_000.0;
+        }
+    }
+}
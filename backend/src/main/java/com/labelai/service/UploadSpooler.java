@@ -0,0 +1,108 @@
+package com.labelai.service;
+
+import com.labelai.util.ContentHashed;
+import com.labelai.util.FileSystemMultipartFile;
+import com.labelai.util.SpooledMultipartFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 업로드 스풀러
+ * 요청으로 받은 이미지를 스풀 디렉토리로 옮기고(컨테이너가 디스크에 받아 둔 파트는 이름만 바꿈) 해시를 계산한다.
+ * 스풀 디렉토리는 컨테이너 업로드 임시 디렉토리와 같은 파일시스템에 두어야 다시 기록하지 않는다.
+ * 이후 캐시 키 계산과 업스트림 전송(FileSystemResource)은 스풀 파일을 사용하고,
+ * 스풀 파일을 쓰는 쪽(요청, 요청이 끝난 뒤에도 이어지는 공유 업스트림 호출)이 모두 끝나거나 취소되면 삭제한다.
+ */
+@Component
+@Slf4j
+public class UploadSpooler {
+    
+    private final Scheduler blockingScheduler;
+    private final Path spoolDir;
+    private final Map<Path, Integer> references = new ConcurrentHashMap<>();
+    
+    public UploadSpooler(
+            Scheduler labelBlockingScheduler,
+            @Value("${label.upload.spool-dir:${java.io.tmpdir}/label-spool}") String spoolDir) throws IOException {
+        this.blockingScheduler = labelBlockingScheduler;
+        this.spoolDir = Files.createDirectories(Paths.get(spoolDir));
+    }
+    
+    /**
+     * 스풀 파일로 body 실행 후 삭제
+     * 이미 디스크에 있는 파일(비동기 작업 파일, 스풀 파일, 블롭 저장소 파일)은 그대로 사용한다.
+     * 컨테이너 파트는 옮겨지므로 요청당 한 번만 스풀하고, 이후에는 body 가 받은 파일을 쓴다.
+     */
+    public <T> Mono<T> withSpooled(MultipartFile file, Function<MultipartFile, Mono<T>> body) {
+        if (file instanceof FileSystemMultipartFile || file instanceof ContentHashed) {
+            return body.apply(file);
+        }
+        return Mono.usingWhen(spool(file), body::apply, this::release);
+    }
+    
+    /**
+     * work 가 끝날 때까지 스풀 파일 유지 (스풀 파일이 아니면 그대로 실행)
+     * 여러 요청이 공유하는 업스트림 호출은 스풀 파일을 만든 요청이 먼저 끝나거나 취소되어도
+     * 재시도/헤지에서 같은 파일을 다시 읽으므로 호출 수명 동안 참조를 잡아 둔다.
+     */
+    public <T> Mono<T> retain(MultipartFile file, Mono<T> work) {
+        if (!(file instanceof SpooledMultipartFile spooled)) {
+            return work;
+        }
+        return Mono.usingWhen(
+            Mono.fromCallable(() -> {
+                if (references.computeIfPresent(spooled.getPath(), (path, count) -> count + 1) == null) {
+                    throw new IllegalStateException("Spool file already deleted: " + spooled.getPath());
+                }
+                return spooled;
+            }),
+            retained -> work,
+            this::release);
+    }
+    
+    private Mono<MultipartFile> spool(MultipartFile file) {
+        return Mono.fromCallable(() -> {
+                Path target = Files.createTempFile(spoolDir, "upload-", ".tmp");
+                try {
+                    MultipartFile spooled = SpooledMultipartFile.spool(file, target);
+                    references.put(target, 1);
+                    return spooled;
+                } catch (IOException e) {
+                    Files.deleteIfExists(target);
+                    throw e;
+                }
+            })
+            .subscribeOn(blockingScheduler);
+    }
+    
+    /**
+     * 참조 반납 - 마지막 참조이면 파일 삭제
+     */
+    private Mono<Void> release(MultipartFile file) {
+        Path path = ((FileSystemMultipartFile) file).getPath();
+        if (references.computeIfPresent(path, (p, count) -> count > 1 ? count - 1 : null) != null) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Failed to delete spool file: {}", path, e);
+                }
+            })
+            .subscribeOn(blockingScheduler)
+            .then();
+    }
+}
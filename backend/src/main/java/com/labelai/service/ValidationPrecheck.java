@@ -0,0 +1,169 @@
+package com.labelai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.labelai.dto.response.ValidationResponse;
+import com.labelai.util.LabelRuleSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * RAG 검증 전 로컬 규칙 사전 검사 (label.validation.precheck)
+ * 번역/구조화 데이터를 선언적 규칙 집합(필수 항목, 반올림, %DV, 알레르기 유발물질)으로 평가한다.
+ * - short-circuit: 차단(blocking) 규칙 위반이 있으면 RAG 를 호출하지 않고 로컬 결과만 반환 (ragSkipped=true, label.validation.precheck.rag_saved)
+ * - merge: 항상 RAG 를 호출하고, RAG 결과에 없는 로컬 위반을 덧붙인다
+ * - off: 사전 검사 없이 RAG 만
+ * 규칙 집합의 대상 국가가 아니거나 번역 데이터가 없으면(HTML 만 있는 검증) RAG 만 호출한다.
+ */
+@Component
+@Slf4j
+public class ValidationPrecheck {
+    
+    public static final String OFF = "off";
+    public static final String MERGE = "merge";
+    public static final String SHORT_CIRCUIT = "short-circuit";
+    
+    private final LabelRuleSet ruleSet;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Timer duration;
+    private final Counter ragSaved;
+    
+    @Value("${label.validation.precheck.mode:merge}")
+    private String mode;
+    
+    public ValidationPrecheck(
+            @Value("${label.validation.precheck.rules:classpath:rules/fda-precheck.json}") Resource rules,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) throws IOException {
+        try (InputStream in = rules.getInputStream()) {
+            this.ruleSet = LabelRuleSet.load(in, objectMapper);
+        }
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.duration = Timer.builder("label.validation.precheck.duration")
+            .description("로컬 규칙 사전 검사 시간")
+            .register(meterRegistry);
+        this.ragSaved = Counter.builder("label.validation.precheck.rag_saved")
+            .description("차단 규칙 위반으로 생략한 RAG 검증 호출 수")
+            .register(meterRegistry);
+        log.info("Validation precheck rules loaded: version={}, rules={}", ruleSet.version(), ruleSet.rules().size());
+    }
+    
+    /**
+     * 사전 검사 후 RAG 검증 (rag 는 구독 시 RAG 를 호출해야 한다)
+     */
+    public Mono<ValidationResponse> validation(String country, Object translatedData, Object structuredData,
+                                               String html, Supplier<Mono<ValidationResponse>> rag) {
+        return Mono.defer(() -> {
+            if (OFF.equals(mode) || translatedData == null || !ruleSet.appliesTo(country)) {
+                outcome("skipped");
+                return rag.get();
+            }
+            ObjectNode root = objectMapper.createObjectNode();
+            root.set("translated", objectMapper.valueToTree(translatedData));
+            root.set("structured", objectMapper.valueToTree(structuredData));
+            List<LabelRuleSet.Finding> findings = duration.record(() -> ruleSet.evaluate(root));
+            findings.forEach(finding -> Counter.builder("label.validation.precheck.findings")
+                .description("규칙별 사전 검사 위반 수")
+                .tag("rule", finding.rule().id())
+                .register(meterRegistry)
+                .increment());
+            
+            if (SHORT_CIRCUIT.equals(mode) && findings.stream().anyMatch(finding -> finding.rule().blocking())) {
+                outcome("short-circuit");
+                ragSaved.increment();
+                return Mono.just(response(root.path("translated"), html, errors(findings)));
+            }
+            outcome(findings.isEmpty() ? "clean" : "merged");
+            return rag.get().map(result -> merge(result, findings));
+        });
+    }
+    
+    /**
+     * 규칙 집합 버전, 모드, 생략한 RAG 호출 수
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("version", ruleSet.version());
+        report.put("mode", mode);
+        report.put("rules", ruleSet.rules().size());
+        report.put("evaluated", (long) duration.count());
+        report.put("ragCallsSaved", (long) ragSaved.count());
+        return report;
+    }
+    
+    /**
+     * RAG 결과 + RAG 결과에 없는 로컬 위반 (위치 유형 + 항목/현재 값 기준)
+     */
+    private ValidationResponse merge(ValidationResponse result, List<LabelRuleSet.Finding> findings) {
+        if (findings.isEmpty()) {
+            return result;
+        }
+        List<ValidationResponse.ValidationError> errors =
+            new ArrayList<>(result.getErrors() == null ? List.of() : result.getErrors());
+        Set<String> seen = new HashSet<>();
+        errors.forEach(error -> seen.add(key(error)));
+        for (ValidationResponse.ValidationError error : errors(findings)) {
+            if (seen.add(key(error))) {
+                errors.add(error);
+            }
+        }
+        return ValidationResponse.builder()
+            .productName(result.getProductName())
+            .sourceHtml(result.getSourceHtml())
+            .productType(result.getProductType())
+            .totalErrors(errors.size())
+            .errors(errors)
+            .build();
+    }
+    
+    private ValidationResponse response(JsonNode translated, String html,
+                                        List<ValidationResponse.ValidationError> errors) {
+        return ValidationResponse.builder()
+            .productName(translated.path("product").path("brand").asText(null))
+            .sourceHtml(html)
+            .productType(translated.path("product").path("type").asText(null))
+            .totalErrors(errors.size())
+            .errors(errors)
+            .ragSkipped(true)
+            .build();
+    }
+    
+    private static List<ValidationResponse.ValidationError> errors(List<LabelRuleSet.Finding> findings) {
+        return findings.stream().map(LabelRuleSet.Finding::error).toList();
+    }
+    
+    private static String key(ValidationResponse.ValidationError error) {
+        String elementType = error.getLocation() == null ? "" : error.getLocation().getElementType();
+        String subject = error.getMissing() != null ? error.getMissing().getItem()
+            : error.getIncorrect() != null ? error.getIncorrect().getCurrentValue() : "";
+        return (elementType + "|" + subject).toLowerCase(Locale.ROOT);
+    }
+    
+    private void outcome(String outcome) {
+        Counter.builder("label.validation.precheck")
+            .description("사전 검사 결과 (short-circuit: RAG 생략, merged: RAG 결과에 병합, clean: 위반 없음, skipped: 대상 아님)")
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+}
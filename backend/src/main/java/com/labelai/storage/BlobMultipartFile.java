@@ -0,0 +1,207 @@
+package com.labelai.storage;
+
+import com.labelai.util.ContentHashed;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 세그먼트 파일의 한 구간(offset, length)을 MultipartFile 로 노출
+ * - getBytes: 메모리 매핑 후 복사
+ * - transferTo: FileChannel.transferTo (커널 복사)
+ * - getInputStream / getResource: 구간만 읽는 채널 기반 스트림 (WebClient 전송용)
+ */
+public class BlobMultipartFile implements MultipartFile, ContentHashed {
+    
+    private final Path segment;
+    private final long offset;
+    private final long length;
+    private final String sha256;
+    private final String originalFilename;
+    private final String contentType;
+    
+    public BlobMultipartFile(Path segment, long offset, long length, String sha256,
+                             String originalFilename, String contentType) {
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+        this.sha256 = sha256;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+    }
+    
+    @Override
+    public String getSha256() {
+        return sha256;
+    }
+    
+    @Override
+    public String getName() {
+        return "file";
+    }
+    
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+    
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return length == 0;
+    }
+    
+    @Override
+    public long getSize() {
+        return length;
+    }
+    
+    @Override
+    public byte[] getBytes() throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            byte[] bytes = new byte[(int) length];
+            mapped.get(bytes);
+            return bytes;
+        }
+    }
+    
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Channels.newInputStream(openChannel());
+    }
+    
+    @Override
+    public Resource getResource() {
+        return new BlobResource();
+    }
+    
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+    
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        try (FileChannel src = FileChannel.open(segment, StandardOpenOption.READ);
+             FileChannel dst = FileChannel.open(dest, StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = offset;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = src.transferTo(position, remaining, dst);
+                if (sent <= 0) {
+                    throw new IOException("Blob segment truncated: " + segment);
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+    
+    /**
+     * 구간만 읽는 채널
+     */
+    private ReadableByteChannel openChannel() throws IOException {
+        FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ);
+        return new RegionChannel(channel, offset, length);
+    }
+    
+    /**
+     * FileChannel 의 [offset, offset + length) 구간 읽기
+     */
+    private static final class RegionChannel implements ReadableByteChannel {
+        
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+        
+        private RegionChannel(FileChannel channel, long offset, long length) {
+            this.channel = channel;
+            this.position = offset;
+            this.end = offset + length;
+        }
+        
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            long remaining = end - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int limit = dst.limit();
+            if (dst.remaining() > remaining) {
+                dst.limit(dst.position() + (int) remaining);
+            }
+            try {
+                int read = channel.read(dst, position);
+                if (read > 0) {
+                    position += read;
+                }
+                return read;
+            } finally {
+                dst.limit(limit);
+            }
+        }
+        
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+    
+    /**
+     * 업스트림 multipart 전송용 Resource (파일 전체가 아닌 구간만 전송)
+     */
+    private final class BlobResource extends AbstractResource {
+        
+        @Override
+        public String getDescription() {
+            return "blob [" + sha256 + "]";
+        }
+        
+        @Override
+        public String getFilename() {
+            return originalFilename;
+        }
+        
+        @Override
+        public boolean exists() {
+            return true;
+        }
+        
+        @Override
+        public long contentLength() {
+            return length;
+        }
+        
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return BlobMultipartFile.this.getInputStream();
+        }
+        
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException {
+            return openChannel();
+        }
+    }
+}
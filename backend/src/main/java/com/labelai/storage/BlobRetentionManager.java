@@ -0,0 +1,264 @@
+package com.labelai.storage;
+
+import com.labelai.entity.BlobEntry;
+import com.labelai.entity.BlobSegment;
+import com.labelai.repository.BlobEntryRepository;
+import com.labelai.repository.BlobSegmentRepository;
+import com.labelai.util.FileUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업로드 보존/회수 관리자 (모든 노드에서 주기적으로 실행)
+ * - TTL: 참조가 없고 ttl 동안 사용되지 않은 블롭 회수 (이력 삭제로 고아가 된 블롭은 즉시 대상)
+ * - 용량 한도: 세그먼트 합계가 max-bytes 를 넘으면 참조 없는 블롭을 LRU 순으로 회수
+ * - 세그먼트 압축: 살아 있는 비율이 낮은 봉인 세그먼트의 블롭을 옮기고 파일 삭제
+ * - 이전 방식 업로드(./uploads/ 의 UUID 파일): 디렉토리를 한 번에 batch-size 개씩 이어서 훑어 ttl 지난 파일 삭제
+ * 모든 단계가 인덱스/세그먼트 테이블에서 batch-size 만큼만 읽으므로 파일 수가 늘어도 한 번의 실행 비용은 일정하다.
+ * 처리 중인 작업이 고정한 블롭(참조 수 > 0)은 회수/이동하지 않는다.
+ */
+@Component
+@Slf4j
+public class BlobRetentionManager {
+    
+    private static final String LEGACY_UPLOAD_DIR = "./uploads/";
+    
+    private final BlobStore blobStore;
+    private final BlobEntryRepository blobEntryRepository;
+    private final BlobSegmentRepository blobSegmentRepository;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final AtomicLong liveBytes = new AtomicLong();
+    
+    @Value("${label.blob.retention.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${label.blob.retention.ttl:P30D}")
+    private Duration ttl;
+    
+    @Value("${label.blob.retention.max-bytes:20GB}")
+    private DataSize maxBytes;
+    
+    @Value("${label.blob.retention.low-watermark:0.8}")
+    private double lowWatermark;
+    
+    @Value("${label.blob.retention.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${label.blob.retention.compact-threshold:0.5}")
+    private double compactThreshold;
+    
+    @Value("${label.blob.retention.compact-segments:2}")
+    private int compactSegments;
+    
+    private DirectoryStream<Path> legacyStream;
+    private Iterator<Path> legacyCursor;
+    
+    public BlobRetentionManager(BlobStore blobStore,
+                                BlobEntryRepository blobEntryRepository,
+                                BlobSegmentRepository blobSegmentRepository,
+                                MeterRegistry meterRegistry) {
+        this.blobStore = blobStore;
+        this.blobEntryRepository = blobEntryRepository;
+        this.blobSegmentRepository = blobSegmentRepository;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("label.blob.bytes", diskBytes, AtomicLong::get)
+            .description("블롭 세그먼트 바이트")
+            .baseUnit("bytes")
+            .tag("kind", "disk")
+            .register(meterRegistry);
+        Gauge.builder("label.blob.bytes", liveBytes, AtomicLong::get)
+            .description("블롭 세그먼트 바이트")
+            .baseUnit("bytes")
+            .tag("kind", "live")
+            .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public synchronized void close() {
+        closeLegacyCursor();
+    }
+    
+    /**
+     * 보존/회수 1회 실행
+     */
+    @Scheduled(fixedDelayString = "${label.blob.retention.interval:PT5M}",
+               initialDelayString = "${label.blob.retention.initial-delay:PT1M}")
+    public synchronized void sweep() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            int expired = evict(now.minus(ttl), batchSize, "ttl");
+            int overBudget = evictOverBudget(now);
+            int segments = compact();
+            int legacy = sweepLegacyUploads(now.minus(ttl));
+            refreshGauges();
+            
+            if (expired + overBudget + segments + legacy > 0) {
+                log.info("Blob retention: expired={}, overBudget={}, segmentsReclaimed={}, legacyDeleted={}, disk={} bytes",
+                    expired, overBudget, segments, legacy, diskBytes.get());
+            }
+        } catch (Exception e) {
+            log.error("Blob retention sweep failed", e);
+        }
+    }
+    
+    /**
+     * before 이전에 마지막으로 사용된 참조 없는 블롭을 오래된 순으로 최대 limit 개 회수
+     */
+    private int evict(Instant before, int limit, String reason) {
+        int evicted = 0;
+        for (BlobEntry entry : blobEntryRepository.findUnreferencedBefore(before, limit)) {
+            if (blobStore.evict(entry)) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            Counter.builder("label.blob.evicted")
+                .description("회수한 블롭 수")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment(evicted);
+        }
+        return evicted;
+    }
+    
+    /**
+     * 용량 한도 초과 시 살아 있는 바이트가 한도 × low-watermark 아래로 내려갈 때까지 LRU 회수
+     * (한 번에 batch-size 개까지, 나머지는 다음 실행에서)
+     */
+    private int evictOverBudget(Instant now) {
+        long budget = maxBytes.toBytes();
+        if (blobSegmentRepository.totalSizeBytes() <= budget) {
+            return 0;
+        }
+        long target = (long) (budget * lowWatermark);
+        int evicted = 0;
+        long live = blobSegmentRepository.totalLiveBytes();
+        for (BlobEntry entry : blobEntryRepository.findUnreferencedBefore(now, batchSize)) {
+            if (live <= target) {
+                break;
+            }
+            if (blobStore.evict(entry)) {
+                live -= entry.getLength();
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            Counter.builder("label.blob.evicted")
+                .description("회수한 블롭 수")
+                .tag("reason", "budget")
+                .register(meterRegistry)
+                .increment(evicted);
+        }
+        return evicted;
+    }
+    
+    /**
+     * 빈 세그먼트 삭제 + 살아 있는 비율이 낮은 세그먼트 압축
+     * 용량 한도를 넘은 상태면 비율과 관계없이 가장 비어 있는 세그먼트부터 압축한다.
+     */
+    private int compact() throws IOException {
+        boolean overBudget = blobSegmentRepository.totalSizeBytes() > maxBytes.toBytes();
+        int reclaimed = 0;
+        
+        for (BlobSegment segment : blobStore.reclaimableSegments(overBudget ? 1.0 : compactThreshold, compactSegments)) {
+            if (segment.getLiveCount() > 0) {
+                if (!Files.exists(blobStore.segmentPath(segment.getName()))
+                        || blobEntryRepository.existsBySegmentAndRefCountGreaterThan(segment.getName(), 0)) {
+                    continue;
+                }
+                int moved = 0;
+                for (BlobEntry entry : blobEntryRepository.findBySegment(segment.getName())) {
+                    if (blobStore.relocate(entry)) {
+                        moved++;
+                    }
+                }
+                log.info("Compacted blob segment {}: moved {} blobs", segment.getName(), moved);
+                segment = blobSegmentRepository.findById(segment.getName()).orElse(null);
+                if (segment == null || segment.getLiveCount() > 0) {
+                    continue;
+                }
+            }
+            if (blobStore.deleteSegment(segment)) {
+                reclaimed++;
+            }
+        }
+        
+        if (reclaimed > 0) {
+            Counter.builder("label.blob.segments.reclaimed")
+                .description("삭제한 블롭 세그먼트 수")
+                .register(meterRegistry)
+                .increment(reclaimed);
+        }
+        return reclaimed;
+    }
+    
+    /**
+     * 이전 방식 업로드 파일 정리 - 디렉토리 커서를 실행 사이에 유지해 한 번에 batch-size 개만 확인
+     */
+    private int sweepLegacyUploads(Instant before) {
+        Path dir = Paths.get(LEGACY_UPLOAD_DIR);
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        int deleted = 0;
+        try {
+            if (legacyCursor == null) {
+                legacyStream = Files.newDirectoryStream(dir, Files::isRegularFile);
+                legacyCursor = legacyStream.iterator();
+            }
+            for (int i = 0; i < batchSize && legacyCursor.hasNext(); i++) {
+                Path file = legacyCursor.next();
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(before)) {
+                    FileUtil.deleteFile(file.getFileName().toString());
+                    deleted++;
+                }
+            }
+            if (!legacyCursor.hasNext()) {
+                closeLegacyCursor();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Legacy upload sweep failed: {}", e.toString());
+            closeLegacyCursor();
+        }
+        return deleted;
+    }
+    
+    private void closeLegacyCursor() {
+        if (legacyStream != null) {
+            try {
+                legacyStream.close();
+            } catch (IOException e) {
+                log.debug("Failed to close legacy upload cursor", e);
+            }
+        }
+        legacyStream = null;
+        legacyCursor = null;
+    }
+    
+    private void refreshGauges() {
+        diskBytes.set(blobSegmentRepository.totalSizeBytes());
+        liveBytes.set(blobSegmentRepository.totalLiveBytes());
+    }
+}
@@ -0,0 +1,362 @@
+package com.labelai.storage;
+
+import com.labelai.entity.BlobEntry;
+import com.labelai.entity.BlobSegment;
+import com.labelai.repository.BlobEntryRepository;
+import com.labelai.repository.BlobSegmentRepository;
+import com.labelai.util.ContentHashed;
+import com.labelai.util.FileSystemMultipartFile;
+import com.labelai.util.HashUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 내용 주소(SHA-256) 기반 업로드 블롭 저장소
+ * - 업로드 바이트를 큰 세그먼트 파일 끝에 이어 붙이고 위치는 label_blobs 인덱스에 기록
+ *   (디렉토리에 파일이 수십만 개 쌓이지 않음)
+ * - 같은 내용은 한 번만 저장하고 참조 수로 관리
+ * - 세그먼트 이름에 노드 ID 를 넣어 공유 스토리지에서도 노드마다 자기 세그먼트에만 쓴다
+ * - 세그먼트별 사용량은 label_blob_segments 에 유지 (회수/압축은 BlobRetentionManager)
+ * - 기록이 seal-after 의 절반 이상 멈춘 세그먼트에는 더 이상 쓰지 않고 새 세그먼트로 넘어가므로,
+ *   seal-after 동안 기록이 없는 세그먼트는 봉인된 것으로 보고 압축/삭제할 수 있다.
+ */
+@Component
+@Slf4j
+public class BlobStore {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final BlobEntryRepository blobEntryRepository;
+    private final BlobSegmentRepository blobSegmentRepository;
+    private final Path segmentDir;
+    private final long segmentSize;
+    private final Duration sealAfter;
+    private final String nodeId;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Counter storedCounter;
+    private final Counter deduplicatedCounter;
+    
+    private FileChannel activeChannel;
+    private String activeSegment;
+    private long activePosition;
+    private Instant activeWrittenAt;
+    private int sequence;
+    
+    public BlobStore(
+            BlobEntryRepository blobEntryRepository,
+            BlobSegmentRepository blobSegmentRepository,
+            MeterRegistry meterRegistry,
+            @Value("${label.blob.dir:./uploads/blobs}") String dir,
+            @Value("${label.blob.segment-size:1GB}") DataSize segmentSize,
+            @Value("${label.blob.seal-after:PT30M}") Duration sealAfter) throws IOException {
+        this.blobEntryRepository = blobEntryRepository;
+        this.blobSegmentRepository = blobSegmentRepository;
+        this.segmentDir = Files.createDirectories(Paths.get(dir));
+        this.segmentSize = segmentSize.toBytes();
+        this.sealAfter = sealAfter;
+        this.nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.storedCounter = Counter.builder("label.blob.put")
+            .description("블롭 저장 요청 수")
+            .tag("result", "stored")
+            .register(meterRegistry);
+        this.deduplicatedCounter = Counter.builder("label.blob.put")
+            .description("블롭 저장 요청 수")
+            .tag("result", "deduplicated")
+            .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (activeChannel != null) {
+                activeChannel.close();
+                activeChannel = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * 업로드 저장 후 내용 해시 반환 (참조 수 +1)
+     * 해시를 이미 알면 기존 블롭 참조만 늘리고, 모르면 세그먼트에 쓰면서 해시를 계산한다.
+     * 같은 내용이 이미 있으면 방금 쓴 구간을 잘라내 되돌린다.
+     */
+    @Transactional
+    public String put(MultipartFile file) throws IOException {
+        Instant now = Instant.now();
+        if (file instanceof ContentHashed hashed && blobEntryRepository.retain(hashed.getSha256(), now) == 1) {
+            deduplicatedCounter.increment();
+            return hashed.getSha256();
+        }
+        
+        writeLock.lock();
+        try {
+            FileChannel channel = activeChannel(now);
+            long offset = activePosition;
+            Written written = file instanceof ContentHashed hashed && file instanceof FileSystemMultipartFile disk
+                ? new Written(hashed.getSha256(), copyFile(disk.getPath(), channel, offset))
+                : copyStream(file, channel, offset);
+            channel.force(false);
+            
+            if (blobEntryRepository.insertIfAbsent(written.hash(), activeSegment, offset, written.length(), now) == 1) {
+                blobSegmentRepository.addLive(activeSegment, written.length(), offset + written.length(), now);
+                activePosition = offset + written.length();
+                activeWrittenAt = now;
+                storedCounter.increment();
+            } else {
+                channel.truncate(offset);
+                blobEntryRepository.retain(written.hash(), now);
+                deduplicatedCounter.increment();
+            }
+            return written.hash();
+        } catch (IOException | RuntimeException e) {
+            // 기록 중 실패하면 쓰다 만 구간 제거
+            if (activeChannel != null) {
+                activeChannel.truncate(activePosition);
+            }
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * 참조 해제 (같은 해시가 여러 번 있으면 그만큼 해제)
+     * 참조 수가 0 이 된 블롭은 회수 대상이 된다.
+     */
+    @Transactional
+    public void release(Collection<String> hashes) {
+        Map<String, Long> counts = hashes.stream()
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        counts.forEach((hash, count) -> blobEntryRepository.release(hash, count.intValue()));
+    }
+    
+    /**
+     * 저장된 블롭 열기 (없으면 empty)
+     */
+    public Optional<MultipartFile> open(String hash, String originalFilename, String contentType) {
+        return blobEntryRepository.findById(hash)
+            .map(entry -> new BlobMultipartFile(segmentPath(entry.getSegment()),
+                entry.getOffset(), entry.getLength(), hash, originalFilename, contentType));
+    }
+    
+    /**
+     * 세그먼트 경로
+     */
+    public Path segmentPath(String segment) {
+        return segmentDir.resolve(segment);
+    }
+    
+    // ==================== RECLAIM ====================
+    
+    /**
+     * 블롭 회수 (참조가 없을 때만) - 디스크 공간은 세그먼트 압축/삭제 시 반환된다.
+     */
+    @Transactional
+    public boolean evict(BlobEntry entry) {
+        if (blobEntryRepository.deleteUnreferenced(entry.getHash()) == 0) {
+            return false;
+        }
+        blobSegmentRepository.removeLive(entry.getSegment(), entry.getLength());
+        return true;
+    }
+    
+    /**
+     * 이력 삭제로 더 이상 가리키는 곳이 없는 블롭을 다음 회수 때 바로 지우도록 표시
+     */
+    @Transactional
+    public int expireOrphans(Collection<String> hashes) {
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+        return blobEntryRepository.expireOrphans(hashes, Instant.EPOCH);
+    }
+    
+    /**
+     * 압축/삭제 후보 세그먼트 (살아 있는 비율이 maxLiveRatio 이하인 봉인된 세그먼트)
+     */
+    public List<BlobSegment> reclaimableSegments(double maxLiveRatio, int limit) {
+        String active;
+        writeLock.lock();
+        try {
+            active = activeSegment == null ? "" : activeSegment;
+        } finally {
+            writeLock.unlock();
+        }
+        return blobSegmentRepository.findReclaimable(active, segmentSize, Instant.now().minus(sealAfter),
+                                                     maxLiveRatio, limit);
+    }
+    
+    /**
+     * 블롭을 현재 쓰기 세그먼트 끝으로 복사 (압축)
+     * 그 사이 다시 참조되었거나 다른 노드가 먼저 옮겼으면 복사한 구간을 되돌리고 false
+     */
+    @Transactional
+    public boolean relocate(BlobEntry entry) throws IOException {
+        Instant now = Instant.now();
+        writeLock.lock();
+        try {
+            FileChannel channel = activeChannel(now);
+            long offset = activePosition;
+            try (FileChannel src = FileChannel.open(segmentPath(entry.getSegment()), StandardOpenOption.READ)) {
+                src.position(entry.getOffset());
+                copyRegion(src, channel, offset, entry.getLength());
+            }
+            channel.force(false);
+            
+            if (blobEntryRepository.relocate(entry.getHash(), entry.getSegment(), entry.getOffset(),
+                                             activeSegment, offset) == 0) {
+                channel.truncate(offset);
+                return false;
+            }
+            blobSegmentRepository.removeLive(entry.getSegment(), entry.getLength());
+            blobSegmentRepository.addLive(activeSegment, entry.getLength(), offset + entry.getLength(), now);
+            activePosition = offset + entry.getLength();
+            activeWrittenAt = now;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            if (activeChannel != null) {
+                activeChannel.truncate(activePosition);
+            }
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * 빈 세그먼트 파일 삭제
+     * 파일이 이 노드에서 보이지 않으면(노드별 로컬 디스크) 파일을 가진 노드가 처리하도록 남겨 둔다.
+     */
+    @Transactional
+    public boolean deleteSegment(BlobSegment segment) throws IOException {
+        Path path = segmentPath(segment.getName());
+        writeLock.lock();
+        try {
+            if (segment.getName().equals(activeSegment) || !Files.exists(path)) {
+                return false;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (blobSegmentRepository.deleteIfEmpty(segment.getName()) == 0) {
+            return false;
+        }
+        Files.deleteIfExists(path);
+        log.info("Deleted blob segment: {} ({} bytes)", segment.getName(), segment.getSizeBytes());
+        return true;
+    }
+    
+    // ==================== SEGMENTS ====================
+    
+    /**
+     * 현재 쓰기 세그먼트 - 크기를 넘었거나 오래 기록이 없었으면 새 세그먼트로 교체
+     */
+    private FileChannel activeChannel(Instant now) throws IOException {
+        boolean idle = activeWrittenAt != null && activeWrittenAt.plus(sealAfter.dividedBy(2)).isBefore(now);
+        if (activeChannel != null && activePosition < segmentSize && !idle) {
+            return activeChannel;
+        }
+        if (activeChannel != null) {
+            activeChannel.close();
+        }
+        activeSegment = String.format("%s-%06d.seg", nodeId, ++sequence);
+        activeChannel = FileChannel.open(segmentDir.resolve(activeSegment),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activePosition = 0;
+        activeWrittenAt = now;
+        blobSegmentRepository.create(activeSegment, now);
+        log.info("Opened blob segment: {}", activeSegment);
+        return activeChannel;
+    }
+    
+    /**
+     * 디스크 파일 → 세그먼트 (FileChannel.transferFrom)
+     */
+    private static long copyFile(Path source, FileChannel target, long offset) throws IOException {
+        try (FileChannel src = FileChannel.open(source, StandardOpenOption.READ)) {
+            return copyRegion(src, target, offset, src.size());
+        }
+    }
+    
+    /**
+     * src 의 현재 위치부터 length 바이트 → target 의 offset (FileChannel.transferFrom)
+     */
+    private static long copyRegion(FileChannel src, FileChannel target, long offset, long length) throws IOException {
+        long copied = 0;
+        while (copied < length) {
+            long n = target.transferFrom(src, offset + copied, length - copied);
+            if (n <= 0) {
+                throw new IOException("Unexpected end of blob source");
+            }
+            copied += n;
+        }
+        return copied;
+    }
+    
+    /**
+     * 업로드 스트림 → 세그먼트 (SHA-256 동시 계산)
+     */
+    private static Written copyStream(MultipartFile file, FileChannel target, long offset) throws IOException {
+        MessageDigest digest = HashUtil.newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = offset;
+        
+        try (InputStream in = file.getInputStream();
+             ReadableByteChannel src = Channels.newChannel(in)) {
+            while (src.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    position += target.write(buffer, position);
+                }
+                buffer.clear();
+            }
+        }
+        return new Written(HexFormat.of().formatHex(digest.digest()), position - offset);
+    }
+    
+    private record Written(String hash, long length) {
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.labelai.util;
+
+/**
+ * 내용 해시(SHA-256)를 이미 알고 있는 업로드 파일
+ * (스풀 시 계산했거나 내용 주소 저장소에서 읽은 파일 - 해시를 다시 계산하지 않는다)
+ */
+public interface ContentHashed {
+    
+    /**
+     * 내용 해시 (SHA-256 hex)
+     */
+    String getSha256();
+}
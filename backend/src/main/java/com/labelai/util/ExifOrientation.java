@@ -0,0 +1,105 @@
+package com.labelai.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JPEG EXIF Orientation 태그(0x0112) 읽기
+ * 이미지 본문은 읽지 않고 APP1 세그먼트까지만 스캔한다.
+ * 태그가 없거나 JPEG 가 아니면 1(정방향)을 반환한다.
+ */
+public class ExifOrientation {
+    
+    public static final int NORMAL = 1;
+    
+    private static final int MARKER_SOI = 0xFFD8;
+    private static final int MARKER_APP1 = 0xFFE1;
+    private static final int MARKER_SOS = 0xFFDA;
+    private static final int MARKER_EOI = 0xFFD9;
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.ISO_8859_1);
+    
+    /**
+     * 스트림에서 EXIF Orientation (1~8) 읽기
+     */
+    public static int read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        try {
+            if (data.readUnsignedShort() != MARKER_SOI) {
+                return NORMAL;
+            }
+            while (true) {
+                int marker = data.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == MARKER_SOS || marker == MARKER_EOI) {
+                    return NORMAL;
+                }
+                int length = data.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return NORMAL;
+                }
+                if (marker == MARKER_APP1 && length > EXIF_HEADER.length) {
+                    byte[] segment = new byte[length];
+                    data.readFully(segment);
+                    if (startsWith(segment, EXIF_HEADER)) {
+                        return parseTiff(segment, EXIF_HEADER.length);
+                    }
+                } else {
+                    data.skipNBytes(length);
+                }
+            }
+        } catch (EOFException e) {
+            return NORMAL;
+        }
+    }
+    
+    /**
+     * TIFF 헤더 + IFD0 에서 Orientation 조회
+     */
+    private static int parseTiff(byte[] b, int base) {
+        if (b.length < base + 8) {
+            return NORMAL;
+        }
+        boolean littleEndian = b[base] == 'I' && b[base + 1] == 'I';
+        int ifd = base + (int) u32(b, base + 4, littleEndian);
+        if (ifd < base || ifd + 2 > b.length) {
+            return NORMAL;
+        }
+        int count = u16(b, ifd, littleEndian);
+        for (int i = 0; i < count; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > b.length) {
+                return NORMAL;
+            }
+            if (u16(b, entry, littleEndian) == TAG_ORIENTATION) {
+                int value = u16(b, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : NORMAL;
+            }
+        }
+        return NORMAL;
+    }
+    
+    private static int u16(byte[] b, int offset, boolean littleEndian) {
+        int b0 = b[offset] & 0xFF;
+        int b1 = b[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+    
+    private static long u32(byte[] b, int offset, boolean littleEndian) {
+        long hi = u16(b, offset + (littleEndian ? 2 : 0), littleEndian);
+        long lo = u16(b, offset + (littleEndian ? 0 : 2), littleEndian);
+        return (hi << 16) | lo;
+    }
+    
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package com.labelai.util;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 디스크에 저장된 업로드 파일을 MultipartFile 로 다시 읽기 위한 어댑터
+ * (비동기 작업 처리 시 요청이 끝난 뒤에도 LabelService 흐름을 재사용)
+ */
+public class FileSystemMultipartFile implements MultipartFile {
+    
+    private final Path path;
+    private final String originalFilename;
+    private final String contentType;
+    
+    public FileSystemMultipartFile(Path path, String originalFilename, String contentType) {
+        this.path = path;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+    }
+    
+    /**
+     * 디스크 상의 파일 경로 (업스트림 전송 시 파일 기반 본문으로 사용)
+     */
+    public Path getPath() {
+        return path;
+    }
+    
+    @Override
+    public String getName() {
+        return "file";
+    }
+    
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+    
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+    
+    @Override
+    public long getSize() {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+    
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+    
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+    
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+    
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
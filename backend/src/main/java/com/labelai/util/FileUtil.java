@@ -42,9 +42,9 @@ public class FileUtil {
         String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
         String uniqueFilename = UUID.randomUUID().toString() + extension;
         
-        // 파일 저장
+        // 파일 저장 (디스크에 받아 둔 업로드 파트는 옮기기만 함)
         Path filePath = Paths.get(UPLOAD_DIR + uniqueFilename);
-        Files.write(filePath, file.getBytes());
+        SpooledMultipartFile.spool(file, filePath);
         
         return uniqueFilename;
     }
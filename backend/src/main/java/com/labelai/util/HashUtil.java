@@ -0,0 +1,54 @@
+package com.labelai.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 해시 유틸리티 (SHA-256)
+ */
+public class HashUtil {
+    
+    private static final int BUFFER_SIZE = 8192;
+    
+    /**
+     * 바이트 배열의 SHA-256 (hex)
+     */
+    public static String sha256Hex(byte[] bytes) {
+        return HexFormat.of().formatHex(newDigest().digest(bytes));
+    }
+    
+    /**
+     * 문자열의 SHA-256 (hex, UTF-8)
+     */
+    public static String sha256Hex(String value) {
+        return sha256Hex(value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 스트림의 SHA-256 (hex) - 전체를 메모리에 올리지 않고 읽으면서 계산
+     */
+    public static String sha256Hex(InputStream in) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    /**
+     * 새 SHA-256 MessageDigest (스트림을 다른 곳에 쓰면서 함께 계산할 때 사용)
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.labelai.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTML 정규화 유틸리티 (검증 캐시 키용)
+ * 렌더링 결과가 같은 HTML 이 같은 문자열이 되도록
+ * - 태그/속성 이름 소문자, 속성 이름순 정렬, 속성 값은 큰따옴표로 통일
+ * - 태그 사이의 공백만 있는 텍스트 제거, 나머지 텍스트의 연속 공백은 공백 하나로
+ * - <pre>, <textarea>, <script>, <style> 안의 내용은 그대로 둔다
+ */
+public class HtmlCanonicalizer {
+    
+    private static final Pattern ATTRIBUTE = Pattern.compile(
+        "([^\\s=/>\"']+)(?:\\s*=\\s*(\"[^\"]*\"|'[^']*'|[^\\s\"'>]+))?");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final List<String> RAW_TEXT = List.of("pre", "textarea", "script", "style");
+    
+    /**
+     * 정규화된 HTML
+     */
+    public static String canonicalize(String html) {
+        if (html == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(html.length());
+        String rawUntil = null;
+        int position = 0;
+        
+        while (position < html.length()) {
+            int open = html.indexOf('<', position);
+            int close = open < 0 ? -1
+                : html.startsWith("<!--", open) ? html.indexOf("-->", open + 4) : html.indexOf('>', open);
+            if (close < 0) {
+                break;
+            }
+            close += html.startsWith("<!--", open) ? 3 : 1;
+            String text = html.substring(position, open);
+            String tag = html.substring(open, close);
+            position = close;
+            
+            Tag parsed = Tag.parse(tag);
+            if (rawUntil != null) {
+                out.append(text);
+                if (parsed != null && parsed.closing() && parsed.name().equals(rawUntil)) {
+                    out.append("</").append(rawUntil).append('>');
+                    rawUntil = null;
+                } else {
+                    out.append(tag);
+                }
+                continue;
+            }
+            
+            appendText(out, text);
+            if (parsed == null) {
+                out.append(WHITESPACE.matcher(tag).replaceAll(" "));
+                continue;
+            }
+            parsed.appendTo(out);
+            if (!parsed.closing() && !parsed.selfClosing() && RAW_TEXT.contains(parsed.name())) {
+                rawUntil = parsed.name();
+            }
+        }
+        String rest = html.substring(Math.min(position, html.length()));
+        if (rawUntil != null) {
+            out.append(rest);
+        } else {
+            appendText(out, rest);
+        }
+        return out.toString();
+    }
+    
+    /**
+     * 정규화된 HTML 의 SHA-256 (hex)
+     */
+    public static String hash(String html) {
+        return HashUtil.sha256Hex(canonicalize(html));
+    }
+    
+    /**
+     * 텍스트 노드 - 공백만 있으면 생략, 아니면 연속 공백을 하나로
+     * (앞뒤 공백은 인라인 요소 사이 띄어쓰기일 수 있어 하나로 남긴다)
+     */
+    private static void appendText(StringBuilder out, String text) {
+        if (text.isBlank()) {
+            return;
+        }
+        out.append(WHITESPACE.matcher(text).replaceAll(" "));
+    }
+    
+    /**
+     * 여는/닫는 태그 (주석, <!DOCTYPE> 등은 null)
+     */
+    private record Tag(String name, String attributes, boolean closing, boolean selfClosing) {
+        
+        private static Tag parse(String tag) {
+            int end = tag.length() - 1;
+            int i = 1;
+            while (i < end && Character.isWhitespace(tag.charAt(i))) {
+                i++;
+            }
+            if (i >= end || tag.charAt(i) == '!' || tag.charAt(i) == '?') {
+                return null;
+            }
+            boolean closing = tag.charAt(i) == '/';
+            if (closing) {
+                i++;
+                while (i < end && Character.isWhitespace(tag.charAt(i))) {
+                    i++;
+                }
+            }
+            int nameStart = i;
+            while (i < end && !Character.isWhitespace(tag.charAt(i)) && tag.charAt(i) != '/') {
+                i++;
+            }
+            if (i == nameStart) {
+                return null;
+            }
+            int attributesEnd = end;
+            while (attributesEnd > i && Character.isWhitespace(tag.charAt(attributesEnd - 1))) {
+                attributesEnd--;
+            }
+            boolean selfClosing = attributesEnd > i && tag.charAt(attributesEnd - 1) == '/';
+            if (selfClosing) {
+                attributesEnd--;
+            }
+            return new Tag(tag.substring(nameStart, i).toLowerCase(Locale.ROOT),
+                           tag.substring(i, attributesEnd), closing, selfClosing);
+        }
+        
+        /**
+         * 속성 이름 소문자, 이름순 정렬, 값은 큰따옴표 (class/style 값은 공백 정규화)
+         */
+        private void appendTo(StringBuilder out) {
+            out.append('<');
+            if (closing) {
+                out.append('/');
+            }
+            out.append(name);
+            if (!attributes.isBlank()) {
+                List<String> sorted = new ArrayList<>();
+                Matcher attribute = ATTRIBUTE.matcher(attributes);
+                while (attribute.find()) {
+                    String attributeName = attribute.group(1).toLowerCase(Locale.ROOT);
+                    String value = attribute.group(2);
+                    if (value == null) {
+                        sorted.add(attributeName);
+                        continue;
+                    }
+                    if (value.startsWith("\"") || value.startsWith("'")) {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    if ("class".equals(attributeName) || "style".equals(attributeName)) {
+                        value = WHITESPACE.matcher(value).replaceAll(" ").strip();
+                    }
+                    sorted.add(attributeName + "=\"" + value.replace("\"", "&quot;") + "\"");
+                }
+                sorted.sort(null);
+                for (String attributeValue : sorted) {
+                    out.append(' ').append(attributeValue);
+                }
+            }
+            if (selfClosing) {
+                out.append(" /");
+            }
+            out.append('>');
+        }
+    }
+}
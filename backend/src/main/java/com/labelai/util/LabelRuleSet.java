@@ -0,0 +1,433 @@
+package com.labelai.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.dto.response.ValidationResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 선언적 라벨 규칙 집합 (rules/*.json, version 포함)
+ * 규칙 유형
+ * - required: field 가 비어 있으면 Missing
+ * - rounding: field 표시량이 반올림 규칙(roundings)에 맞지 않으면 Incorrect
+ * - daily-value: %DV 가 없으면 Missing, 표시량이 나타내는 범위로 계산한 %DV 와 tolerance 넘게 다르면 Incorrect
+ * - allergens: scan 경로에서 찾은 주요 알레르기 유발물질이 declared 경로에 없으면 Missing
+ * 경로는 JSON 필드명을 점으로 이은 것 (예: translated.nutrition.sodium), 영양소 객체는 amount 로 판단한다.
+ */
+public record LabelRuleSet(String version,
+                           List<String> countries,
+                           Map<String, Rounding> roundings,
+                           Map<String, ValidationResponse.Source> sources,
+                           List<Rule> rules) {
+    
+    public static final String REQUIRED = "required";
+    public static final String ROUNDING = "rounding";
+    public static final String DAILY_VALUE = "daily-value";
+    public static final String ALLERGENS = "allergens";
+    
+    /**
+     * US 표기 숫자: 쉼표는 천 단위 구분자(1,050), 소수점은 마침표. "1,5" 처럼 쉼표 소수점으로 보이는 값은 해석하지 않는다.
+     */
+    private static final String NUMBER = "(\\d{1,3}(?:,\\d{3})+(?:\\.\\d+)?|\\d+(?:\\.\\d+)?)(?![.,]?\\d)";
+    private static final Pattern AMOUNT = Pattern.compile(
+        "^\\s*(<|less than)?\\s*" + NUMBER + "\\s*([a-zμ]+)?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PERCENT = Pattern.compile("^\\s*(<|less than)?\\s*" + NUMBER + "\\s*%?");
+    private static final double EPSILON = 1e-6;
+    
+    /**
+     * 규칙 파일 읽기 - 알 수 없는 유형, 없는 반올림 규칙/출처 참조, 대문자가 섞인 알레르기 키워드는 IllegalStateException
+     */
+    public static LabelRuleSet load(InputStream json, ObjectMapper objectMapper) throws IOException {
+        LabelRuleSet ruleSet = objectMapper.readValue(json, LabelRuleSet.class);
+        for (Rule rule : ruleSet.rules()) {
+            if (!List.of(REQUIRED, ROUNDING, DAILY_VALUE, ALLERGENS).contains(rule.type())) {
+                throw new IllegalStateException("Unknown rule type: " + rule.id() + " (" + rule.type() + ")");
+            }
+            if ((ROUNDING.equals(rule.type()) || DAILY_VALUE.equals(rule.type()))
+                    && !ruleSet.roundings().containsKey(rule.rounding())) {
+                throw new IllegalStateException("Unknown rounding: " + rule.id() + " (" + rule.rounding() + ")");
+            }
+            if (DAILY_VALUE.equals(rule.type()) && (rule.reference() == null || rule.reference() <= 0)) {
+                throw new IllegalStateException("Daily value rule without reference: " + rule.id());
+            }
+            if (ALLERGENS.equals(rule.type()) && rule.allergens().values().stream()
+                    .flatMap(List::stream).anyMatch(keyword -> !keyword.equals(keyword.toLowerCase(Locale.ROOT)))) {
+                throw new IllegalStateException("Allergen keywords must be lower case: " + rule.id());
+            }
+            for (String source : rule.sources() == null ? List.<String>of() : rule.sources()) {
+                if (!ruleSet.sources().containsKey(source)) {
+                    throw new IllegalStateException("Unknown source: " + rule.id() + " (" + source + ")");
+                }
+            }
+        }
+        return ruleSet;
+    }
+    
+    /**
+     * 대상 국가에 적용되는 규칙 집합인지
+     */
+    public boolean appliesTo(String country) {
+        return country != null && countries.contains(country.strip().toUpperCase(Locale.ROOT));
+    }
+    
+    /**
+     * 전체 규칙 평가 (root: translated, structured 노드를 가진 객체)
+     */
+    public List<Finding> evaluate(JsonNode root) {
+        List<Finding> findings = new ArrayList<>();
+        for (Rule rule : rules) {
+            switch (rule.type()) {
+                case REQUIRED -> required(rule, root, findings);
+                case ROUNDING -> rounding(rule, root, findings);
+                case DAILY_VALUE -> dailyValue(rule, root, findings);
+                case ALLERGENS -> allergens(rule, root, findings);
+                default -> throw new IllegalStateException("Unknown rule type: " + rule.type());
+            }
+        }
+        return findings;
+    }
+    
+    // ==================== RULES ====================
+    
+    private void required(Rule rule, JsonNode root, List<Finding> findings) {
+        if (text(resolve(root, rule.field())) == null) {
+            findings.add(missing(rule, rule.item(), rule.message()));
+        }
+    }
+    
+    private void rounding(Rule rule, JsonNode root, List<Finding> findings) {
+        String declared = text(resolve(root, rule.field()));
+        Rounding rounding = roundings.get(rule.rounding());
+        Amount amount = Amount.parse(declared, rounding.unit());
+        if (amount == null) {
+            return;
+        }
+        String expected = rounding.expected(amount);
+        if (expected != null) {
+            findings.add(incorrect(rule, declared, "반올림 기준에 따른 표시값: " + expected));
+        }
+    }
+    
+    private void dailyValue(Rule rule, JsonNode root, List<Finding> findings) {
+        JsonNode nutrient = resolve(root, rule.field());
+        String declared = text(nutrient);
+        Rounding rounding = roundings.get(rule.rounding());
+        Amount amount = Amount.parse(declared, rounding.unit());
+        if (amount == null) {
+            return;
+        }
+        String dailyValue = text(nutrient.path("daily_value"));
+        if (dailyValue == null) {
+            findings.add(missing(rule, rule.item(), rule.message()));
+            return;
+        }
+        Matcher percent = PERCENT.matcher(dailyValue);
+        if (!percent.find()) {
+            findings.add(incorrect(rule, dailyValue, "%DV 값을 해석할 수 없음"));
+            return;
+        }
+        double reported = number(percent.group(2));
+        boolean lessThan = percent.group(1) != null;
+        
+        double[] range = rounding.range(amount);
+        long min = percentOf(range[0], rule.reference());
+        long max = percentOf(range[1], rule.reference());
+        double tolerance = rule.tolerance() == null ? 0 : rule.tolerance();
+        boolean matches = lessThan
+            ? min <= reported + tolerance
+            : reported >= min - tolerance && reported <= max + tolerance;
+        if (!matches) {
+            String expected = min == max ? min + "%" : min + "~" + max + "%";
+            findings.add(incorrect(rule, dailyValue, "표시량 " + declared + " 기준 %DV: " + expected));
+        }
+    }
+    
+    private void allergens(Rule rule, JsonNode root, List<Finding> findings) {
+        String scanned = joined(root, rule.scan());
+        if (scanned.isEmpty()) {
+            return;
+        }
+        String declared = joined(root, rule.declared());
+        rule.allergens().forEach((allergen, keywords) -> {
+            if (!containsAny(scanned, keywords)) {
+                return;
+            }
+            if (declared.contains(allergen.toLowerCase(Locale.ROOT)) || containsAny(declared, keywords)) {
+                return;
+            }
+            findings.add(missing(rule, rule.item().replace("{allergen}", allergen),
+                                 rule.message().replace("{allergen}", allergen)));
+        });
+    }
+    
+    // ==================== FINDINGS ====================
+    
+    private Finding missing(Rule rule, String item, String message) {
+        return new Finding(rule, ValidationResponse.ValidationError.builder()
+            .location(location(rule))
+            .missing(ValidationResponse.Missing.builder()
+                .item(item)
+                .severity(rule.severity())
+                .message(message)
+                .build())
+            .reference(reference(rule))
+            .build());
+    }
+    
+    private Finding incorrect(Rule rule, String currentValue, String issue) {
+        return new Finding(rule, ValidationResponse.ValidationError.builder()
+            .location(location(rule))
+            .incorrect(ValidationResponse.Incorrect.builder()
+                .currentValue(currentValue)
+                .issue(issue)
+                .severity(rule.severity())
+                .message(rule.message())
+                .build())
+            .reference(reference(rule))
+            .build());
+    }
+    
+    private static ValidationResponse.Location location(Rule rule) {
+        return ValidationResponse.Location.builder()
+            .selector(rule.selector())
+            .elementType(rule.elementType())
+            .build();
+    }
+    
+    private ValidationResponse.Reference reference(Rule rule) {
+        List<ValidationResponse.Source> ruleSources = new ArrayList<>();
+        if (rule.sources() != null) {
+            for (String source : rule.sources()) {
+                ValidationResponse.Source defined = sources.get(source);
+                ruleSources.add(new ValidationResponse.Source(defined.getSource(), defined.getCategory()));
+            }
+        }
+        return ValidationResponse.Reference.builder()
+            .regulation(rule.regulation())
+            .guidance(rule.guidance())
+            .sources(ruleSources)
+            .build();
+    }
+    
+    // ==================== VALUES ====================
+    
+    /**
+     * 점으로 구분된 경로의 노드 (없으면 MissingNode)
+     */
+    private static JsonNode resolve(JsonNode root, String path) {
+        JsonNode node = root;
+        int start = 0;
+        while (start <= path.length() && !node.isMissingNode()) {
+            int end = path.indexOf('.', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            node = node.path(path.substring(start, end));
+            start = end + 1;
+        }
+        return node;
+    }
+    
+    /**
+     * 표시값 - 영양소 객체는 amount, 배열은 비어 있지 않은 항목을 ", " 로 연결 (비어 있으면 null)
+     */
+    private static String text(JsonNode node) {
+        if (node.isObject() && node.has("amount")) {
+            node = node.get("amount");
+        }
+        String value;
+        if (node.isArray()) {
+            List<String> items = new ArrayList<>();
+            node.forEach(item -> {
+                if (item.isValueNode() && !item.asText().isBlank()) {
+                    items.add(item.asText().strip());
+                }
+            });
+            value = String.join(", ", items);
+        } else {
+            value = node.isValueNode() && !node.isNull() ? node.asText() : null;
+        }
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+    
+    private static String joined(JsonNode root, List<String> paths) {
+        StringBuilder out = new StringBuilder();
+        for (String path : paths == null ? List.<String>of() : paths) {
+            String value = text(resolve(root, path));
+            if (value != null) {
+                out.append(value.toLowerCase(Locale.ROOT)).append('\n');
+            }
+        }
+        return out.toString();
+    }
+    
+    private static boolean containsAny(String text, List<String> keywords) {
+        for (String keyword : keywords) {
+            if (text.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static long percentOf(double amount, double reference) {
+        return Math.round(amount * 100 / reference);
+    }
+    
+    private static String format(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+    
+    // ==================== MODEL ====================
+    
+    /**
+     * 규칙 정의 (유형별로 쓰는 필드만 채운다)
+     */
+    public record Rule(String id,
+                       String type,
+                       String field,
+                       String item,
+                       String severity,
+                       boolean blocking,
+                       String selector,
+                       String elementType,
+                       String message,
+                       String regulation,
+                       String guidance,
+                       List<String> sources,
+                       String rounding,
+                       Double reference,
+                       Double tolerance,
+                       List<String> scan,
+                       List<String> declared,
+                       Map<String, List<String>> allergens) {
+    }
+    
+    /**
+     * 규칙 위반 1건
+     */
+    public record Finding(Rule rule, ValidationResponse.ValidationError error) {
+    }
+    
+    /**
+     * 반올림 구간 - below 미만이면 적용 (마지막 구간은 below 없음)
+     * increment 0: 0 으로 표시, lessThan: "less than {lessThan}" 으로 표시, 그 외: increment 단위로 반올림
+     */
+    public record Band(Double below, Double increment, Double lessThan) {
+    }
+    
+    /**
+     * 영양소별 반올림 규칙
+     */
+    public record Rounding(String unit, List<Band> bands) {
+        
+        /**
+         * 규칙에 맞으면 null, 아니면 올바른 표시값
+         */
+        private String expected(Amount amount) {
+            if (amount.lessThan()) {
+                boolean allowed = bands.stream()
+                    .anyMatch(band -> band.lessThan() != null && Math.abs(band.lessThan() - amount.value()) < EPSILON);
+                return allowed ? null : "less than 표기 대신 반올림한 값";
+            }
+            Band band = band(amount.value());
+            if (band.lessThan() != null) {
+                return "less than " + format(band.lessThan()) + " " + unit;
+            }
+            double increment = band.increment() == null ? 0 : band.increment();
+            if (increment == 0) {
+                return amount.value() == 0 ? null : "0 " + unit;
+            }
+            double steps = amount.value() / increment;
+            if (Math.abs(steps - Math.rint(steps)) < EPSILON) {
+                return null;
+            }
+            double rounded = BigDecimal.valueOf(steps).setScale(0, RoundingMode.HALF_UP).doubleValue() * increment;
+            return format(rounded) + " " + unit;
+        }
+        
+        /**
+         * 표시값이 나타낼 수 있는 실제 양의 범위 [min, max]
+         */
+        private double[] range(Amount amount) {
+            double lower = 0;
+            for (Band band : bands) {
+                double upper = band.below() == null ? Double.MAX_VALUE : band.below();
+                boolean lessThanBand = band.lessThan() != null
+                    && amount.lessThan() && Math.abs(band.lessThan() - amount.value()) < EPSILON;
+                boolean zeroBand = band.increment() != null && band.increment() == 0 && amount.value() == 0;
+                if (lessThanBand || zeroBand) {
+                    return new double[] {lower, upper};
+                }
+                lower = upper;
+            }
+            Band band = band(amount.value());
+            double half = band.increment() == null ? 0 : band.increment() / 2;
+            return new double[] {Math.max(0, amount.value() - half), amount.value() + half};
+        }
+        
+        private Band band(double value) {
+            for (Band band : bands) {
+                if (band.below() == null || value < band.below()) {
+                    return band;
+                }
+            }
+            return bands.get(bands.size() - 1);
+        }
+    }
+    
+    private static double number(String digits) {
+        return Double.parseDouble(digits.replace(",", ""));
+    }
+    
+    /**
+     * 표시량 (규칙 단위로 환산, "less than"/"<" 표기 여부)
+     */
+    private record Amount(double value, boolean lessThan) {
+        
+        /**
+         * 해석할 수 없거나 단위를 환산할 수 없으면 null
+         */
+        private static Amount parse(String declared, String unit) {
+            if (declared == null) {
+                return null;
+            }
+            Matcher matcher = AMOUNT.matcher(declared);
+            if (!matcher.find()) {
+                return null;
+            }
+            double value = number(matcher.group(2));
+            String declaredUnit = matcher.group(3) == null ? unit : matcher.group(3).toLowerCase(Locale.ROOT);
+            Double converted = convert(value, declaredUnit, unit);
+            return converted == null ? null : new Amount(converted, matcher.group(1) != null);
+        }
+        
+        private static Double convert(double value, String from, String to) {
+            if (from.equals(to) || ("kcal".equals(to) && List.of("cal", "calories", "calorie").contains(from))) {
+                return value;
+            }
+            Double fromGrams = grams(from);
+            Double toGrams = grams(to);
+            return fromGrams == null || toGrams == null ? null : value * fromGrams / toGrams;
+        }
+        
+        private static Double grams(String unit) {
+            return switch (unit) {
+                case "g" -> 1.0;
+                case "mg" -> 1e-3;
+                case "mcg", "μg", "ug" -> 1e-6;
+                default -> null;
+            };
+        }
+    }
+}
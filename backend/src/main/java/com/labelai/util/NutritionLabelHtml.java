@@ -0,0 +1,503 @@
+package com.labelai.util;
+
+import com.labelai.dto.TranslateResponse.AdditionalInfo;
+import com.labelai.dto.TranslateResponse.FacilityInfo;
+import com.labelai.dto.TranslateResponse.NutrientValue;
+import com.labelai.dto.TranslateResponse.NutritionFacts;
+import com.labelai.dto.TranslateResponse.ProductInfo;
+import com.labelai.dto.TranslateResponse.TranslatedData;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 영양 라벨 HTML 렌더러 (/generate-html 의 로컬 구현)
+ * 국가별 템플릿(USA, EU, JP, CN)은 클래스 로딩 시 한 번 만들어 두고, 렌더링은 값 이스케이프 + 문자열 연결만 한다.
+ * 마크업 구조(label-container, nutrition-facts, nutrient, section, editable-element)는
+ * 프론트엔드 편집기와 RAG 검증 selector 가 기대하는 Food Label API 출력과 같다.
+ */
+public class NutritionLabelHtml {
+    
+    private static final Pattern AMOUNT = Pattern.compile("^\\s*(\\d+(?:[.,]\\d+)?)\\s*(mg|g)?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NUMBER = Pattern.compile("^\\s*(\\d+(?:[.,]\\d+)?)\\s*(kcal)?\\s*$", Pattern.CASE_INSENSITIVE);
+    
+    private static final String STYLE = """
+            body {
+                font-family: 'Helvetica', Arial, sans-serif;
+                background: #f5f5f5;
+                padding: 20px;
+                display: flex;
+                justify-content: center;
+            }
+            .label-container {
+                border: 2px solid black;
+                width: 320px;
+                padding: 10px;
+                background: white;
+                box-shadow: 0 2px 10px rgba(0,0,0,0.1);
+            }
+            .nutrition-facts {
+                border: 2px solid black;
+                padding: 5px;
+                margin-bottom: 10px;
+            }
+            .nutrition-facts h1 {
+                font-size: 32px;
+                font-weight: 900;
+                margin: 0 0 5px 0;
+                padding: 0;
+            }
+            .nutrition-facts .divider {
+                border-top: 10px solid black;
+                margin: 3px 0;
+            }
+            .nutrition-facts .thin-divider {
+                border-top: 1px solid black;
+                margin: 2px 0;
+            }
+            .nutrition-facts .serving-size {
+                font-size: 12px;
+                margin: 5px 0;
+            }
+            .nutrition-facts .calories {
+                font-size: 14px;
+                font-weight: bold;
+                margin: 5px 0;
+            }
+            .nutrition-facts .daily-value-header {
+                font-size: 10px;
+                font-weight: bold;
+                text-align: right;
+                margin: 5px 0;
+            }
+            .nutrition-facts .nutrient {
+                display: flex;
+                justify-content: space-between;
+                font-size: 11px;
+                border-top: 1px solid #666;
+                padding: 3px 0;
+            }
+            .nutrition-facts .nutrient-bold {
+                font-weight: bold;
+            }
+            .nutrition-facts .nutrient-indent {
+                padding-left: 15px;
+            }
+            .nutrition-facts .small-text {
+                font-size: 9px;
+                margin-top: 5px;
+                line-height: 1.3;
+            }
+            .section {
+                margin: 10px 0;
+                font-size: 11px;
+            }
+            .section .section-title {
+                font-weight: bold;
+                margin-bottom: 3px;
+            }
+            .editable-element {
+                position: relative;
+            }
+        """;
+    
+    private static final Map<String, Template> TEMPLATES = Map.of(
+        "USA", usa(),
+        "EU", eu(),
+        "JP", jp(),
+        "CN", cn());
+    
+    private static final Map<String, String> ALIASES = Map.of(
+        "US", "USA",
+        "JAPAN", "JP",
+        "CHINA", "CN");
+    
+    /**
+     * 로컬 템플릿이 있는 국가인지
+     */
+    public static boolean supports(String country) {
+        return template(country) != null;
+    }
+    
+    /**
+     * 영양 라벨 HTML
+     * @throws IllegalArgumentException 템플릿이 없는 국가
+     */
+    public static String render(String country, TranslatedData data) {
+        Template template = template(country);
+        if (template == null) {
+            throw new IllegalArgumentException("지원하지 않는 국가 템플릿: " + country);
+        }
+        return template.render(data == null ? new TranslatedData() : data);
+    }
+    
+    private static Template template(String country) {
+        if (country == null) {
+            return null;
+        }
+        String code = country.strip().toUpperCase(Locale.ROOT);
+        return TEMPLATES.get(ALIASES.getOrDefault(code, code));
+    }
+    
+    // ==================== TEMPLATES ====================
+    
+    private static Template usa() {
+        return new Template("en", "Nutrition Facts",
+            new Slot("<strong>", "</strong> servings per container"),
+            new Slot("<strong>Serving size</strong> ", ""),
+            calories -> "<strong>Calories</strong> " + calories,
+            "% Daily Value*",
+            List.of(
+                Row.bold("<strong>Total Fat</strong>", NutritionFacts::getTotalFat),
+                Row.indent("Saturated Fat", NutritionFacts::getSaturatedFat),
+                Row.indent("<em>Trans</em> Fat", NutritionFacts::getTransFat),
+                Row.bold("<strong>Cholesterol</strong>", NutritionFacts::getCholesterol),
+                Row.bold("<strong>Sodium</strong>", NutritionFacts::getSodium),
+                Row.bold("<strong>Total Carbohydrate</strong>", NutritionFacts::getTotalCarbohydrate),
+                Row.indent("Dietary Fiber", NutritionFacts::getDietaryFiber),
+                Row.indent("Total Sugars", NutritionFacts::getTotalSugars),
+                Row.bold("<strong>Protein</strong>", NutritionFacts::getProtein)),
+            "* The % Daily Value (DV) tells you how much a nutrient in a serving of food contributes to a daily diet. "
+                + "2,000 calories a day is used for general nutrition advice.",
+            new Titles("INGREDIENTS:", "CONTAINS:", "MANUFACTURED BY:", "FACILITIES:", "STORAGE:", "CAUTIONS:",
+                       "PRODUCT INFO:", "Type:", "Brand:", "Best Before:"));
+    }
+    
+    private static Template eu() {
+        return new Template("en", "Nutrition Declaration",
+            new Slot("<strong>Servings per pack</strong> ", ""),
+            new Slot("<strong>Per serving</strong> ", ""),
+            calories -> "<strong>Energy</strong> " + energy(calories, true, true),
+            "%RI*",
+            List.of(
+                Row.bold("<strong>Fat</strong>", NutritionFacts::getTotalFat),
+                Row.indent("of which saturates", NutritionFacts::getSaturatedFat),
+                Row.bold("<strong>Carbohydrate</strong>", NutritionFacts::getTotalCarbohydrate),
+                Row.indent("of which sugars", NutritionFacts::getTotalSugars),
+                Row.bold("<strong>Fibre</strong>", NutritionFacts::getDietaryFiber),
+                Row.bold("<strong>Protein</strong>", NutritionFacts::getProtein),
+                Row.bold("<strong>Salt</strong>", facts -> salt(facts.getSodium(), "2.5"))),
+            "* Reference intake of an average adult (8 400 kJ / 2 000 kcal)",
+            new Titles("INGREDIENTS:", "ALLERGENS:", "MANUFACTURER:", "PRODUCTION SITES:", "STORAGE:", "WARNINGS:",
+                       "PRODUCT INFO:", "Name of the food:", "Brand:", "Best before:"));
+    }
+    
+    private static Template jp() {
+        return new Template("ja", "栄養成分表示",
+            new Slot("内容量 ", "食分"),
+            new Slot("1食分（", "）当たり"),
+            calories -> "<strong>エネルギー</strong> " + energy(calories, false, true),
+            null,
+            List.of(
+                Row.bold("<strong>たんぱく質</strong>", NutritionFacts::getProtein),
+                Row.bold("<strong>脂質</strong>", NutritionFacts::getTotalFat),
+                Row.indent("飽和脂肪酸", NutritionFacts::getSaturatedFat),
+                Row.indent("トランス脂肪酸", NutritionFacts::getTransFat),
+                Row.bold("<strong>コレステロール</strong>", NutritionFacts::getCholesterol),
+                Row.bold("<strong>炭水化物</strong>", NutritionFacts::getTotalCarbohydrate),
+                Row.indent("糖類", NutritionFacts::getTotalSugars),
+                Row.indent("食物繊維", NutritionFacts::getDietaryFiber),
+                Row.bold("<strong>食塩相当量</strong>", facts -> salt(facts.getSodium(), "2.54"))),
+            null,
+            new Titles("原材料名:", "アレルゲン:", "製造者:", "製造所:", "保存方法:", "注意事項:",
+                       "商品情報:", "名称:", "ブランド:", "賞味期限:"));
+    }
+    
+    private static Template cn() {
+        return new Template("zh", "营养成分表",
+            new Slot("<strong>每包装份数</strong> ", ""),
+            new Slot("<strong>每份</strong> ", ""),
+            calories -> "<strong>能量</strong> " + energy(calories, true, false),
+            "营养素参考值%",
+            List.of(
+                Row.bold("<strong>蛋白质</strong>", NutritionFacts::getProtein),
+                Row.bold("<strong>脂肪</strong>", NutritionFacts::getTotalFat),
+                Row.indent("饱和脂肪", NutritionFacts::getSaturatedFat),
+                Row.indent("反式脂肪", NutritionFacts::getTransFat),
+                Row.bold("<strong>胆固醇</strong>", NutritionFacts::getCholesterol),
+                Row.bold("<strong>碳水化合物</strong>", NutritionFacts::getTotalCarbohydrate),
+                Row.indent("糖", NutritionFacts::getTotalSugars),
+                Row.indent("膳食纤维", NutritionFacts::getDietaryFiber),
+                Row.bold("<strong>钠</strong>", NutritionFacts::getSodium)),
+            null,
+            new Titles("配料:", "致敏物质提示:", "生产商:", "生产地址:", "贮存条件:", "注意事项:",
+                       "产品信息:", "食品名称:", "品牌:", "保质期:"));
+    }
+    
+    // ==================== VALUES ====================
+    
+    /**
+     * 칼로리 → 에너지 표기 (숫자만 있으면 kJ/kcal 환산, 아니면 번역된 값 그대로)
+     */
+    private static String energy(String calories, boolean kilojoules, boolean kilocalories) {
+        Matcher number = NUMBER.matcher(calories);
+        if (!number.matches()) {
+            return calories;
+        }
+        BigDecimal kcal = new BigDecimal(number.group(1).replace(',', '.'));
+        String kj = kcal.multiply(new BigDecimal("4.184")).setScale(0, RoundingMode.HALF_UP) + " kJ";
+        String kcalText = kcal.stripTrailingZeros().toPlainString() + " kcal";
+        if (kilojoules && kilocalories) {
+            return kj + " / " + kcalText;
+        }
+        return kilojoules ? kj : kcalText;
+    }
+    
+    /**
+     * 나트륨 → 식염 상당량 (g, 소수 둘째 자리), 나트륨 값을 해석할 수 없으면 행 생략
+     */
+    private static NutrientValue salt(NutrientValue sodium, String factor) {
+        if (sodium == null || sodium.getAmount() == null) {
+            return null;
+        }
+        Matcher amount = AMOUNT.matcher(sodium.getAmount());
+        if (!amount.find()) {
+            return null;
+        }
+        BigDecimal grams = new BigDecimal(amount.group(1).replace(',', '.'));
+        if (!"g".equalsIgnoreCase(amount.group(2))) {
+            grams = grams.movePointLeft(3);
+        }
+        BigDecimal salt = grams.multiply(new BigDecimal(factor)).setScale(2, RoundingMode.HALF_UP);
+        return new NutrientValue(salt.stripTrailingZeros().toPlainString() + "g", null);
+    }
+    
+    private static boolean present(String value) {
+        return value != null && !value.isBlank();
+    }
+    
+    private static String escape(String value) {
+        StringBuilder out = null;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null && out == null) {
+                out = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            if (out != null) {
+                if (replacement != null) {
+                    out.append(replacement);
+                } else {
+                    out.append(value.charAt(i));
+                }
+            }
+        }
+        return out == null ? value : out.toString();
+    }
+    
+    // ==================== TEMPLATE ====================
+    
+    /**
+     * 값 앞뒤 고정 마크업
+     */
+    private record Slot(String prefix, String suffix) {
+    }
+    
+    /**
+     * 영양소 행 (label 은 마크업 포함 고정 문자열)
+     */
+    private record Row(String label, boolean bold, Function<NutritionFacts, NutrientValue> value) {
+        
+        private static Row bold(String label, Function<NutritionFacts, NutrientValue> value) {
+            return new Row(label, true, value);
+        }
+        
+        private static Row indent(String label, Function<NutritionFacts, NutrientValue> value) {
+            return new Row(label, false, value);
+        }
+    }
+    
+    /**
+     * 하단 섹션 제목
+     */
+    private record Titles(String ingredients, String allergens, String manufacturer, String facilities,
+                          String storage, String cautions, String productInfo,
+                          String type, String brand, String bestBefore) {
+    }
+    
+    /**
+     * 국가별 템플릿 - 제목 앞뒤의 고정 부분(문서 머리, 스타일)은 생성 시 한 번 만든다
+     */
+    private static final class Template {
+        
+        private final String head;
+        private final String bodyStart;
+        private final Slot servings;
+        private final Slot servingSize;
+        private final Function<String, String> calories;
+        private final String dailyValueHeader;
+        private final List<Row> rows;
+        private final String footnote;
+        private final Titles titles;
+        
+        private Template(String lang, String heading, Slot servings, Slot servingSize,
+                         Function<String, String> calories, String dailyValueHeader, List<Row> rows,
+                         String footnote, Titles titles) {
+            this.head = "<!DOCTYPE html>\n<html lang=\"" + lang + "\">\n<head>\n"
+                + "    <meta charset=\"UTF-8\">\n"
+                + "    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n"
+                + "    <title>" + heading;
+            this.bodyStart = "</title>\n    <style>\n" + STYLE + "    </style>\n</head>\n<body>\n"
+                + "    <div class=\"label-container\">\n"
+                + "        <div class=\"nutrition-facts\">\n"
+                + "            <h1>" + heading + "</h1>\n"
+                + "            <div class=\"divider\"></div>\n";
+            this.servings = servings;
+            this.servingSize = servingSize;
+            this.calories = calories;
+            this.dailyValueHeader = dailyValueHeader;
+            this.rows = rows;
+            this.footnote = footnote;
+            this.titles = titles;
+        }
+        
+        private String render(TranslatedData data) {
+            ProductInfo product = data.getProduct() == null ? new ProductInfo() : data.getProduct();
+            NutritionFacts facts = data.getNutrition() == null ? new NutritionFacts() : data.getNutrition();
+            AdditionalInfo additional = data.getAdditional() == null ? new AdditionalInfo() : data.getAdditional();
+            
+            StringBuilder out = new StringBuilder(8192).append(head);
+            if (present(product.getType())) {
+                out.append(" - ").append(escape(product.getType()));
+            }
+            out.append(bodyStart);
+            
+            editable(out, "serving-size", servings, facts.getServingsPerContainer());
+            editable(out, "serving-size", servingSize, facts.getServingSize());
+            if (present(facts.getCalories())) {
+                out.append("            <div class=\"divider\"></div>\n")
+                    .append("            <div class=\"calories editable-element\" contenteditable=\"true\">")
+                    .append(calories.apply(escape(facts.getCalories()))).append("</div>\n");
+            }
+            out.append("            <div class=\"divider\"></div>\n");
+            if (dailyValueHeader != null) {
+                out.append("            <div class=\"daily-value-header\">").append(dailyValueHeader).append("</div>\n");
+            }
+            for (Row row : rows) {
+                NutrientValue value = row.value().apply(facts);
+                if (value == null || !present(value.getAmount())) {
+                    continue;
+                }
+                out.append("            <div class=\"nutrient ")
+                    .append(row.bold() ? "nutrient-bold" : "nutrient-indent")
+                    .append(" editable-element\" contenteditable=\"true\">\n")
+                    .append("                <span>").append(row.label()).append(' ')
+                    .append(escape(value.getAmount())).append("</span>\n")
+                    .append("                <span>");
+                if (dailyValueHeader != null && present(value.getDailyValue())) {
+                    out.append("<strong>").append(escape(value.getDailyValue())).append("</strong>");
+                }
+                out.append("</span>\n            </div>\n");
+            }
+            if (footnote != null) {
+                out.append("            <div class=\"divider\"></div>\n")
+                    .append("            <div class=\"small-text editable-element\" contenteditable=\"true\">")
+                    .append(footnote).append("</div>\n");
+            }
+            out.append("        </div>\n");
+            
+            section(out, titles.ingredients(), joined(product.getIngredients()));
+            section(out, titles.allergens(), joined(product.getAllergens()));
+            section(out, titles.manufacturer(), additional.getManufacturedBy());
+            facilities(out, additional.getFacilities());
+            section(out, titles.storage(), additional.getStorage());
+            cautions(out, additional.getCautions());
+            productInfo(out, product);
+            
+            return out.append("    </div>\n</body>\n</html>").toString();
+        }
+        
+        private void editable(StringBuilder out, String cssClass, Slot slot, String value) {
+            if (!present(value)) {
+                return;
+            }
+            out.append("            <div class=\"").append(cssClass).append(" editable-element\" contenteditable=\"true\">")
+                .append(slot.prefix()).append(escape(value)).append(slot.suffix()).append("</div>\n");
+        }
+        
+        private void section(StringBuilder out, String title, String value) {
+            if (!present(value)) {
+                return;
+            }
+            sectionStart(out, title);
+            line(out, escape(value));
+            out.append("        </div>\n");
+        }
+        
+        private void facilities(StringBuilder out, List<FacilityInfo> facilities) {
+            if (facilities == null || facilities.isEmpty()) {
+                return;
+            }
+            sectionStart(out, titles.facilities());
+            for (FacilityInfo facility : facilities) {
+                String code = facility.getCode();
+                String address = facility.getAddress();
+                if (present(code) && present(address)) {
+                    line(out, "<strong>" + escape(code) + "</strong> " + escape(address));
+                } else if (present(code) || present(address)) {
+                    line(out, escape(present(code) ? code : address));
+                }
+            }
+            out.append("        </div>\n");
+        }
+        
+        private void cautions(StringBuilder out, List<String> cautions) {
+            if (cautions == null || cautions.stream().noneMatch(NutritionLabelHtml::present)) {
+                return;
+            }
+            sectionStart(out, titles.cautions());
+            for (String caution : cautions) {
+                if (present(caution)) {
+                    line(out, escape(caution));
+                }
+            }
+            out.append("        </div>\n");
+        }
+        
+        private void productInfo(StringBuilder out, ProductInfo product) {
+            if (!present(product.getType()) && !present(product.getBrand()) && !present(product.getBestBefore())) {
+                return;
+            }
+            sectionStart(out, titles.productInfo());
+            labeled(out, titles.type(), product.getType());
+            labeled(out, titles.brand(), product.getBrand());
+            labeled(out, titles.bestBefore(), product.getBestBefore());
+            out.append("        </div>\n");
+        }
+        
+        private void labeled(StringBuilder out, String label, String value) {
+            if (present(value)) {
+                line(out, "<strong>" + label + "</strong> " + escape(value));
+            }
+        }
+        
+        private static void sectionStart(StringBuilder out, String title) {
+            out.append("        <div class=\"section\">\n")
+                .append("            <div class=\"section-title\">").append(title).append("</div>\n");
+        }
+        
+        private static void line(StringBuilder out, String html) {
+            out.append("            <div class=\"editable-element\" contenteditable=\"true\">")
+                .append(html).append("</div>\n");
+        }
+        
+        private static String joined(List<String> values) {
+            if (values == null) {
+                return null;
+            }
+            return String.join(", ", values.stream().filter(NutritionLabelHtml::present).map(String::strip).toList());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.labelai.util;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * 스풀 디렉토리로 옮기고 SHA-256 을 계산해 둔 업로드 파일
+ * 컨테이너가 디스크에 받아 둔 파트(file-size-threshold: 0)는 이름만 바꿔 옮기므로 업로드는 디스크에 한 번만 기록된다.
+ * 이후 해시 조회와 업스트림 전송은 디스크 파일만 사용하므로 힙에 이미지 전체를 올리지 않는다.
+ */
+public class SpooledMultipartFile extends FileSystemMultipartFile implements ContentHashed {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final String sha256;
+    private final long size;
+    
+    private SpooledMultipartFile(Path path, String originalFilename, String contentType, String sha256, long size) {
+        super(path, originalFilename, contentType);
+        this.sha256 = sha256;
+        this.size = size;
+    }
+    
+    /**
+     * 업로드를 target 으로 옮긴 뒤 파일을 한 번 읽어 SHA-256 계산
+     * 컨테이너 파트는 transferTo 가 임시 파일의 이름을 바꾸므로(같은 파일시스템이면) 다시 기록하지 않고,
+     * 메모리에 있는 업로드만 한 번 기록된다. 옮긴 뒤에는 source 를 다시 읽을 수 없다.
+     */
+    public static SpooledMultipartFile spool(MultipartFile source, Path target) throws IOException {
+        source.transferTo(target.toFile());
+        
+        MessageDigest digest = HashUtil.newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+                size += read;
+            }
+        }
+        
+        return new SpooledMultipartFile(target, source.getOriginalFilename(), source.getContentType(),
+            HexFormat.of().formatHex(digest.digest()), size);
+    }
+    
+    /**
+     * 기록 시 계산한 내용 해시 (SHA-256 hex)
+     */
+    @Override
+    public String getSha256() {
+        return sha256;
+    }
+    
+    @Override
+    public long getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,136 @@
+package com.labelai.api;
+
+import com.labelai.exception.CustomException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 레인 안의 사용자별 가중 공정 큐 - 가상 완료 시각 순서로 실행 자리를 준다
+ */
+class FairRequestSchedulerTest {
+    
+    private final List<String> order = Collections.synchronizedList(new ArrayList<>());
+    private final Sinks.Empty<Void> blocker = Sinks.empty();
+    private AdaptiveConcurrencyLimiter limiter = fixedLimiter(16);
+    
+    @Test
+    void heavyUserDoesNotDelayOthersAndWeightsAreHonored() {
+        FairRequestScheduler scheduler = scheduler(new MockEnvironment()
+            .withProperty("label.scheduler.user-weights.carol", "2"));
+        occupy(scheduler);
+        
+        // alice 가 먼저 6건을 쌓아도 bob/carol 은 뒤에 줄 서지 않는다, carol 은 가중치 2
+        submit(scheduler, RequestPriority.interactive("alice"), 6);
+        submit(scheduler, RequestPriority.interactive("bob"), 2);
+        submit(scheduler, RequestPriority.interactive("carol"), 4);
+        blocker.tryEmitEmpty();
+        
+        assertThat(order).containsExactly(
+            "carol", "alice", "bob", "carol",
+            "carol", "alice", "bob", "carol",
+            "alice", "alice", "alice", "alice");
+    }
+    
+    @Test
+    void returningUserGetsNoCreditForIdleTime() {
+        FairRequestScheduler scheduler = scheduler(new MockEnvironment());
+        occupy(scheduler);
+        
+        submit(scheduler, RequestPriority.interactive("alice"), 4);
+        blocker.tryEmitEmpty();
+        assertThat(order).hasSize(4);
+        
+        // alice 혼자 4건을 처리한 뒤 온 bob 은 그동안의 몫을 몰아 받지 않고 alice 와 번갈아 실행된다
+        order.clear();
+        Sinks.Empty<Void> second = Sinks.empty();
+        scheduler.schedule("process", limiter, second.asMono()).subscribe();
+        submit(scheduler, RequestPriority.interactive("alice"), 3);
+        submit(scheduler, RequestPriority.interactive("bob"), 3);
+        second.tryEmitEmpty();
+        
+        assertThat(order).containsExactly("alice", "bob", "alice", "bob", "alice", "bob");
+    }
+    
+    @Test
+    void bulkLaneStillGetsItsShare() {
+        FairRequestScheduler scheduler = scheduler(new MockEnvironment());
+        occupy(scheduler);
+        
+        submit(scheduler, RequestPriority.bulk("batch"), 3);
+        submit(scheduler, RequestPriority.interactive("alice"), 8);
+        blocker.tryEmitEmpty();
+        
+        // 가중치 4:1 - interactive 4건마다 bulk 1건
+        assertThat(order.subList(0, 5)).containsOnlyOnce("batch");
+        assertThat(order.subList(5, 10)).containsOnlyOnce("batch");
+    }
+    
+    @Test
+    void interactiveOvertakesQueuedBulkWhenLimiterIsBelowCapacity() {
+        // 스케줄러 자리는 8 이지만 제한기 허용량은 1 - 넘는 호출은 제한기 FIFO 가 아니라 스케줄러 레인에서 기다린다
+        limiter = fixedLimiter(1);
+        FairRequestScheduler scheduler = new FairRequestScheduler(
+            new MockEnvironment().withProperty("label.scheduler.endpoints.process", "8"), 16, 4, 1, new SimpleMeterRegistry());
+        occupy(scheduler);
+        
+        submit(scheduler, RequestPriority.bulk("batch"), 3);
+        submit(scheduler, RequestPriority.interactive("alice"), 2);
+        assertThat(scheduler.getInFlight("process")).isEqualTo(1);
+        assertThat(limiter.getQueueDepth()).isZero();
+        blocker.tryEmitEmpty();
+        
+        assertThat(order).containsExactly("alice", "alice", "batch", "batch", "batch");
+    }
+    
+    @Test
+    void fullQueueIsRejected() {
+        limiter = new AdaptiveConcurrencyLimiter("process", 1, 1, 1, 2.0, 0.9, 2);
+        FairRequestScheduler scheduler = scheduler(new MockEnvironment());
+        occupy(scheduler);
+        
+        submit(scheduler, RequestPriority.interactive("alice"), 2);
+        
+        assertThatThrownBy(() -> scheduler.schedule("process", limiter, Mono.empty()).block())
+            .isInstanceOfSatisfying(CustomException.class, e -> assertThat(e.getStatusCode()).isEqualTo(503));
+        blocker.tryEmitEmpty();
+        assertThat(order).containsExactly("alice", "alice");
+    }
+    
+    private FairRequestScheduler scheduler(MockEnvironment environment) {
+        environment.setProperty("label.scheduler.endpoints.process", "1");
+        return new FairRequestScheduler(environment, 16, 4, 1, new SimpleMeterRegistry());
+    }
+    
+    /**
+     * 유일한 실행 자리를 blocker 가 끝날 때까지 차지
+     */
+    private void occupy(FairRequestScheduler scheduler) {
+        scheduler.schedule("process", limiter, blocker.asMono()).subscribe();
+        assertThat(scheduler.getInFlight("process")).isEqualTo(1);
+    }
+    
+    /**
+     * 허용량이 limit 으로 고정된 제한기
+     */
+    private static AdaptiveConcurrencyLimiter fixedLimiter(int limit) {
+        return new AdaptiveConcurrencyLimiter("process", limit, limit, limit, 2.0, 0.9, 200);
+    }
+    
+    private void submit(FairRequestScheduler scheduler, RequestPriority priority, int count) {
+        for (int i = 0; i < count; i++) {
+            scheduler.schedule("process", limiter, Mono.fromRunnable(() -> order.add(priority.user())))
+                .contextWrite(priority::writeTo)
+                .subscribe();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.labelai.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OCR 전송 전 전처리 - EXIF 방향 보정, 긴 변 축소, 그레이스케일 JPEG 재인코딩
+ */
+class ImagePreprocessorTest {
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ImagePreprocessor preprocessor;
+    
+    @BeforeEach
+    void setUp() {
+        preprocessor = new ImagePreprocessor(registry, 1, 10);
+        ReflectionTestUtils.setField(preprocessor, "enabled", true);
+        ReflectionTestUtils.setField(preprocessor, "maxLongEdge", 2000);
+        ReflectionTestUtils.setField(preprocessor, "grayscale", true);
+        ReflectionTestUtils.setField(preprocessor, "jpegQuality", 0.85f);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        preprocessor.shutdown();
+    }
+    
+    @Test
+    void appliesExifOrientation() throws IOException {
+        // 왼쪽 절반이 검은 가로 이미지 + Orientation 6(시계 방향 90도 회전해서 보기) → 위쪽 절반이 검은 세로 이미지
+        byte[] jpeg = withOrientation(encode(halves(400, 200), "jpeg"), 6);
+        
+        BufferedImage result = decode(preprocess(new MockMultipartFile("file", "label.jpg", "image/jpeg", jpeg)));
+        
+        assertThat(result.getWidth()).isEqualTo(200);
+        assertThat(result.getHeight()).isEqualTo(400);
+        assertThat(luminance(result, 100, 50)).isLessThan(64);
+        assertThat(luminance(result, 100, 350)).isGreaterThan(192);
+    }
+    
+    @Test
+    void downscalesLongEdgeAndReencodesGrayscaleJpeg() throws IOException {
+        byte[] png = encode(halves(4000, 1000), "png");
+        
+        byte[] processed = preprocess(new MockMultipartFile("file", "label.png", "image/png", png));
+        BufferedImage result = decode(processed);
+        
+        assertThat(processed).startsWith((byte) 0xFF, (byte) 0xD8);
+        assertThat(result.getWidth()).isEqualTo(2000);
+        assertThat(result.getHeight()).isEqualTo(500);
+        assertThat(result.getColorModel().getNumComponents()).isEqualTo(1);
+        assertThat(luminance(result, 500, 250)).isLessThan(64);
+        assertThat(luminance(result, 1500, 250)).isGreaterThan(192);
+        assertThat(registry.get("label.image.preprocess.bytes").tag("image", "processed").summary().count())
+            .isEqualTo(1);
+    }
+    
+    @Test
+    void sendsOriginalWhenReencodingDoesNotShrinkIt() throws IOException {
+        // 기본 품질(0.75)로 저장된 잡음 이미지를 품질 1.0 으로 다시 인코딩하면 커진다
+        ReflectionTestUtils.setField(preprocessor, "jpegQuality", 1.0f);
+        byte[] jpeg = encode(noise(256, 256), "jpeg");
+        
+        byte[] processed = preprocessor.preprocess(new MockMultipartFile("file", "small.jpg", "image/jpeg", jpeg))
+            .block(Duration.ofSeconds(10));
+        
+        assertThat(processed).isNull();
+        assertThat(registry.get("label.image.preprocess.skipped").tag("reason", "larger").counter().count())
+            .isEqualTo(1);
+    }
+    
+    @Test
+    void disabledSendsOriginal() throws IOException {
+        ReflectionTestUtils.setField(preprocessor, "enabled", false);
+        byte[] png = encode(halves(4000, 1000), "png");
+        
+        assertThat(preprocessor.preprocess(new MockMultipartFile("file", "label.png", "image/png", png))
+            .block(Duration.ofSeconds(10))).isNull();
+    }
+    
+    private byte[] preprocess(MockMultipartFile image) {
+        byte[] processed = preprocessor.preprocess(image).block(Duration.ofSeconds(30));
+        assertThat(processed).isNotNull();
+        return processed;
+    }
+    
+    /**
+     * 왼쪽 절반 검정, 오른쪽 절반 흰색
+     */
+    private static BufferedImage halves(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, width / 2, height);
+        g.dispose();
+        return image;
+    }
+    
+    private static BufferedImage noise(int width, int height) {
+        Random random = new Random(42);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int v = random.nextInt(256);
+                image.setRGB(x, y, v << 16 | v << 8 | v);
+            }
+        }
+        return image;
+    }
+    
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+    
+    private static BufferedImage decode(byte[] bytes) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+    
+    private static int luminance(BufferedImage image, int x, int y) {
+        int rgb = image.getRGB(x, y);
+        return ((rgb >> 16 & 0xFF) + (rgb >> 8 & 0xFF) + (rgb & 0xFF)) / 3;
+    }
+    
+    /**
+     * SOI 바로 뒤에 Orientation 태그 하나만 있는 EXIF APP1 세그먼트 삽입 (빅 엔디언 TIFF)
+     */
+    private static byte[] withOrientation(byte[] jpeg, int orientation) {
+        ByteBuffer tiff = ByteBuffer.allocate(26)
+            .put("MM".getBytes(StandardCharsets.ISO_8859_1)).putShort((short) 42).putInt(8)
+            .putShort((short) 1)
+            .putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0)
+            .putInt(0);
+        byte[] exif = "Exif\0\0".getBytes(StandardCharsets.ISO_8859_1);
+        int length = 2 + exif.length + tiff.capacity();
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.writeBytes(new byte[] {(byte) 0xFF, (byte) 0xE1, (byte) (length >> 8), (byte) length});
+        out.writeBytes(exif);
+        out.writeBytes(tiff.array());
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+}
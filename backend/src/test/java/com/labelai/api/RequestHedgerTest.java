@@ -0,0 +1,151 @@
+package com.labelai.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 요청 헤징 - 원 요청/헤지 요청 경쟁, 헤지 예산, interactive 레인 한정
+ */
+class RequestHedgerTest {
+    
+    private static final Duration DELAY = Duration.ofMillis(50);
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestHedger hedger = new RequestHedger(registry);
+    private final AtomicInteger calls = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(hedger, "enabled", true);
+        ReflectionTestUtils.setField(hedger, "endpoints", List.of("ocr"));
+        ReflectionTestUtils.setField(hedger, "percentile", 0.95);
+        ReflectionTestUtils.setField(hedger, "minDelay", DELAY);
+        ReflectionTestUtils.setField(hedger, "window", 10);
+        ReflectionTestUtils.setField(hedger, "minSamples", 1);
+        ReflectionTestUtils.setField(hedger, "budgetRatio", 1.0);
+        ReflectionTestUtils.setField(hedger, "maxTokens", 1.0);
+        ReflectionTestUtils.setField(hedger, "interactiveOnly", true);
+    }
+    
+    @Test
+    void winnerCancelsLoser() {
+        prime();
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        
+        String result = hedge(RequestPriority.interactive("alice"), attempts(
+            Mono.<String>never().doOnCancel(() -> primaryCancelled.set(true)),
+            Mono.just("hedge")));
+        
+        assertThat(result).isEqualTo("hedge");
+        await().atMost(Duration.ofSeconds(1)).untilTrue(primaryCancelled);
+        assertThat(counter("sent")).isEqualTo(1);
+        assertThat(counter("won")).isEqualTo(1);
+    }
+    
+    @Test
+    void errorWaitsForOtherAttempt() {
+        prime();
+        
+        // 헤지 요청이 나간 뒤 원 요청이 먼저 실패해도 헤지 응답을 기다린다
+        String result = hedge(RequestPriority.interactive("alice"), attempts(
+            Mono.delay(DELAY.multipliedBy(2)).then(Mono.error(new RuntimeException("primary failed"))),
+            Mono.delay(DELAY.multipliedBy(3)).thenReturn("hedge")));
+        
+        assertThat(result).isEqualTo("hedge");
+        assertThat(calls).hasValue(2);
+    }
+    
+    @Test
+    void lastErrorIsReportedWhenAllAttemptsFail() {
+        prime();
+        
+        assertThatThrownBy(() -> hedge(RequestPriority.interactive("alice"), attempts(
+            Mono.delay(DELAY.multipliedBy(2)).then(Mono.error(new RuntimeException("primary failed"))),
+            Mono.delay(DELAY.multipliedBy(3)).then(Mono.error(new RuntimeException("hedge failed"))))))
+            .hasMessage("hedge failed");
+        assertThat(calls).hasValue(2);
+    }
+    
+    @Test
+    void budgetDenialSkipsHedge() {
+        // 요청당 0.5 토큰 - 두 번째 요청이 토큰 1개를 쓰고 나면 세 번째 요청은 헤지하지 못한다
+        ReflectionTestUtils.setField(hedger, "budgetRatio", 0.5);
+        prime();
+        hedge(RequestPriority.interactive("alice"), attempts(Mono.never(), Mono.just("hedge")));
+        calls.set(0);
+        
+        String result = hedge(RequestPriority.interactive("alice"), attempts(
+            Mono.delay(DELAY.multipliedBy(3)).thenReturn("primary"),
+            Mono.just("hedge")));
+        
+        assertThat(result).isEqualTo("primary");
+        assertThat(calls).hasValue(1);
+        assertThat(counter("sent")).isEqualTo(1);
+        assertThat(counter("denied")).isEqualTo(1);
+    }
+    
+    @Test
+    void bulkLaneIsNotHedged() {
+        prime();
+        
+        String result = hedge(RequestPriority.bulk("batch"), attempts(
+            Mono.delay(DELAY.multipliedBy(3)).thenReturn("primary"),
+            Mono.just("hedge")));
+        
+        assertThat(result).isEqualTo("primary");
+        assertThat(calls).hasValue(1);
+        assertThat(counter("sent")).isZero();
+    }
+    
+    @Test
+    void failedAttemptsAreSampled() {
+        ReflectionTestUtils.setField(hedger, "minSamples", 2);
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> hedge(RequestPriority.bulk("batch"),
+                () -> Mono.delay(DELAY.multipliedBy(2)).then(Mono.error(new RuntimeException("timeout")))))
+                .hasMessage("timeout");
+        }
+        
+        // 실패한 시도만 있어도 표본이 쌓여 헤지 대기 시간이 실패 지연을 따른다
+        assertThat(registry.get("label.upstream.hedge.delay").tag("endpoint", "ocr").gauge().value())
+            .isGreaterThanOrEqualTo(DELAY.multipliedBy(2).toMillis());
+    }
+    
+    /**
+     * 헤지 대기 시간을 min-delay 로 만드는 빠른 표본 1건
+     */
+    private void prime() {
+        hedge(RequestPriority.interactive("alice"), () -> Mono.just("prime"));
+        calls.set(0);
+    }
+    
+    private String hedge(RequestPriority priority, Supplier<Mono<String>> call) {
+        return hedger.hedge("ocr", call)
+            .contextWrite(priority::writeTo)
+            .block(Duration.ofSeconds(5));
+    }
+    
+    /**
+     * 첫 호출은 primary, 두 번째 호출은 hedge
+     */
+    private Supplier<Mono<String>> attempts(Mono<String> primary, Mono<String> hedge) {
+        return () -> calls.incrementAndGet() == 1 ? primary : hedge;
+    }
+    
+    private double counter(String result) {
+        return registry.get("label.upstream.hedge").tag("endpoint", "ocr").tag("result", result).counter().count();
+    }
+}
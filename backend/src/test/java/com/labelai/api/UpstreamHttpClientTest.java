@@ -0,0 +1,102 @@
+package com.labelai.api;
+
+import com.labelai.dto.response.ValidationResponse;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 공용 업스트림 HTTP 클라이언트 - 호출 스레드를 막지 않고, 요청 마감이 짧으면 그만큼만 기다린다
+ */
+class UpstreamHttpClientTest {
+    
+    private static final Duration LATENCY = Duration.ofMillis(300);
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService serverThreads = Executors.newFixedThreadPool(32);
+    private HttpServer server;
+    private UpstreamHttpClients clients;
+    private UpstreamHttpClient http;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverThreads);
+        server.createContext("/validate", exchange -> {
+            try {
+                Thread.sleep(LATENCY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"totalErrors\":2}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            } catch (IOException ignored) {
+                // 제한 시간 초과로 클라이언트가 먼저 연결을 끊음
+            }
+        });
+        server.start();
+        
+        clients = new UpstreamHttpClients(new MockEnvironment()
+            .withProperty("external.rag-api.url", "http://127.0.0.1:" + server.getAddress().getPort())
+            .withProperty("external.rag-api.pool.max-connections", "50"),
+            registry, WebClient.builder());
+        http = clients.client("rag-api");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        clients.shutdown();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+    
+    @Test
+    void concurrentCallsDoNotHoldCallerThreads() {
+        long startNanos = System.nanoTime();
+        List<ValidationResponse> responses = Flux.range(0, 20)
+            .flatMap(i -> http.postJson("/validate", Map.of("i", i), ValidationResponse.class))
+            .collectList()
+            .block(Duration.ofSeconds(10));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        
+        // 20건을 호출 스레드 1개로 보내도 지연 몇 번 안에 끝난다 (순차라면 20 x LATENCY)
+        assertThat(responses).hasSize(20).allMatch(response -> response.getTotalErrors() == 2);
+        assertThat(elapsed).isLessThan(LATENCY.multipliedBy(5));
+        assertThat(registry.get("label.upstream.http.duration").tag("outcome", "success").timer().count())
+            .isEqualTo(20);
+    }
+    
+    @Test
+    void deadlineShortensResponseTimeout() {
+        Mono<ValidationResponse> call = http.postJson("/validate", Map.of(), ValidationResponse.class)
+            .contextWrite(RequestDeadline.after("validate", Duration.ofMillis(100))::writeTo);
+        
+        assertThatThrownBy(() -> call.block(Duration.ofSeconds(5)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("rag-api /validate: no response within");
+        assertThat(registry.get("label.upstream.http.duration").tag("outcome", "timeout").timer().count())
+            .isEqualTo(1);
+    }
+}
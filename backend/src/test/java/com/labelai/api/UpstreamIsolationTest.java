@@ -0,0 +1,150 @@
+package com.labelai.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.dto.HtmlGenerateRequest;
+import com.labelai.dto.StructureRequest;
+import com.labelai.dto.TranslateRequest;
+import com.labelai.exception.CustomException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 느린 엔드포인트가 다른 엔드포인트의 호출을 굶기지 않는지 확인
+ * (스케줄러 자리/Bulkhead/제한기를 application.yml 과 같은 크기로 구성하고 업스트림은 WebClient ExchangeFunction 으로 대체)
+ */
+class UpstreamIsolationTest {
+    
+    private static final Duration SLOW = Duration.ofSeconds(5);
+    private static final Map<String, Integer> BULKHEADS = Map.of(
+        "ocr", 10, "structure", 10, "translate", 8, "generate-html", 10, "process", 6);
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, AtomicInteger> started = Map.of(
+        "/structure", new AtomicInteger(), "/translate", new AtomicInteger(), "/generate-html", new AtomicInteger());
+    private final Disposable.Composite background = Disposables.composite();
+    private UpstreamConcurrencyLimiters limiters;
+    private FoodLabelApiClient client;
+    
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+            .baseUrl("http://food-label.test")
+            .exchangeFunction(request -> {
+                String path = request.url().getPath();
+                started.get(path).incrementAndGet();
+                Duration latency = path.equals("/structure") ? Duration.ofMillis(20) : SLOW;
+                return Mono.delay(latency).thenReturn(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(path.equals("/generate-html") ? "\"<html></html>\"" : "{}")
+                    .build());
+            })
+            .build();
+        
+        BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+        TimeLimiterRegistry timeLimiters = TimeLimiterRegistry.ofDefaults();
+        BULKHEADS.forEach((endpoint, size) -> {
+            bulkheads.bulkhead("food-label-" + endpoint, BulkheadConfig.custom()
+                .maxConcurrentCalls(size)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+            timeLimiters.timeLimiter("food-label-" + endpoint, TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofSeconds(30))
+                .build());
+        });
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+        UpstreamResilienceProfiles profiles = new UpstreamResilienceProfiles(
+            circuitBreakers, RetryRegistry.ofDefaults(), bulkheads, timeLimiters);
+        
+        limiters = new UpstreamConcurrencyLimiters(profiles, meterRegistry);
+        ReflectionTestUtils.setField(limiters, "initialLimit", 5);
+        ReflectionTestUtils.setField(limiters, "minLimit", 1);
+        ReflectionTestUtils.setField(limiters, "maxLimit", 50);
+        ReflectionTestUtils.setField(limiters, "tolerance", 2.0);
+        ReflectionTestUtils.setField(limiters, "backoffRatio", 0.9);
+        ReflectionTestUtils.setField(limiters, "maxQueue", 200);
+        
+        FairRequestScheduler scheduler = new FairRequestScheduler(new MockEnvironment(), 16, 4, 1, meterRegistry);
+        
+        client = new FoodLabelApiClient(webClient, profiles, new ObjectMapper(), limiters, scheduler,
+            new ImagePreprocessor(meterRegistry, 1, 10),
+            new RequestHedger(meterRegistry),
+            new RequestDeadlines(new MockEnvironment(), meterRegistry),
+            new UpstreamLoadBalancer(circuitBreakers, meterRegistry, List.of("http://food-label.test"), Duration.ofSeconds(10)));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        background.dispose();
+    }
+    
+    @Test
+    void slowTranslateAndHtmlDoNotStarveStructure() {
+        for (int i = 0; i < 40; i++) {
+            background.add(client.translate(TranslateRequest.builder().targetCountry("USA").build()).subscribe());
+            background.add(client.generateHtml(HtmlGenerateRequest.builder().country("USA").build()).subscribe());
+        }
+        
+        long start = System.nanoTime();
+        client.structureData(StructureRequest.builder().build()).block(Duration.ofSeconds(2));
+        
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(started.get("/structure")).hasValue(1);
+    }
+    
+    @Test
+    void burstAboveBulkheadWaitsInsteadOfBeingRejected() {
+        List<Mono<Object>> calls = IntStream.range(0, 30)
+            .mapToObj(i -> client.structureData(StructureRequest.builder().build()).cast(Object.class))
+            .toList();
+        
+        List<Object> results = Mono.zip(calls, values -> List.of(values)).block(Duration.ofSeconds(5));
+        
+        assertThat(results).hasSize(30);
+        assertThat(started.get("/structure")).hasValue(30);
+    }
+    
+    @Test
+    void fullQueueIsRejectedWith503() {
+        ReflectionTestUtils.setField(limiters, "maxQueue", 2);
+        // 허용량 5 + 대기열 2 를 채운 뒤의 요청은 업스트림 장애(500)로 감싸지지 않고 503 그대로 전달
+        for (int i = 0; i < 7; i++) {
+            background.add(client.translate(TranslateRequest.builder().targetCountry("USA").build()).subscribe());
+        }
+        
+        assertThatThrownBy(() -> client.translate(TranslateRequest.builder().targetCountry("USA").build())
+                .block(Duration.ofSeconds(3)))
+            .isInstanceOfSatisfying(CustomException.class, e -> {
+                assertThat(e.getErrorCode()).isEqualTo("UPSTREAM_OVERLOADED");
+                assertThat(e.getStatusCode()).isEqualTo(503);
+            });
+        assertThat(started.get("/translate")).hasValue(5);
+    }
+}
@@ -0,0 +1,96 @@
+package com.labelai.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.dto.response.ValidationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RAG 검증 결과 캐시 - 정규화 HTML 해시 + 코퍼스 버전 키
+ */
+class ValidationCacheTest {
+    
+    private static final String HTML = "<div class=\"section\">\n    <div class=\"section-title\">INGREDIENTS:</div>\n</div>";
+    
+    private final ValidationCacheStore store = mock(ValidationCacheStore.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger ragCalls = new AtomicInteger();
+    private ValidationCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        when(store.load(anyString())).thenReturn(Optional.empty());
+        cache = new ValidationCache(1024 * 1024, Duration.ofHours(1), "1", store, new ObjectMapper(), registry,
+                                    Schedulers.immediate());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "corpus", "fda");
+        ReflectionTestUtils.setField(cache, "persistentEnabled", true);
+    }
+    
+    @Test
+    void equivalentHtmlSharesKey() {
+        ValidationResponse first = validate(HTML);
+        String equivalent = "<DIV class='section'><div  class=\"section-title\">INGREDIENTS:</div></DIV>";
+        ValidationResponse second = validate(equivalent);
+        
+        assertThat(ragCalls).hasValue(1);
+        assertThat(second.getTotalErrors()).isEqualTo(first.getTotalErrors());
+        // 적중 결과의 sourceHtml 은 이번 요청의 HTML
+        assertThat(second.getSourceHtml()).isEqualTo(equivalent);
+        assertThat(result("memory")).isEqualTo(1);
+    }
+    
+    @Test
+    void contentChangeMisses() {
+        validate(HTML);
+        validate(HTML.replace("INGREDIENTS:", "ALLERGENS:"));
+        
+        assertThat(ragCalls).hasValue(2);
+        assertThat(result("miss")).isEqualTo(2);
+    }
+    
+    @Test
+    void corpusVersionBumpMisses() {
+        validate(HTML);
+        cache.updateCorpusVersion("2");
+        validate(HTML);
+        
+        assertThat(ragCalls).hasValue(2);
+        assertThat(cache.getCorpusVersion()).isEqualTo("2");
+        verify(store).updateCorpusVersion("fda", "2");
+        verify(store).save(endsWith(":2"), anyString(), eq("2"), any());
+        
+        // 같은 버전 안에서는 다시 적중
+        validate(HTML);
+        assertThat(ragCalls).hasValue(2);
+    }
+    
+    private ValidationResponse validate(String html) {
+        return cache.validation(html, () -> Mono.fromSupplier(() -> ValidationResponse.builder()
+                .sourceHtml(html)
+                .totalErrors(ragCalls.incrementAndGet())
+                .build()))
+            .block(Duration.ofSeconds(5));
+    }
+    
+    private double result(String result) {
+        return registry.get("label.validation.cache").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,220 @@
+package com.labelai.controller;
+
+import com.labelai.LabelAiApplication;
+import com.labelai.security.JwtUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실행 모드(플랫폼 스레드 vs 가상 스레드)별 POST /api/label/translate 처리량
+ * 애플리케이션 전체(Tomcat, 보안 필터, H2 이력 저장)를 모드별로 띄우고, Food Label API 는 고정 지연으로 응답하는 로컬 스텁.
+ * 동시 사용자 50/200/1000 명이 각각 연달아 요청하며, 요청마다 이미지가 달라 캐시/병합 없이 매번 업스트림까지 간다.
+ * 업스트림 동시성 제한(Bulkhead, 스케줄러, 적응형 제한기, 느린 호출 Circuit Breaker)은 풀어 두어 스레드 모델 차이만 드러나게 한다.
+ * 요청 마감/시도 제한 시간 초과는 fail 열로 집계한다. 부하 발생기와 스텁이 같은 JVM 에서 돌므로
+ * 절대값보다 같은 환경에서의 모드 간 비교로 본다.
+ * 실행: mvn test -Pbenchmark -Dtest=TranslateThreadModeBenchmark
+ */
+class TranslateThreadModeBenchmark {
+    
+    private static final int[] CONCURRENCY = {50, 200, 1000};
+    private static final int REQUESTS_PER_USER = 5;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(200);
+    private static final String BOUNDARY = "label-benchmark";
+    
+    private final AtomicLong imageSequence = new AtomicLong();
+    
+    @Test
+    @Tag("benchmark")
+    void compareThreadModes() throws Exception {
+        HttpServer upstream = stubUpstream();
+        List<String> rows = new ArrayList<>();
+        try {
+            for (boolean virtual : new boolean[] {false, true}) {
+                String mode = virtual ? "virtual" : "platform";
+                try (ConfigurableApplicationContext app = start(virtual, upstream.getAddress().getPort())) {
+                    int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                    String token = app.getBean(JwtUtil.class).generateToken("admin");
+                    
+                    assertThat(load(port, token, CONCURRENCY[0]).failures()).as("%s 워밍업 실패 요청", mode).isZero();
+                    for (int users : CONCURRENCY) {
+                        Result result = load(port, token, users);
+                        rows.add(String.format("%-8s %5d %8.1f %8d %8d %8d %6d",
+                            mode, users, result.throughput(), result.percentile(0.5),
+                            result.percentile(0.99), result.maxMillis(), result.failures()));
+                    }
+                }
+            }
+        } finally {
+            upstream.stop(0);
+            System.out.printf("%nPOST /api/label/translate (upstream %dms, %d requests/user)%n",
+                UPSTREAM_LATENCY.toMillis(), REQUESTS_PER_USER);
+            System.out.printf("%-8s %5s %8s %8s %8s %8s %6s%n", "mode", "users", "req/s", "p50ms", "p99ms", "maxms", "fail");
+            rows.forEach(System.out::println);
+        }
+    }
+    
+    private ConfigurableApplicationContext start(boolean virtual, int upstreamPort) {
+        String[] args = {
+            "--spring.threads.virtual.enabled=" + virtual,
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:translate-" + virtual + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--external.food-label-api.instances=http://127.0.0.1:" + upstreamPort,
+            "--external.food-label-api.pool.max-connections=2000",
+            "--external.food-label-api.pool.pending-acquire-max=10000",
+            "--resilience4j.bulkhead.instances.food-label-process.max-concurrent-calls=2000",
+            "--resilience4j.circuitbreaker.instances.food-label-process.slow-call-duration-threshold=10m",
+            "--label.scheduler.endpoints.process=2000",
+            "--label.upstream.limiter.initial-limit=2000",
+            "--label.upstream.limiter.max-limit=2000",
+            "--label.upstream.limiter.max-queue=10000",
+            "--label.upstream.limiter.tolerance=1000",
+            "--label.image.quality.enabled=false",
+            "--label.image.preprocess.enabled=false",
+            "--label.jobs.enabled=false",
+            "--label.blob.retention.enabled=false",
+            "--label.cache.validation.persistent.enabled=false",
+        };
+        return new SpringApplicationBuilder(LabelAiApplication.class).run(args);
+    }
+    
+    /**
+     * users 명이 동시에 REQUESTS_PER_USER 번씩 연달아 요청
+     */
+    private Result load(int port, String token, int users) throws InterruptedException {
+        long[] latencies = new long[users * REQUESTS_PER_USER];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        URI uri = URI.create("http://127.0.0.1:" + port + "/api/label/translate");
+        
+        long startNanos = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            for (int user = 0; user < users; user++) {
+                clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_USER; i++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(translateRequest(uri, token),
+                                HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (IOException | InterruptedException e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(10, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        
+        Arrays.sort(latencies);
+        return new Result(latencies, elapsedNanos, failures.get());
+    }
+    
+    private HttpRequest translateRequest(URI uri, String token) {
+        // 요청마다 다른 이미지 (OCR 캐시, 파이프라인 병합을 피함)
+        byte[] image = ("label-" + imageSequence.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"country\"\r\n\r\nUSA\r\n"
+            + "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"label.jpg\"\r\n"
+            + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(image);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        
+        return HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofMinutes(2))
+            .header("Authorization", "Bearer " + token)
+            .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+            .build();
+    }
+    
+    /**
+     * Food Label API 스텁 - /process 는 UPSTREAM_LATENCY 뒤 파이프라인 결과, / 는 상태 확인
+     */
+    private static HttpServer stubUpstream() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/process", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            try {
+                Thread.sleep(UPSTREAM_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, """
+                {"ocr_result": {"language": "ko", "texts": ["나트륨 110mg"]},
+                 "structured_data": {"language": "ko"},
+                 "html_output": "<html><body>Nutrition Facts</body></html>",
+                 "processing_time": {"total_time": 0.2}}
+                """);
+        });
+        server.createContext("/", exchange -> respond(exchange, "{\"status\": \"ok\"}"));
+        server.start();
+        return server;
+    }
+    
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+    
+    private record Result(long[] sortedLatencies, long elapsedNanos, int failures) {
+        
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+        
+        long percentile(double p) {
+            int index = Math.min(sortedLatencies.length - 1, (int) Math.ceil(p * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(0, index)] / 1_000_000;
+        }
+        
+        long maxMillis() {
+            return sortedLatencies[sortedLatencies.length - 1] / 1_000_000;
+        }
+    }
+}
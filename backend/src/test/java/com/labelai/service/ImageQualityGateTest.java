@@ -0,0 +1,93 @@
+package com.labelai.service;
+
+import com.labelai.exception.CustomException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 이미지 품질 검사 - 한 요청에서 이미지는 한 번만 디코딩
+ */
+class ImageQualityGateTest {
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ImageQualityGate gate;
+    
+    @BeforeEach
+    void setUp() {
+        gate = new ImageQualityGate(registry, 2, 10);
+        ReflectionTestUtils.setField(gate, "enabled", true);
+        ReflectionTestUtils.setField(gate, "analysisEdge", 1024);
+        ReflectionTestUtils.setField(gate, "minShortEdge", 480);
+        ReflectionTestUtils.setField(gate, "minSharpness", 25.0);
+        ReflectionTestUtils.setField(gate, "minContrast", 12.0);
+        ReflectionTestUtils.setField(gate, "minTextDensity", 0.01);
+        ReflectionTestUtils.setField(gate, "edgeThreshold", 40);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        gate.shutdown();
+    }
+    
+    @Test
+    void checkInsideSelectedFrameDoesNotDecodeAgain() throws IOException {
+        MultipartFile frame = png("label.png", 640, true);
+        
+        MultipartFile processed = gate.withBest(List.of(frame), best -> gate.check(best).flatMap(gate::check))
+            .block(Duration.ofSeconds(10));
+        
+        assertThat(processed).isSameAs(frame);
+        assertThat(analyses()).isEqualTo(1);
+    }
+    
+    @Test
+    void checkOutsideSelectedFrameStillRejects() throws IOException {
+        MultipartFile blank = png("blank.png", 640, false);
+        
+        assertThatThrownBy(() -> gate.check(blank).block(Duration.ofSeconds(10)))
+            .isInstanceOf(CustomException.class)
+            .hasMessageContaining("blank.png");
+        assertThatThrownBy(() -> gate.withBest(List.of(blank), Mono::just).block(Duration.ofSeconds(10)))
+            .isInstanceOf(CustomException.class);
+        assertThat(analyses()).isEqualTo(2);
+    }
+    
+    private long analyses() {
+        return registry.get("label.image.quality.duration").timer().count();
+    }
+    
+    /**
+     * textured=true 면 흑백 무작위 블록(선명, 고대비), false 면 균일한 회색
+     */
+    private static MultipartFile png(String name, int edge, boolean textured) throws IOException {
+        BufferedImage image = new BufferedImage(edge, edge, BufferedImage.TYPE_BYTE_GRAY);
+        Random random = new Random(42);
+        for (int y = 0; y < edge; y++) {
+            for (int x = 0; x < edge; x++) {
+                boolean dark = textured && ((x / 4 + y / 4) % 2 == 0) == random.nextBoolean();
+                int v = textured ? (dark ? 0 : 255) : 128;
+                image.getRaster().setSample(x, y, 0, v);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("file", name, "image/png", out.toByteArray());
+    }
+}
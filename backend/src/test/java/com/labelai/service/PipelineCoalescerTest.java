@@ -0,0 +1,97 @@
+package com.labelai.service;
+
+import com.labelai.api.FoodLabelApiClient;
+import com.labelai.api.RequestDeadline;
+import com.labelai.api.RequestPriority;
+import com.labelai.cache.LabelResultCache;
+import com.labelai.dto.PipelineRequest;
+import com.labelai.dto.PipelineResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 동일 파이프라인 요청 병합 - 공유 호출은 첫 요청의 마감/레인에 묶이지 않는다
+ */
+class PipelineCoalescerTest {
+    
+    private final PipelineResponse response = PipelineResponse.builder().htmlOutput("<html></html>").build();
+    private final PipelineRequest request = PipelineRequest.builder()
+        .image(new MockMultipartFile("file", "label.jpg", "image/jpeg", new byte[] {1, 2, 3}))
+        .targetCountry("USA")
+        .generateHtml(true)
+        .build();
+    
+    private final Sinks.One<PipelineResponse> upstream = Sinks.one();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicBoolean sawDeadline = new AtomicBoolean();
+    private PipelineCoalescer coalescer;
+    
+    @BeforeEach
+    void setUp() {
+        FoodLabelApiClient client = mock(FoodLabelApiClient.class);
+        when(client.processFullPipeline(any())).thenReturn(Mono.deferContextual(context -> {
+            upstreamCalls.incrementAndGet();
+            sawDeadline.set(RequestDeadline.from(context).isPresent());
+            return upstream.asMono();
+        }));
+        LabelResultCache cache = mock(LabelResultCache.class);
+        when(cache.imageKey(any())).thenReturn(Mono.just("image-hash"));
+        UploadSpooler spooler = mock(UploadSpooler.class);
+        when(spooler.retain(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        ImageQualityGate gate = mock(ImageQualityGate.class);
+        when(gate.check(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        
+        coalescer = new PipelineCoalescer(client, cache, spooler, gate, new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void sharedCallOutlivesDeadlineOfStartingRequest() {
+        // 호출을 시작한 요청은 마감 100ms 로 먼저 끝나고, 마감 없는 요청이 합류해 결과를 받는다
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        coalescer.processFullPipeline(request)
+            .timeout(Duration.ofMillis(100))
+            .contextWrite(RequestDeadline.after("translate", Duration.ofMillis(100))::writeTo)
+            .subscribe(result -> { }, firstError::set);
+        Mono<PipelineResponse> joined = coalescer.processFullPipeline(request).cache();
+        joined.subscribe();
+        
+        await().atMost(Duration.ofSeconds(5)).until(() -> firstError.get() != null);
+        assertThat(firstError.get()).isInstanceOf(TimeoutException.class);
+        upstream.tryEmitValue(response);
+        
+        assertThat(joined.block(Duration.ofSeconds(5))).isSameAs(response);
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(sawDeadline).isFalse();
+    }
+    
+    @Test
+    void interactiveRequestDoesNotJoinBulkCall() {
+        coalescer.processFullPipeline(request)
+            .contextWrite(RequestPriority.bulk("batch-user")::writeTo)
+            .subscribe();
+        coalescer.processFullPipeline(request)
+            .contextWrite(RequestPriority.interactive("alice")::writeTo)
+            .subscribe();
+        coalescer.processFullPipeline(request)
+            .contextWrite(RequestPriority.interactive("bob")::writeTo)
+            .subscribe();
+        
+        assertThat(upstreamCalls).hasValue(2);
+    }
+}
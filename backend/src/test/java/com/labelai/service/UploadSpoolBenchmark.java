@@ -0,0 +1,307 @@
+package com.labelai.service;
+
+import com.labelai.util.HashUtil;
+import com.labelai.util.SpooledMultipartFile;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 업로드 수신 경로 - 10MB 업로드 100건을 동시에 받아 해시 계산(수신) 후 업스트림으로 전송할 때의 힙 할당 / 디스크 입출력
+ * 업로드는 컨테이너가 디스크에 받아 둔 파트(file-size-threshold: 0)로 두고, transferTo 는 Tomcat DiskFileItem 처럼 이름을 바꾼다.
+ * - heap: user-012 이전 - getBytes() 로 해시를 계산하고 ByteArrayResource 로 전송
+ * - stream-copy: 파트를 스트림으로 읽어 스풀 파일에 다시 기록하며 해시 계산, FileSystemResource 로 전송
+ * - spool: 현재 UploadSpooler - 파트를 스풀 디렉토리로 옮기고 파일을 한 번 읽어 해시 계산, FileSystemResource 로 전송
+ * 업스트림은 본문을 읽고 버리는 로컬 스텁. 할당량은 전체 스레드 합계(ThreadMXBean), 최대 힙은 힙 풀 최대 사용량 합계,
+ * 수신 단계 읽기/기록 바이트는 /proc/self/io 의 rchar/wchar (Linux 에서만 표시).
+ * 실행: mvn test -Pbenchmark -Dtest=UploadSpoolBenchmark
+ */
+class UploadSpoolBenchmark {
+    
+    private static final int UPLOADS = 100;
+    private static final int UPLOAD_SIZE = 10 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Path PROC_IO = Path.of("/proc/self/io");
+    
+    @TempDir
+    Path workDir;
+    
+    @Test
+    @Tag("benchmark")
+    void compareUploadPaths() throws Exception {
+        HttpServer upstream = stubUpstream();
+        String upstreamUrl = "http://127.0.0.1:" + upstream.getAddress().getPort();
+        Path spoolDir = Files.createDirectories(workDir.resolve("spool"));
+        ExecutorService requests = Executors.newFixedThreadPool(UPLOADS);
+        
+        List<String> rows = new ArrayList<>();
+        try {
+            byte[] content = new byte[UPLOAD_SIZE];
+            new Random(42).nextBytes(content);
+            
+            rows.add(run("heap", content, requests, part -> {
+                byte[] bytes = part.getBytes();
+                return new Ingested(HashUtil.sha256Hex(bytes), bytesBody(bytes, part.getOriginalFilename()));
+            }, upstreamUrl));
+            rows.add(run("stream-copy", content, requests, part -> {
+                Path target = Files.createTempFile(spoolDir, "upload-", ".tmp");
+                return new Ingested(streamCopy(part, target), new FileSystemResource(target));
+            }, upstreamUrl));
+            rows.add(run("spool", content, requests, part -> {
+                // UploadSpooler 가 쓰는 스풀 단계 (수신과 전송을 나눠 재기 위해 직접 호출)
+                SpooledMultipartFile spooled = SpooledMultipartFile.spool(part,
+                    Files.createTempFile(spoolDir, "upload-", ".tmp"));
+                return new Ingested(spooled.getSha256(), new FileSystemResource(spooled.getPath()));
+            }, upstreamUrl));
+        } finally {
+            requests.shutdownNow();
+            upstream.stop(0);
+            System.out.printf("%n업로드 %d건 x %dMB 동시 수신 + 전송%n", UPLOADS, UPLOAD_SIZE / (1024 * 1024));
+            System.out.printf("%-12s %9s %9s %9s %9s %11s %11s%n",
+                "mode", "ingestms", "totalms", "allocMB", "peakMB", "ingestRdMB", "ingestWrMB");
+            rows.forEach(System.out::println);
+        }
+    }
+    
+    /**
+     * 컨테이너 파트 UPLOADS 개를 디스크에 받아 두고, 수신(해시) 단계와 전송 단계를 각각 동시에 실행
+     */
+    private String run(String mode, byte[] content, ExecutorService requests, Ingest ingest, String upstreamUrl)
+            throws Exception {
+        Path partDir = Files.createDirectories(workDir.resolve("parts-" + mode));
+        List<ContainerPart> parts = new ArrayList<>();
+        for (int i = 0; i < UPLOADS; i++) {
+            // 업로드마다 내용이 다르게 앞 4바이트만 바꿔 기록 (컨테이너가 한 번 기록하는 몫, 측정에서 제외)
+            Path file = partDir.resolve("part-" + i);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(4).putInt(0, i));
+                channel.write(ByteBuffer.wrap(content, 4, content.length - 4));
+            }
+            parts.add(new ContainerPart(file, "label-" + i + ".jpg"));
+        }
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        
+        long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+        Map<String, Long> ioBefore = procIo();
+        long start = System.nanoTime();
+        List<Ingested> ingested = all(requests, parts.stream()
+            .map(part -> (Callable<Ingested>) () -> ingest.apply(part))
+            .toList());
+        long ingestNanos = System.nanoTime() - start;
+        Map<String, Long> ioAfter = procIo();
+        
+        // 모드마다 새 연결 풀 (이전 모드에서 쉬던 연결을 재사용하지 않음)
+        ConnectionProvider connections = ConnectionProvider.builder("upload-benchmark-" + mode)
+            .maxConnections(UPLOADS)
+            .pendingAcquireMaxCount(UPLOADS * 2)
+            .build();
+        WebClient webClient = WebClient.builder()
+            .baseUrl(upstreamUrl)
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+            .build();
+        List<Long> forwarded;
+        try {
+            forwarded = all(requests, ingested.stream()
+                .map(upload -> (Callable<Long>) () -> forward(webClient, upload.body()))
+                .toList());
+        } finally {
+            connections.dispose();
+        }
+        long totalNanos = System.nanoTime() - start;
+        long allocated = threads.getTotalThreadAllocatedBytes() - allocatedBefore;
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        
+        assertThat(forwarded).allMatch(size -> size >= UPLOAD_SIZE);
+        assertThat(ingested.stream().map(Ingested::hash).distinct()).hasSize(UPLOADS);
+        
+        return String.format("%-12s %9d %9d %9d %9d %11s %11s", mode,
+            ingestNanos / 1_000_000, totalNanos / 1_000_000, allocated >> 20, peakHeap >> 20,
+            ioDelta(ioBefore, ioAfter, "rchar"), ioDelta(ioBefore, ioAfter, "wchar"));
+    }
+    
+    private static <T> List<T> all(ExecutorService executor, List<Callable<T>> tasks) throws Exception {
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : executor.invokeAll(tasks)) {
+            results.add(future.get());
+        }
+        return results;
+    }
+    
+    private static long forward(WebClient webClient, Resource body) {
+        MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        builder.part("file", body);
+        return webClient.post()
+            .uri("/ocr")
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .body(BodyInserters.fromMultipartData(builder.build()))
+            .retrieve()
+            .bodyToMono(Long.class)
+            .block(Duration.ofMinutes(2));
+    }
+    
+    /**
+     * 스트림으로 읽어 target 에 다시 기록하며 SHA-256 계산 (이번 수정 전 SpooledMultipartFile.spool)
+     */
+    private static String streamCopy(MultipartFile part, Path target) throws IOException {
+        MessageDigest digest = HashUtil.newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = part.getInputStream();
+             OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    private static Resource bytesBody(byte[] bytes, String filename) {
+        return new ByteArrayResource(bytes) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+    }
+    
+    private static Map<String, Long> procIo() throws IOException {
+        if (!Files.isReadable(PROC_IO)) {
+            return Map.of();
+        }
+        return Files.readAllLines(PROC_IO).stream()
+            .map(line -> line.split(":\\s*"))
+            .collect(Collectors.toMap(pair -> pair[0], pair -> Long.parseLong(pair[1].trim())));
+    }
+    
+    private static String ioDelta(Map<String, Long> before, Map<String, Long> after, String key) {
+        return before.containsKey(key) ? String.valueOf((after.get(key) - before.get(key)) >> 20) : "-";
+    }
+    
+    /**
+     * Food Label API 스텁 - 받은 본문 크기를 돌려준다
+     */
+    private static HttpServer stubUpstream() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), UPLOADS * 2);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/ocr", exchange -> {
+            long size;
+            try (InputStream in = exchange.getRequestBody()) {
+                size = in.transferTo(OutputStream.nullOutputStream());
+            }
+            byte[] body = Long.toString(size).getBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+    
+    @FunctionalInterface
+    private interface Ingest {
+        Ingested apply(ContainerPart part) throws Exception;
+    }
+    
+    private record Ingested(String hash, Resource body) {
+    }
+    
+    /**
+     * 컨테이너가 디스크에 받아 둔 업로드 파트 - transferTo 는 Tomcat DiskFileItem.write 처럼 이름을 바꾼다
+     */
+    private record ContainerPart(Path path, String filename) implements MultipartFile {
+        
+        @Override
+        public String getName() {
+            return "file";
+        }
+        
+        @Override
+        public String getOriginalFilename() {
+            return filename;
+        }
+        
+        @Override
+        public String getContentType() {
+            return "image/jpeg";
+        }
+        
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+        
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+        
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+        
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.move(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.labelai.service;
+
+import com.labelai.util.FileSystemMultipartFile;
+import com.labelai.util.HashUtil;
+import com.labelai.util.SpooledMultipartFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 스풀 파일 수명 - 요청이 끝나면 삭제하되, 공유 업스트림 호출이 잡고 있는 동안에는 유지
+ */
+class UploadSpoolerTest {
+    
+    @TempDir
+    Path spoolDir;
+    
+    private final MockMultipartFile upload =
+        new MockMultipartFile("file", "label.jpg", "image/jpeg", new byte[] {1, 2, 3, 4});
+    
+    @Test
+    void deletesSpoolFileWhenRequestCompletes() throws Exception {
+        UploadSpooler spooler = new UploadSpooler(Schedulers.boundedElastic(), spoolDir.toString());
+        AtomicReference<Path> spooled = new AtomicReference<>();
+        
+        Boolean existedDuringRequest = spooler.withSpooled(upload, image -> {
+                spooled.set(((FileSystemMultipartFile) image).getPath());
+                return Mono.just(Files.exists(spooled.get()));
+            })
+            .block(Duration.ofSeconds(5));
+        
+        assertThat(existedDuringRequest).isTrue();
+        await().atMost(Duration.ofSeconds(5)).until(() -> Files.notExists(spooled.get()));
+    }
+    
+    @Test
+    void spooledFileCarriesContentHashAndSize() throws Exception {
+        UploadSpooler spooler = new UploadSpooler(Schedulers.boundedElastic(), spoolDir.toString());
+        
+        SpooledMultipartFile spooled = spooler.withSpooled(upload, image -> Mono.just((SpooledMultipartFile) image))
+            .block(Duration.ofSeconds(5));
+        
+        assertThat(spooled.getSha256()).isEqualTo(HashUtil.sha256Hex(upload.getBytes()));
+        assertThat(spooled.getSize()).isEqualTo(4);
+    }
+    
+    @Test
+    void sharedCallKeepsSpoolFileAfterRequestCancels() throws Exception {
+        UploadSpooler spooler = new UploadSpooler(Schedulers.boundedElastic(), spoolDir.toString());
+        AtomicReference<Path> spooled = new AtomicReference<>();
+        Sinks.One<Boolean> upstream = Sinks.one();
+        Sinks.One<Boolean> sharedResult = Sinks.one();
+        
+        // 첫 요청이 공유 호출을 시작하고, 공유 호출이 끝나기 전에 취소된다
+        Disposable request = spooler.withSpooled(upload, image -> {
+                spooler.retain(image, upstream.asMono().map(done -> Files.exists(spooled.get())))
+                    .subscribe(sharedResult::tryEmitValue);
+                spooled.set(((FileSystemMultipartFile) image).getPath());
+                return Mono.<Boolean>never();
+            })
+            .subscribe();
+        await().atMost(Duration.ofSeconds(5)).until(() -> spooled.get() != null);
+        request.dispose();
+        
+        Thread.sleep(200);
+        assertThat(spooled.get()).exists();
+        
+        upstream.tryEmitValue(true);
+        assertThat(sharedResult.asMono().block(Duration.ofSeconds(5))).isTrue();
+        await().atMost(Duration.ofSeconds(5)).until(() -> Files.notExists(spooled.get()));
+    }
+}
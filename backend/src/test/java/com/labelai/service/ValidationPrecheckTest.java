@@ -0,0 +1,66 @@
+package com.labelai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.dto.response.ValidationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 사전 검사 모드별 RAG 호출 여부와 부분 결과 표시
+ */
+class ValidationPrecheckTest {
+    
+    // 필수 영양소(Sodium 등)가 빠진 번역 결과 - 차단 규칙 위반
+    private static final Map<String, Object> TRANSLATED = Map.of(
+        "product", Map.of("brand", "Sample", "type", "snack"),
+        "nutrition", Map.of("calories", Map.of("amount", "120")));
+    
+    private final AtomicInteger ragCalls = new AtomicInteger();
+    private ValidationPrecheck precheck;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        precheck = new ValidationPrecheck(new ClassPathResource("rules/fda-precheck.json"),
+            new ObjectMapper(), new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void mergeCallsRagAndAddsLocalFindings() {
+        ReflectionTestUtils.setField(precheck, "mode", ValidationPrecheck.MERGE);
+        
+        ValidationResponse response = validate();
+        
+        assertThat(ragCalls).hasValue(1);
+        assertThat(response.isRagSkipped()).isFalse();
+        assertThat(response.getErrors()).isNotEmpty();
+    }
+    
+    @Test
+    void shortCircuitMarksResponseAsPartial() {
+        ReflectionTestUtils.setField(precheck, "mode", ValidationPrecheck.SHORT_CIRCUIT);
+        
+        ValidationResponse response = validate();
+        
+        assertThat(ragCalls).hasValue(0);
+        assertThat(response.isRagSkipped()).isTrue();
+        assertThat(response.getTotalErrors()).isEqualTo(response.getErrors().size()).isPositive();
+    }
+    
+    private ValidationResponse validate() {
+        return precheck.validation("USA", TRANSLATED, Map.of(), "<html></html>", () -> {
+                ragCalls.incrementAndGet();
+                return Mono.just(ValidationResponse.builder().totalErrors(0).errors(List.of()).build());
+            })
+            .block();
+    }
+}
@@ -0,0 +1,201 @@
+package com.labelai.storage;
+
+import com.labelai.LabelAiApplication;
+import com.labelai.util.HashUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 업로드 블롭 저장소 - 인덱스(label_blobs)에 블롭이 약 100만 개 쌓인 상태에서 put / open / 중복 제거 지연
+ * 인덱스를 generate_series 로 채운 뒤(세그먼트 한 개를 공유하는 1KB 블롭) 실제 BlobStore 빈으로 측정한다.
+ * - put-new: 처음 보는 내용 (스트림 해시 계산 + 세그먼트 기록 + 인덱스 삽입)
+ * - put-dedup-known: 해시를 이미 아는 업로드 (참조 수만 증가)
+ * - put-dedup-stream: 해시를 모르는 같은 내용 (기록 후 충돌이면 잘라냄)
+ * - open: 임의 해시 조회 + 바이트 읽기
+ * 저장소 쿼리가 PostgreSQL 전용(ON CONFLICT)이라 PostgreSQL 이 필요하며, 전용 스키마를 만들고 끝나면 지운다.
+ * 실행: mvn test -Pbenchmark -Dtest=BlobStoreBenchmark
+ *       [-Dblob.bench.url=jdbc:postgresql://localhost:5432/labelai -Dblob.bench.username=postgres
+ *        -Dblob.bench.password= -Dblob.bench.entries=1000000]
+ */
+class BlobStoreBenchmark {
+    
+    private static final String SCHEMA = "label_blob_bench";
+    private static final String FILL_SEGMENT = "fill.seg";
+    private static final int FILL_BLOB_SIZE = 1024;
+    private static final int FILL_SEGMENT_BLOBS = 1024;
+    private static final int UPLOAD_SIZE = 32 * 1024;
+    private static final int OPERATIONS = 2000;
+    
+    private final String url = System.getProperty("blob.bench.url", "jdbc:postgresql://localhost:5432/labelai");
+    private final String username = System.getProperty("blob.bench.username", "postgres");
+    private final String password = System.getProperty("blob.bench.password", "");
+    private final int entries = Integer.getInteger("blob.bench.entries", 1_000_000);
+    private final Random random = new Random(42);
+    
+    @TempDir
+    Path blobDir;
+    
+    @Test
+    @Tag("benchmark")
+    void putOpenAndDedupAtScale() throws Exception {
+        assumeTrue(reachable(), () -> "PostgreSQL 에 연결할 수 없음: " + url + " (-Dblob.bench.url 로 지정)");
+        execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE", "CREATE SCHEMA " + SCHEMA);
+        
+        List<String> rows = new ArrayList<>();
+        try (ConfigurableApplicationContext app = start()) {
+            BlobStore store = app.getBean(BlobStore.class);
+            JdbcTemplate jdbc = app.getBean(JdbcTemplate.class);
+            
+            long fillStart = System.nanoTime();
+            fill(jdbc);
+            rows.add(String.format("fill %,d entries: %.1fs", entries, (System.nanoTime() - fillStart) / 1e9));
+            
+            List<byte[]> uploads = new ArrayList<>();
+            List<String> stored = new ArrayList<>();
+            rows.add(measure("put-new", i -> {
+                byte[] content = new byte[UPLOAD_SIZE];
+                random.nextBytes(content);
+                uploads.add(content);
+                stored.add(store.put(upload(content)));
+            }));
+            List<MultipartFile> known = sample().stream().map(hash -> open(store, hash)).toList();
+            rows.add(measure("put-dedup-known", i -> store.put(known.get(i))));
+            rows.add(measure("put-dedup-stream", i -> {
+                String hash = store.put(upload(uploads.get(i)));
+                assertThat(hash).isEqualTo(stored.get(i));
+            }));
+            List<String> existing = sample();
+            rows.add(measure("open", i -> {
+                byte[] bytes = open(store, existing.get(i)).getBytes();
+                assertThat(bytes).hasSize(FILL_BLOB_SIZE);
+            }));
+            
+            assertThat(jdbc.queryForObject("SELECT count(*) FROM label_blobs", Long.class))
+                .isEqualTo(entries + (long) OPERATIONS);
+        } finally {
+            execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            System.out.printf("%nBlobStore (%,d indexed blobs, %d ops each, upload %dKB)%n",
+                entries, OPERATIONS, UPLOAD_SIZE / 1024);
+            System.out.printf("%-18s %9s %8s %8s %8s%n", "operation", "ops/s", "p50us", "p99us", "maxus");
+            rows.forEach(System.out::println);
+        }
+    }
+    
+    private ConfigurableApplicationContext start() {
+        String[] args = {
+            "--spring.datasource.url=" + url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA,
+            "--spring.datasource.username=" + username,
+            "--spring.datasource.password=" + password,
+            "--spring.jpa.properties.hibernate.default_schema=" + SCHEMA,
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--label.blob.dir=" + blobDir,
+            "--label.blob.retention.enabled=false",
+            "--label.jobs.enabled=false",
+            "--label.cache.validation.persistent.enabled=false",
+        };
+        return new SpringApplicationBuilder(LabelAiApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(args);
+    }
+    
+    /**
+     * 인덱스 채우기 - 블롭 entries 개가 1KB 씩 fill.seg 의 1024 개 구간을 돌아가며 가리킨다 (참조 0, 사용 시각 분산)
+     */
+    private void fill(JdbcTemplate jdbc) throws IOException {
+        byte[] segment = new byte[FILL_BLOB_SIZE * FILL_SEGMENT_BLOBS];
+        random.nextBytes(segment);
+        Files.write(blobDir.resolve(FILL_SEGMENT), segment);
+        
+        jdbc.update("INSERT INTO label_blob_segments (name, size_bytes, live_bytes, live_count, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, now(), now())",
+            FILL_SEGMENT, segment.length, (long) FILL_BLOB_SIZE * entries, entries);
+        jdbc.update("INSERT INTO label_blobs (hash, segment, blob_offset, blob_length, ref_count, created_at, last_accessed_at) " +
+                    "SELECT encode(sha256(('fill-' || i)::bytea), 'hex'), ?, (i % ?) * ?, ?, 0, now(), " +
+                    "       now() - i * interval '1 second' " +
+                    "FROM generate_series(1, ?) AS i",
+            FILL_SEGMENT, FILL_SEGMENT_BLOBS, FILL_BLOB_SIZE, FILL_BLOB_SIZE, entries);
+        jdbc.execute("ANALYZE label_blobs");
+    }
+    
+    /**
+     * 채운 블롭 중 임의로 OPERATIONS 개의 해시 (fill 과 같은 규칙으로 계산)
+     */
+    private List<String> sample() {
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            byte[] name = ("fill-" + (1 + random.nextInt(entries))).getBytes(StandardCharsets.UTF_8);
+            hashes.add(HexFormat.of().formatHex(HashUtil.newDigest().digest(name)));
+        }
+        return hashes;
+    }
+    
+    private MultipartFile open(BlobStore store, String hash) {
+        return store.open(hash, "label.jpg", "image/jpeg").orElseThrow();
+    }
+    
+    private static MultipartFile upload(byte[] content) {
+        return new MockMultipartFile("file", "label.jpg", "image/jpeg", content);
+    }
+    
+    private String measure(String name, Operation operation) throws Exception {
+        long[] latencies = new long[OPERATIONS];
+        long total = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            long start = System.nanoTime();
+            operation.run(i);
+            latencies[i] = System.nanoTime() - start;
+            total += latencies[i];
+        }
+        Arrays.sort(latencies);
+        return String.format("%-18s %9.1f %8d %8d %8d", name, OPERATIONS / (total / 1e9),
+            latencies[OPERATIONS / 2] / 1000, latencies[(int) (OPERATIONS * 0.99)] / 1000,
+            latencies[OPERATIONS - 1] / 1000);
+    }
+    
+    private boolean reachable() {
+        try (Connection ignored = DriverManager.getConnection(url, username, password)) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    private void execute(String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+    
+    @FunctionalInterface
+    private interface Operation {
+        void run(int i) throws Exception;
+    }
+}
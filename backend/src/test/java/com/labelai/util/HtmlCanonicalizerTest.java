@@ -0,0 +1,41 @@
+package com.labelai.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 검증 캐시 키용 HTML 정규화 - 렌더링이 같은 HTML 은 같은 해시, 내용이 다르면 다른 해시
+ */
+class HtmlCanonicalizerTest {
+    
+    private static final String HTML = """
+            <div class="nutrient nutrient-bold editable-element" contenteditable="true">
+                <span><strong>Sodium</strong> 1,050mg</span>
+                <span><strong>46%</strong></span>
+            </div>
+            <pre>  keep   this  </pre>
+            """;
+    
+    @Test
+    void ignoresWhitespaceAttributeOrderQuotesAndCase() {
+        String equivalent = "<DIV  contenteditable='true'\n class=\"nutrient  nutrient-bold editable-element\" >"
+            + "<span><strong>Sodium</strong>   1,050mg</span><span><STRONG>46%</STRONG></span></div>"
+            + "\n\n<pre>  keep   this  </pre>";
+        
+        assertThat(HtmlCanonicalizer.canonicalize(equivalent)).isEqualTo(HtmlCanonicalizer.canonicalize(HTML));
+        assertThat(HtmlCanonicalizer.hash(equivalent)).isEqualTo(HtmlCanonicalizer.hash(HTML));
+    }
+    
+    @Test
+    void contentChangesChangeTheHash() {
+        assertThat(HtmlCanonicalizer.hash(HTML.replace("1,050mg", "1,060mg"))).isNotEqualTo(HtmlCanonicalizer.hash(HTML));
+        assertThat(HtmlCanonicalizer.hash(HTML.replace("nutrient-bold", "nutrient-indent")))
+            .isNotEqualTo(HtmlCanonicalizer.hash(HTML));
+        assertThat(HtmlCanonicalizer.hash(HTML.replace("contenteditable=\"true\"", "contenteditable=\"false\"")))
+            .isNotEqualTo(HtmlCanonicalizer.hash(HTML));
+        // <pre> 안의 공백은 렌더링 결과에 보이므로 유지
+        assertThat(HtmlCanonicalizer.hash(HTML.replace("keep   this", "keep this")))
+            .isNotEqualTo(HtmlCanonicalizer.hash(HTML));
+    }
+}
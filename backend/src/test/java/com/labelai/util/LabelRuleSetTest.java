@@ -0,0 +1,58 @@
+package com.labelai.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FDA 사전 검사 규칙 (rules/fda-precheck.json) - US 숫자 표기 해석
+ */
+class LabelRuleSetTest {
+    
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static LabelRuleSet ruleSet;
+    
+    @BeforeAll
+    static void load() throws IOException {
+        try (InputStream in = LabelRuleSetTest.class.getResourceAsStream("/rules/fda-precheck.json")) {
+            ruleSet = LabelRuleSet.load(in, objectMapper);
+        }
+    }
+    
+    @Test
+    void commaIsThousandsSeparator() {
+        assertThat(sodiumFindings("1,050mg", "46%")).isEmpty();
+        assertThat(sodiumFindings("2,300 mg", "100%")).isEmpty();
+        assertThat(sodiumFindings("1,050.0mg", "46%")).isEmpty();
+    }
+    
+    @Test
+    void thousandsSeparatedAmountIsStillRoundingChecked() {
+        assertThat(sodiumFindings("1,055mg", "46%")).containsExactly("sodium-rounding");
+        assertThat(sodiumFindings("1,050mg", "4%")).containsExactly("sodium-daily-value");
+    }
+    
+    @Test
+    void commaDecimalIsNotReadAsUsNumber() {
+        // "1,05" 는 US 표기가 아니므로 1.05 mg 로 해석해 반올림 위반으로 보고하지 않는다
+        assertThat(sodiumFindings("1,05mg", "0%")).isEmpty();
+    }
+    
+    private List<String> sodiumFindings(String amount, String dailyValue) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode sodium = root.putObject("translated").putObject("nutrition").putObject("sodium");
+        sodium.put("amount", amount);
+        sodium.put("daily_value", dailyValue);
+        return ruleSet.evaluate(root).stream()
+            .map(finding -> finding.rule().id())
+            .filter(id -> id.startsWith("sodium"))
+            .toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.labelai.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.dto.TranslateResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 HTML 렌더링 처리량 (JMH)
+ * 골든 요청(golden/generate-html/{country}.request.json)을 국가별로 렌더링한다. 정규화 비용은 shadow 비교 기준.
+ * 실행: mvn test -Pbenchmark -Dtest=NutritionLabelHtmlBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NutritionLabelHtmlBenchmark {
+    
+    private static final Path GOLDEN = Paths.get("src/test/resources/golden/generate-html");
+    
+    @Param({"usa", "eu", "jp", "cn"})
+    public String name;
+    
+    private String country;
+    private TranslateResponse.TranslatedData data;
+    private String rendered;
+    
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Object> request = objectMapper.readValue(GOLDEN.resolve(name + ".request.json").toFile(), Map.class);
+        country = (String) request.get("country");
+        data = objectMapper.convertValue(request.get("data"), TranslateResponse.TranslatedData.class);
+        rendered = NutritionLabelHtml.render(country, data);
+    }
+    
+    @Benchmark
+    public String render() {
+        return NutritionLabelHtml.render(country, data);
+    }
+    
+    @Benchmark
+    public String canonicalize() {
+        return HtmlCanonicalizer.canonicalize(rendered);
+    }
+    
+    @Test
+    @Tag("benchmark")
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(NutritionLabelHtmlBenchmark.class.getName() + "\\.")
+            .build())
+            .run();
+    }
+}
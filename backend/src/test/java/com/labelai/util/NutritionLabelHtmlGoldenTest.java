@@ -0,0 +1,163 @@
+package com.labelai.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labelai.dto.TranslateResponse;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 로컬 렌더러(NutritionLabelHtml) 골든 파일 비교
+ * golden/generate-html/{case}.request.json 을 렌더링한 결과가 같은 요청의 Food Label API /generate-html 기록
+ * ({case}.html) 과 정규화(HtmlCanonicalizer) 후 같아야 한다. 기록이 없는 요청은 비교를 건너뛴다.
+ * 기록/갱신: mvn test -Dtest=NutritionLabelHtmlGoldenTest -Dgolden.upstream=http://{food-label-api}
+ * (각 요청을 비교 직전에 다시 기록하므로 테스트 실행 순서와 상관없이 항상 새 기록과 비교)
+ * 국가별 필수 구조와 번역 값 이스케이프는 기록 없이도 검사한다.
+ */
+class NutritionLabelHtmlGoldenTest {
+    
+    private static final Path GOLDEN = Paths.get("src/test/resources/golden/generate-html");
+    private static final String REQUEST_SUFFIX = ".request.json";
+    private static final String UPSTREAM = System.getProperty("golden.upstream", "");
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    
+    /**
+     * 국가별 필수 구조 - 문서 언어, 제목, 에너지 행, 하단 섹션 제목
+     */
+    private static final Map<String, Structure> STRUCTURES = Map.of(
+        "USA", new Structure("en", "Nutrition Facts", "<strong>Calories</strong> 84",
+            List.of("INGREDIENTS:", "MANUFACTURED BY:", "FACILITIES:", "STORAGE:", "CAUTIONS:", "PRODUCT INFO:")),
+        "EU", new Structure("en", "Nutrition Declaration", "<strong>Energy</strong> 351 kJ / 84 kcal",
+            List.of("INGREDIENTS:", "MANUFACTURER:", "PRODUCTION SITES:", "STORAGE:", "WARNINGS:", "PRODUCT INFO:")),
+        "JP", new Structure("ja", "栄養成分表示", "<strong>エネルギー</strong> 84 kcal",
+            List.of("原材料名:", "製造者:", "保存方法:", "注意事項:", "商品情報:")),
+        "CN", new Structure("zh", "营养成分表", "<strong>能量</strong> 351 kJ",
+            List.of("配料:", "生产商:", "贮存条件:", "注意事项:", "产品信息:")));
+    
+    private record Structure(String lang, String heading, String energy, List<String> sections) {
+    }
+    
+    static Stream<String> cases() throws IOException {
+        try (Stream<Path> files = Files.list(GOLDEN)) {
+            return files.map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(REQUEST_SUFFIX))
+                .map(name -> name.substring(0, name.length() - REQUEST_SUFFIX.length()))
+                .sorted()
+                .toList()
+                .stream();
+        }
+    }
+    
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cases")
+    void rendersSameHtmlAsUpstream(String name) throws IOException {
+        Path recorded = GOLDEN.resolve(name + ".html");
+        if (!UPSTREAM.isEmpty()) {
+            record(name, recorded);
+        }
+        assumeTrue(Files.exists(recorded), () -> "upstream 기록 없음: " + recorded + " (-Dgolden.upstream 으로 기록)");
+        
+        Map<String, Object> request = request(name);
+        String local = HtmlCanonicalizer.canonicalize(NutritionLabelHtml.render((String) request.get("country"), data(request)));
+        String upstream = HtmlCanonicalizer.canonicalize(Files.readString(recorded, StandardCharsets.UTF_8));
+        
+        assertThat(local).as("%s 정규화 HTML", name).isEqualTo(upstream);
+    }
+    
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cases")
+    void rendersRequiredStructure(String name) throws IOException {
+        Map<String, Object> request = request(name);
+        String country = (String) request.get("country");
+        TranslateResponse.TranslatedData data = data(request);
+        Structure structure = STRUCTURES.get(country);
+        assertThat(structure).as("%s 구조 정의", country).isNotNull();
+        
+        String html = NutritionLabelHtml.render(country, data);
+        
+        assertThat(html)
+            .startsWith("<!DOCTYPE html>\n<html lang=\"" + structure.lang() + "\">")
+            .contains("<title>" + structure.heading() + " - " + data.getProduct().getType() + "</title>")
+            .contains("<div class=\"label-container\">", "<div class=\"nutrition-facts\">")
+            .contains("<h1>" + structure.heading() + "</h1>")
+            .contains(structure.energy())
+            .contains(data.getProduct().getIngredients().get(0), data.getAdditional().getManufacturedBy())
+            .endsWith("</body>\n</html>");
+        for (String section : structure.sections()) {
+            assertThat(html).contains("<div class=\"section-title\">" + section + "</div>");
+        }
+        // 값이 있는 영양소마다 편집 가능한 행 하나
+        long nutrients = html.lines().filter(line -> line.contains("<div class=\"nutrient ")).count();
+        assertThat(nutrients).isGreaterThanOrEqualTo(5);
+        assertThat(html.lines().filter(line -> line.contains("<div class=\"nutrient ")))
+            .allMatch(line -> line.contains("editable-element\" contenteditable=\"true\""));
+    }
+    
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cases")
+    void escapesTranslatedValues(String name) throws IOException {
+        Map<String, Object> request = request(name);
+        TranslateResponse.TranslatedData data = data(request);
+        String raw = "Tom & Jerry <b>";
+        String escaped = "Tom &amp; Jerry &lt;b&gt;";
+        data.getProduct().setType(raw);
+        data.getProduct().setBrand(raw);
+        data.getProduct().setIngredients(List.of(raw, "Sugar"));
+        data.getAdditional().setManufacturedBy(raw);
+        data.getAdditional().setStorage(raw);
+        data.getAdditional().setCautions(List.of(raw));
+        data.getNutrition().setCalories(raw);
+        data.getNutrition().getProtein().setAmount("<1g");
+        
+        String html = NutritionLabelHtml.render((String) request.get("country"), data);
+        
+        assertThat(html)
+            .doesNotContain("<b>", "Tom & Jerry")
+            .contains("<title>" + STRUCTURES.get((String) request.get("country")).heading() + " - " + escaped + "</title>")
+            .contains(escaped + ", Sugar", "&lt;1g");
+        // 제목, 제품 유형, 브랜드, 원재료, 제조사, 보관 방법, 주의 사항, 칼로리 - 8곳 모두 이스케이프
+        assertThat(html.split(escaped, -1)).hasSize(9);
+    }
+    
+    /**
+     * 골든 파일 기록 - 요청을 업스트림 /generate-html 로 보내 {case}.html 로 저장
+     */
+    private static void record(String name, Path recorded) throws IOException {
+        WebClient upstream = WebClient.builder()
+            .baseUrl(UPSTREAM)
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(4 * 1024 * 1024))
+            .build();
+        String html = upstream.post()
+            .uri("/generate-html")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request(name))
+            .retrieve()
+            .bodyToMono(String.class)
+            .block(Duration.ofSeconds(60));
+        assertThat(html).as("%s upstream 응답", name).isNotBlank();
+        Files.writeString(recorded, html, StandardCharsets.UTF_8);
+    }
+    
+    private static TranslateResponse.TranslatedData data(Map<String, Object> request) {
+        return objectMapper.convertValue(request.get("data"), TranslateResponse.TranslatedData.class);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> request(String name) throws IOException {
+        return objectMapper.readValue(GOLDEN.resolve(name + REQUEST_SUFFIX).toFile(), Map.class);
+    }
+}
@@ -159,6 +159,22 @@ export interface PipelineResponse {
   };
 }
 
+export interface MultiCountryResponse {
+  results: Record<
+    string,
+    {
+      country: string;
+      success: boolean;
+      html?: string;
+      error?: string;
+      elapsedMs: number;
+    }
+  >;
+  failedCountries: string[];
+  preprocessTimeMs: number;
+  totalTimeMs: number;
+}
+
 // =========================================
 // 인증 API
 // =========================================
@@ -417,7 +433,7 @@ export const labelApi = {
   translateToMultipleCountries: async (
     file: File,
     countries: string[]
-  ): Promise<Record<string, string>> => {
+  ): Promise<MultiCountryResponse> => {
     if (countries.length > 10) {
       throw new Error("최대 10개 국가까지 처리 가능합니다.");
     }
@@ -428,7 +444,7 @@ export const labelApi = {
       formData.append("countries", country);
     });
 
-    const response = await apiClient.post<Record<string, string>>(
+    const response = await apiClient.post<MultiCountryResponse>(
       "/label/translate/multi-country",
       formData,
       {